@@ -0,0 +1,78 @@
+package com.example.task_connect.benchmark;
+
+import com.example.task_connect.model.*;
+import com.example.task_connect.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//TaskService.acceptBid end to end against H2: loads, bulk reject of competing bids, commit
+//the bid count should barely move the numbers, since competing bids are rejected by one UPDATE.
+//every call needs an OPEN task of its own, so each iteration is a batch of TASKS_PER_ITERATION calls over tasks
+//created beforehand. JMH times the batch as one operation, @OperationsPerInvocation turns that into one call
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, batchSize = AcceptBidBenchmark.TASKS_PER_ITERATION)
+@Measurement(iterations = 10, batchSize = AcceptBidBenchmark.TASKS_PER_ITERATION)
+@OperationsPerInvocation(AcceptBidBenchmark.TASKS_PER_ITERATION)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AcceptBidBenchmark {
+
+    static final int TASKS_PER_ITERATION = 200;
+
+    @Param({"1", "10", "100"})
+    private int bidCount;
+
+    private BenchmarkSupport support;
+    private TaskService taskService;
+
+    private User requester;
+    private Category category;
+    private Address address;
+    private List<User> taskers;
+
+    private long[] taskIds;
+    private long[] winningBidIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        support = new BenchmarkSupport();
+        taskService = support.bean(TaskService.class);
+
+        requester = support.newUser();
+        category = support.newCategory();
+        address = support.newAddress(requester);
+        taskers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            taskers.add(support.newUser());
+        }
+    }
+
+    //creating the tasks is not part of the measurement
+    @Setup(Level.Iteration)
+    public void prepareTasks() {
+        taskIds = new long[TASKS_PER_ITERATION];
+        winningBidIds = new long[TASKS_PER_ITERATION];
+        for (int i = 0; i < TASKS_PER_ITERATION; i++) {
+            Task task = support.newTaskWithBids(requester, category, address, taskers, bidCount);
+            taskIds[i] = task.getId();
+            winningBidIds[i] = task.getBids().get(0).getId();
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    public void acceptBid() {
+        taskService.acceptBid(taskIds[next], winningBidIds[next]);
+        next++;
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        support.close();
+    }
+}
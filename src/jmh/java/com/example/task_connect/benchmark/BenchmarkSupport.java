@@ -0,0 +1,109 @@
+package com.example.task_connect.benchmark;
+
+import com.example.task_connect.TaskConnectApplication;
+import com.example.task_connect.model.*;
+import com.example.task_connect.repository.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+//boots the real application (by default without a web server) on embedded H2 and creates benchmark data
+//through the repositories, so the measured services run with production wiring and JPA settings
+public class BenchmarkSupport implements AutoCloseable {
+
+    private static final AtomicLong EMAILS = new AtomicLong();
+
+    private final ConfigurableApplicationContext context;
+    private final TransactionTemplate transactionTemplate;
+
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final AddressRepository addressRepository;
+    private final TaskRepository taskRepository;
+    private final BidRepository bidRepository;
+
+    public BenchmarkSupport() {
+        this(WebApplicationType.NONE);
+    }
+
+    //args are extra command line style properties, e.g. --spring.threads.virtual.enabled=true
+    public BenchmarkSupport(WebApplicationType webApplicationType, String... args) {
+        context = new SpringApplicationBuilder(TaskConnectApplication.class)
+                .web(webApplicationType)
+                .profiles("benchmark")
+                .run(args);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        userRepository = context.getBean(UserRepository.class);
+        categoryRepository = context.getBean(CategoryRepository.class);
+        addressRepository = context.getBean(AddressRepository.class);
+        taskRepository = context.getBean(TaskRepository.class);
+        bidRepository = context.getBean(BidRepository.class);
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    //port of the embedded server when started with a servlet web application type and server.port=0
+    public int port() {
+        return Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+    }
+
+    public User newUser() {
+        User user = new User();
+        user.setEmail("bench" + EMAILS.incrementAndGet() + "@test.ro");
+        user.setPassword("password");
+        return userRepository.save(user);
+    }
+
+    public Category newCategory() {
+        Category category = new Category();
+        category.setName("Benchmark");
+        return categoryRepository.save(category);
+    }
+
+    public Address newAddress(User owner) {
+        Address address = new Address();
+        address.setStreet("Calea Victoriei 100");
+        address.setCity("Bucuresti");
+        address.setUser(owner);
+        return addressRepository.save(address);
+    }
+
+    //an OPEN task with bidCount PENDING bids from the given taskers (reused round robin)
+    public Task newTaskWithBids(User requester, Category category, Address address, List<User> taskers, int bidCount) {
+        return transactionTemplate.execute(status -> {
+            Task task = new Task();
+            task.setTitle("Fix the sink");
+            task.setBudget(new BigDecimal("100.00"));
+            task.setRequester(requester);
+            task.setCategory(category);
+            task.setAddress(address);
+            taskRepository.save(task);
+
+            List<Bid> bids = new ArrayList<>(bidCount);
+            for (int i = 0; i < bidCount; i++) {
+                Bid bid = new Bid();
+                bid.setAmount(new BigDecimal("50.00"));
+                bid.setTask(task);
+                bid.setTasker(taskers.get(i % taskers.size()));
+                bids.add(bid);
+            }
+            bidRepository.saveAll(bids);
+            task.setBids(bids);
+            return task;
+        });
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.task_connect.benchmark;
+
+import com.example.task_connect.model.Address;
+import com.example.task_connect.model.Category;
+import com.example.task_connect.model.User;
+import org.springframework.boot.WebApplicationType;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+//closed-loop load test of POST /api/tasks/{taskId}/bids over real HTTP, run once per request execution mode:
+//  platform: Tomcat's platform thread pool (the default)
+//  virtual:  spring.threads.virtual.enabled=true, which also turns on the DB admission layer
+//every client is a virtual thread that sends its next bid as soon as the previous answer arrives, each on its
+//own task so optimistic locking never gets in the way. all clients share one IP, so the per-client rate limit
+//is switched off. each mode boots a fresh application on embedded H2, so the numbers show the request path and
+//the admission overhead, not Oracle; point the benchmark profile at a real database for absolute figures.
+//run: mvn -Pbenchmark compile exec:exec@load-test -Dload.args="clients=1000 seconds=30"
+public class BidEndpointLoadTest {
+
+    private static final String BODY = "{\"taskerId\":%d,\"amount\":75.00,\"message\":\"I can do it tomorrow\"}";
+
+    public static void main(String[] args) throws Exception {
+        int clients = intArg(args, "clients", 500);
+        int warmupSeconds = intArg(args, "warmup", 5);
+        int seconds = intArg(args, "seconds", 20);
+
+        List<Result> results = new ArrayList<>();
+        results.add(run("platform", clients, warmupSeconds, seconds, "--spring.threads.virtual.enabled=false"));
+        results.add(run("virtual", clients, warmupSeconds, seconds, "--spring.threads.virtual.enabled=true"));
+
+        System.out.printf("%nPOST /api/tasks/{taskId}/bids, %d clients, %ds measured after %ds warmup%n",
+                clients, seconds, warmupSeconds);
+        System.out.printf("%-10s %12s %10s %10s %10s  %s%n", "mode", "201/s", "p50 ms", "p99 ms", "max ms", "statuses");
+        for (Result result : results) {
+            System.out.printf("%-10s %12.1f %10.2f %10.2f %10.2f  %s%n", result.mode(),
+                    result.created() / (double) seconds, millis(result.percentile(0.50)),
+                    millis(result.percentile(0.99)), millis(result.percentile(1.0)), result.statuses());
+        }
+    }
+
+    private static Result run(String mode, int clients, int warmupSeconds, int seconds, String threadsProperty)
+            throws Exception {
+        System.out.printf("starting %s mode%n", mode);
+        try (BenchmarkSupport support = new BenchmarkSupport(WebApplicationType.SERVLET,
+                "--server.port=0", "--taskconnect.rate-limit.enabled=false", threadsProperty);
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .executor(executor)
+                     .build()) {
+
+            User requester = support.newUser();
+            Category category = support.newCategory();
+            Address address = support.newAddress(requester);
+            User tasker = support.newUser();
+            String body = BODY.formatted(tasker.getId());
+
+            URI[] uris = new URI[clients];
+            for (int i = 0; i < clients; i++) {
+                Long taskId = support.newTaskWithBids(requester, category, address, List.of(tasker), 0).getId();
+                uris[i] = URI.create("http://localhost:" + support.port() + "/api/tasks/" + taskId + "/bids");
+            }
+
+            long measureFrom = System.nanoTime() + Duration.ofSeconds(warmupSeconds).toNanos();
+            long measureUntil = measureFrom + Duration.ofSeconds(seconds).toNanos();
+
+            List<Future<ClientStats>> futures = new ArrayList<>(clients);
+            for (URI uri : uris) {
+                HttpRequest request = HttpRequest.newBuilder(uri)
+                        .header("Content-Type", "application/json")
+                        .timeout(Duration.ofSeconds(30))
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+                futures.add(executor.submit(() -> drive(client, request, measureFrom, measureUntil)));
+            }
+
+            Result result = new Result(mode);
+            for (Future<ClientStats> future : futures) {
+                result.add(future.get());
+            }
+            return result;
+        }
+    }
+
+    private static ClientStats drive(HttpClient client, HttpRequest request, long measureFrom, long measureUntil) {
+        ClientStats stats = new ClientStats();
+        while (true) {
+            long start = System.nanoTime();
+            if (start >= measureUntil) {
+                return stats;
+            }
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (Exception e) {
+                status = -1;
+            }
+            if (start >= measureFrom) {
+                stats.record(status, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static int intArg(String[] args, String name, int defaultValue) {
+        String prefix = name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return Integer.parseInt(arg.substring(prefix.length()));
+            }
+        }
+        return defaultValue;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    //latencies of one client, kept in a growable primitive array so recording does not allocate per request
+    private static class ClientStats {
+        private long[] latencies = new long[1024];
+        private int count;
+        private final Map<Integer, Integer> statuses = new TreeMap<>();
+
+        void record(int status, long latencyNanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            statuses.merge(status, 1, Integer::sum);
+        }
+    }
+
+    private static class Result {
+        private final String mode;
+        private long[] latencies = new long[0];
+        private final Map<Integer, Integer> statuses = new TreeMap<>();
+
+        Result(String mode) {
+            this.mode = mode;
+        }
+
+        void add(ClientStats stats) {
+            int offset = latencies.length;
+            latencies = Arrays.copyOf(latencies, offset + stats.count);
+            System.arraycopy(stats.latencies, 0, latencies, offset, stats.count);
+            stats.statuses.forEach((status, count) -> statuses.merge(status, count, Integer::sum));
+        }
+
+        String mode() {
+            return mode;
+        }
+
+        Map<Integer, Integer> statuses() {
+            return statuses;
+        }
+
+        long created() {
+            return statuses.getOrDefault(201, 0);
+        }
+
+        long percentile(double p) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+    }
+}
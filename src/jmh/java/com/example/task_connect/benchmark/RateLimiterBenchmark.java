@@ -0,0 +1,79 @@
+package com.example.task_connect.benchmark;
+
+import com.example.task_connect.ratelimit.TokenBucketRateLimiter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+//per-request cost RateLimitFilter adds to a limited endpoint: matching the route and taking a token
+//budgets are large enough that the admitted paths never run dry during a measurement
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+    private static final int CLIENTS = 10_000;
+
+    private TokenBucketRateLimiter unlimited;
+    private TokenBucketRateLimiter exhausted;
+    private PathPattern bidsPath;
+    private String[] clientKeys;
+
+    @Setup
+    public void createLimiters() {
+        unlimited = new TokenBucketRateLimiter(Integer.MAX_VALUE, Duration.ofSeconds(1));
+        exhausted = new TokenBucketRateLimiter(1, Duration.ofDays(1));
+        exhausted.tryAcquire("ip:10.0.0.1");
+        bidsPath = PathPatternParser.defaultInstance.parse("/api/tasks/{taskId}/bids");
+
+        clientKeys = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clientKeys[i] = "ip:10.0." + (i / 256) + "." + (i % 256);
+            unlimited.tryAcquire(clientKeys[i]);
+        }
+    }
+
+    //one client, one thread: a map lookup and an uncontended CAS
+    @Benchmark
+    public long admitted() {
+        return unlimited.tryAcquire("ip:10.0.0.1");
+    }
+
+    //a throttled client is refused without writing anything
+    @Benchmark
+    public long rejected() {
+        return exhausted.tryAcquire("ip:10.0.0.1");
+    }
+
+    //many clients on four threads, the usual production shape
+    @Benchmark
+    @Threads(4)
+    public long admittedManyClients() {
+        return unlimited.tryAcquire(clientKeys[ThreadLocalRandom.current().nextInt(CLIENTS)]);
+    }
+
+    //worst case: four threads hammering the same bucket, so CAS retries show up
+    @Benchmark
+    @Threads(4)
+    public long admittedSameClientContended() {
+        return unlimited.tryAcquire("ip:10.0.0.1");
+    }
+
+    //what the filter does per request: parse the path, match the rule, build the key, take a token
+    @Benchmark
+    public long filterHotPath() {
+        PathContainer path = PathContainer.parsePath("/api/tasks/12345/bids");
+        if (!bidsPath.matches(path)) {
+            throw new IllegalStateException();
+        }
+        return unlimited.tryAcquire("ip:" + "10.0.0.1");
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.task_connect.benchmark;
+
+import com.example.task_connect.dto.*;
+import com.example.task_connect.model.enums.BidStatus;
+import com.example.task_connect.model.enums.TaskStatus;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//Jackson cost of the response bodies the controllers return, as JSON and as CBOR (Accept: application/cbor)
+//the payload sizes of both formats are printed once at setup
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private JsonMapper mapper;
+    private CBORMapper cborMapper;
+
+    private TaskView task;
+    private BidView bid;
+    private UserView user;
+    private TaskFeedDTO feedPage;
+    private BidPageDTO bidPage;
+
+    @Setup
+    public void createViews() {
+        mapper = JsonMapper.builder().build();
+        cborMapper = CBORMapper.builder().build();
+
+        task = new TaskView(1L, "Reparatie robinet", "Robinetul din bucatarie picura de doua zile.",
+                new BigDecimal("150.00"), TaskStatus.OPEN, 2L, null, 3L, 4L);
+        bid = new BidView(5L, new BigDecimal("120.00"), "Pot veni maine dimineata.", BidStatus.PENDING, 1L, 6L);
+        user = new UserView(2L, "ion.popescu@test.ro", LocalDateTime.of(2025, 1, 15, 10, 30),
+                new ProfileView("Ion", "Popescu", "Instalator autorizat", new BigDecimal("4.80"), new BigDecimal("5.00")),
+                List.of(new AddressView(4L, "Calea Victoriei 100", "Bucuresti", "010071", 44.4355, 26.1025)));
+
+        List<TaskSummaryDTO> items = new ArrayList<>();
+        for (long id = 100; id > 80; id--) {
+            items.add(new TaskSummaryDTO(id, "Task " + id, new BigDecimal("100.00"), TaskStatus.OPEN, 3L, 2L));
+        }
+        feedPage = new TaskFeedDTO(items, 81L);
+
+        List<BidListingDTO> bids = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            bids.add(new BidListingDTO(id, new BigDecimal("100.00").add(BigDecimal.valueOf(id)),
+                    "Pot veni maine dimineata.", BidStatus.PENDING, 1000 + id, "Ion Popescu", new BigDecimal("4.80")));
+        }
+        bidPage = new BidPageDTO(bids, "150.00:50");
+
+        printSize("taskView", task);
+        printSize("bidView", bid);
+        printSize("userView", user);
+        printSize("feedPage (20 tasks)", feedPage);
+        printSize("bidPage (50 bids)", bidPage);
+    }
+
+    @Benchmark
+    public byte[] taskView() {
+        return mapper.writeValueAsBytes(task);
+    }
+
+    @Benchmark
+    public byte[] bidView() {
+        return mapper.writeValueAsBytes(bid);
+    }
+
+    @Benchmark
+    public byte[] userView() {
+        return mapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] feedPage() {
+        return mapper.writeValueAsBytes(feedPage);
+    }
+
+    @Benchmark
+    public byte[] bidPage() {
+        return mapper.writeValueAsBytes(bidPage);
+    }
+
+    @Benchmark
+    public byte[] taskViewCbor() {
+        return cborMapper.writeValueAsBytes(task);
+    }
+
+    @Benchmark
+    public byte[] bidViewCbor() {
+        return cborMapper.writeValueAsBytes(bid);
+    }
+
+    @Benchmark
+    public byte[] userViewCbor() {
+        return cborMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] feedPageCbor() {
+        return cborMapper.writeValueAsBytes(feedPage);
+    }
+
+    @Benchmark
+    public byte[] bidPageCbor() {
+        return cborMapper.writeValueAsBytes(bidPage);
+    }
+
+    private void printSize(String name, Object view) {
+        System.out.printf("%-20s json %5d bytes, cbor %5d bytes%n", name,
+                size(mapper, view), size(cborMapper, view));
+    }
+
+    private static int size(ObjectMapper mapper, Object view) {
+        return mapper.writeValueAsBytes(view).length;
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.task_connect.benchmark;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//time to first request: how long a new instance takes from the JVM process starting to answering
+//GET /api/tasks with 200, i.e. what the autoscaler waits for. every run is a fresh JVM on embedded H2
+//(profile "benchmark"), started the way a container would start it:
+//  jar:          java -jar on the uber jar, today's deployment
+//  extracted:    the jar extracted by the startup profile (target/application), plain class path
+//  cds:          extracted + a class data sharing archive recorded by a training run
+//  aot:          extracted + -Dspring.aot.enabled=true (bean definitions generated at build time)
+//  aot+cds:      both, what the startup profile ships
+//  eager-docs:   aot+cds with springdoc created at startup again (taskconnect.springdoc.lazy-init=false)
+//the aot modes need the classes generated by process-aot, so build with both profiles:
+//run: mvn -Pbenchmark,startup -DskipTests package exec:exec@startup -Dstartup.args="runs=5"
+public class StartupBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(3);
+
+    public static void main(String[] args) throws Exception {
+        Path target = Path.of(stringArg(args, "target", "target")).toAbsolutePath();
+        Path jar = target.resolve(stringArg(args, "jar", "task-connect-0.0.1-SNAPSHOT.jar"));
+        Path extracted = target.resolve("application").resolve("task-connect.jar");
+        Path work = Files.createDirectories(target.resolve("startup-benchmark"));
+        int runs = intArg(args, "runs", 3);
+
+        if (!Files.exists(extracted)) {
+            throw new IllegalStateException(extracted + " is missing, build with the startup profile first");
+        }
+
+        Path cds = work.resolve("extracted.jsa");
+        Path aotCds = work.resolve("aot.jsa");
+        train(extracted, cds, List.of(), work);
+        train(extracted, aotCds, List.of("-Dspring.aot.enabled=true"), work);
+
+        List<Mode> modes = List.of(
+                new Mode("jar", jar, List.of(), List.of()),
+                new Mode("extracted", extracted, List.of(), List.of()),
+                new Mode("cds", extracted, List.of("-XX:SharedArchiveFile=" + cds), List.of()),
+                new Mode("aot", extracted, List.of("-Dspring.aot.enabled=true"), List.of()),
+                new Mode("aot+cds", extracted, List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=" + aotCds), List.of()),
+                new Mode("eager-docs", extracted, List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=" + aotCds),
+                        List.of("--taskconnect.springdoc.lazy-init=false")));
+
+        List<long[]> results = new ArrayList<>();
+        for (Mode mode : modes) {
+            long[] millis = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                millis[run] = timeToFirstRequest(mode, work);
+                System.out.printf("%-12s run %d: %d ms%n", mode.name(), run + 1, millis[run]);
+            }
+            Arrays.sort(millis);
+            results.add(millis);
+        }
+
+        System.out.printf("%nTime to first request (GET /api/tasks -> 200), %d runs per mode, %d cpus%n",
+                runs, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-12s %10s %10s %10s%n", "mode", "min ms", "median ms", "max ms");
+        for (int i = 0; i < modes.size(); i++) {
+            long[] millis = results.get(i);
+            System.out.printf("%-12s %10d %10d %10d%n", modes.get(i).name(), millis[0], millis[millis.length / 2],
+                    millis[millis.length - 1]);
+        }
+    }
+
+    //starts the application once and stops it when the context is refreshed, recording every class it loaded
+    private static void train(Path jar, Path archive, List<String> jvmOptions, Path work) throws Exception {
+        System.out.printf("training run for %s%n", archive.getFileName());
+        Files.deleteIfExists(archive);
+        List<String> command = new ArrayList<>(List.of(java(), "-XX:ArchiveClassesAtExit=" + archive, "-Xlog:cds=error",
+                "-Dspring.context.exit=onRefresh"));
+        command.addAll(jvmOptions);
+        command.addAll(List.of("-jar", jar.toString(), "--spring.profiles.active=benchmark", "--server.port=0"));
+
+        Process process = start(command, jar, work.resolve("training.log"));
+        if (!process.waitFor(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS) || process.exitValue() != 0 || !Files.exists(archive)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("training run for " + archive + " failed, see " + work.resolve("training.log"));
+        }
+    }
+
+    private static long timeToFirstRequest(Mode mode, Path work) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(List.of(java()));
+        command.addAll(mode.jvmOptions());
+        command.addAll(List.of("-jar", mode.jar().toString(), "--spring.profiles.active=benchmark", "--server.port=" + port));
+        command.addAll(mode.appArgs());
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks"))
+                .timeout(Duration.ofSeconds(10))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = start(command, mode.jar(), work.resolve(mode.name() + ".log"));
+        try {
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode.name() + " exited early, see " + work.resolve(mode.name() + ".log"));
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException notListeningYet) {
+                    //the port is not open yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException(mode.name() + " did not answer within " + TIMEOUT);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    //started from the jar's directory: the extracted jar finds its lib/ next to it
+    private static Process start(List<String> command, Path jar, Path log) throws IOException {
+        return new ProcessBuilder(command)
+                .directory(jar.toAbsolutePath().getParent().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+    }
+
+    private static String java() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String stringArg(String[] args, String name, String defaultValue) {
+        String prefix = name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return arg.substring(prefix.length());
+            }
+        }
+        return defaultValue;
+    }
+
+    private static int intArg(String[] args, String name, int defaultValue) {
+        return Integer.parseInt(stringArg(args, name, String.valueOf(defaultValue)));
+    }
+
+    private record Mode(String name, Path jar, List<String> jvmOptions, List<String> appArgs) {}
+}
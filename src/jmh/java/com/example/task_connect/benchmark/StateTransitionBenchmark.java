@@ -0,0 +1,40 @@
+package com.example.task_connect.benchmark;
+
+import com.example.task_connect.model.Bid;
+import com.example.task_connect.model.Task;
+import com.example.task_connect.model.enums.BidStatus;
+import com.example.task_connect.model.enums.TaskStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+//pure in-memory cost of the status state machines, no database involved
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StateTransitionBenchmark {
+
+    @Benchmark
+    public Task taskOpenToAssignedToCompleted() {
+        Task task = new Task();
+        task.updateStatus(TaskStatus.ASSIGNED);
+        task.updateStatus(TaskStatus.COMPLETED);
+        return task;
+    }
+
+    @Benchmark
+    public Bid bidPendingToAccepted() {
+        Bid bid = new Bid();
+        bid.updateStatus(BidStatus.ACCEPTED);
+        return bid;
+    }
+
+    //the check acceptBid runs once before rejecting all competing bids in bulk
+    @Benchmark
+    public void bidValidateTransition() {
+        Bid.validateTransition(BidStatus.PENDING, BidStatus.REJECTED);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.task_connect.benchmark;
+
+import com.example.task_connect.dto.BidRequestDTO;
+import com.example.task_connect.model.*;
+import com.example.task_connect.service.BidService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//BidService.submitBid end to end against H2: task read, tasker check, insert, task version check on commit
+//bids are spread over several tasks so they do not all read and check one row
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SubmitBidBenchmark {
+
+    private static final int TASKS = 64;
+
+    private BenchmarkSupport support;
+    private BidService bidService;
+
+    private Long[] taskIds;
+    private BidRequestDTO request;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        support = new BenchmarkSupport();
+        bidService = support.bean(BidService.class);
+
+        User requester = support.newUser();
+        Category category = support.newCategory();
+        Address address = support.newAddress(requester);
+        User tasker = support.newUser();
+
+        taskIds = new Long[TASKS];
+        for (int i = 0; i < TASKS; i++) {
+            taskIds[i] = support.newTaskWithBids(requester, category, address, List.of(tasker), 0).getId();
+        }
+
+        request = new BidRequestDTO();
+        request.setTaskerId(tasker.getId());
+        request.setAmount(new BigDecimal("75.00"));
+        request.setMessage("I can do it tomorrow");
+    }
+
+    @Benchmark
+    public Bid submitBid() {
+        next = (next + 1) % TASKS;
+        return bidService.submitBid(taskIds[next], request);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        support.close();
+    }
+}
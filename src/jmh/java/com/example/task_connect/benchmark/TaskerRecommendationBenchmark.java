@@ -0,0 +1,133 @@
+package com.example.task_connect.benchmark;
+
+import com.example.task_connect.recommend.TaskToMatch;
+import com.example.task_connect.recommend.TaskerHistory;
+import com.example.task_connect.recommend.TaskerIndex;
+import com.example.task_connect.recommend.TaskerMatch;
+import com.example.task_connect.recommend.TaskerSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+//cost of ranking the taskers for one new task against an index of synthetic taskers, no database involved.
+//taskers live around six Romanian cities (a few have no coordinates), four in five have reviews, and each has
+//accepted bids in up to three of 30 categories, the low category ids being the popular ones
+//run: mvn -Pbenchmark compile exec:exec -Djmh.args="TaskerRecommendation"
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskerRecommendationBenchmark {
+
+    private static final int CATEGORIES = 30;
+    private static final int TASKS = 1024;
+    private static final int LIMIT = 10;
+    private static final double[][] CITIES = {
+            {44.4268, 26.1025}, {46.7712, 23.6236}, {47.1585, 27.6014},
+            {45.7489, 21.2087}, {44.1598, 28.6348}, {45.6427, 25.5887}};
+
+    @Param({"100000"})
+    public int taskers;
+
+    private List<TaskerSnapshot> snapshots;
+    private List<TaskerHistory> history;
+    private TaskerIndex index;
+    private TaskToMatch[] popularCategoryTasks;
+    private TaskToMatch[] rareCategoryTasks;
+    private TaskToMatch[] newCategoryTasks;
+    private TaskToMatch[] remoteTasks;
+    private int next;
+
+    @Setup
+    public void buildIndex() {
+        Random random = new Random(42);
+        snapshots = new ArrayList<>(taskers);
+        history = new ArrayList<>();
+        for (long id = 1; id <= taskers; id++) {
+            boolean rated = random.nextInt(5) > 0;
+            BigDecimal rating = rated ? BigDecimal.valueOf(200 + random.nextInt(301), 2) : BigDecimal.ZERO;
+            if (random.nextInt(20) == 0) {
+                snapshots.add(new TaskerSnapshot(id, rating, rated ? 1 + random.nextInt(50) : 0, null, null));
+            } else {
+                double[] city = CITIES[random.nextInt(CITIES.length)];
+                snapshots.add(new TaskerSnapshot(id, rating, rated ? 1 + random.nextInt(50) : 0,
+                        city[0] + random.nextGaussian() * 0.1, city[1] + random.nextGaussian() * 0.1));
+            }
+            int categories = 1 + random.nextInt(3);
+            for (int i = 0; i < categories; i++) {
+                history.add(new TaskerHistory(id, popularCategory(random), 1 + random.nextInt(40)));
+            }
+        }
+        index = new TaskerIndex(50);
+        index.replace(snapshots.stream(), history.stream());
+
+        popularCategoryTasks = new TaskToMatch[TASKS];
+        rareCategoryTasks = new TaskToMatch[TASKS];
+        newCategoryTasks = new TaskToMatch[TASKS];
+        remoteTasks = new TaskToMatch[TASKS];
+        for (int i = 0; i < TASKS; i++) {
+            double[] city = CITIES[random.nextInt(CITIES.length)];
+            double latitude = city[0] + random.nextGaussian() * 0.05;
+            double longitude = city[1] + random.nextGaussian() * 0.05;
+            long requesterId = 1 + random.nextInt(taskers);
+            popularCategoryTasks[i] = new TaskToMatch((long) i, requesterId, (long) random.nextInt(3), latitude, longitude);
+            rareCategoryTasks[i] = new TaskToMatch((long) i, requesterId, (long) CATEGORIES - 1 - random.nextInt(3),
+                    latitude, longitude);
+            newCategoryTasks[i] = new TaskToMatch((long) i, requesterId, (long) CATEGORIES + 1, latitude, longitude);
+            //a village in the Apuseni mountains, 70+ km from every city: only taskers without coordinates qualify
+            remoteTasks[i] = new TaskToMatch((long) i, requesterId, (long) random.nextInt(3),
+                    46.40 + random.nextGaussian() * 0.02, 22.75 + random.nextGaussian() * 0.02);
+        }
+    }
+
+    //skewed so the first categories hold most of the history
+    private static long popularCategory(Random random) {
+        return (long) Math.min(CATEGORIES - 1, Math.floor(Math.pow(random.nextDouble(), 2) * CATEGORIES));
+    }
+
+    private TaskToMatch nextOf(TaskToMatch[] tasks) {
+        next = (next + 1) & (TASKS - 1);
+        return tasks[next];
+    }
+
+    //the usual case: a task in a big city, in a category with thousands of experienced taskers
+    @Benchmark
+    public List<TaskerMatch> matchPopularCategory() {
+        return index.match(nextOf(popularCategoryTasks), LIMIT);
+    }
+
+    @Benchmark
+    public List<TaskerMatch> matchRareCategory() {
+        return index.match(nextOf(rareCategoryTasks), LIMIT);
+    }
+
+    //nobody has history in the category, everyone is ranked by rating and distance
+    @Benchmark
+    public List<TaskerMatch> matchNewCategory() {
+        return index.match(nextOf(newCategoryTasks), LIMIT);
+    }
+
+    //worst case: nobody is close enough to fill the top results, so no scan can stop early
+    @Benchmark
+    public List<TaskerMatch> matchRemoteTask() {
+        return index.match(nextOf(remoteTasks), LIMIT);
+    }
+
+    //what every rebuild-interval costs on top of the two queries
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public int rebuild() {
+        TaskerIndex rebuilt = new TaskerIndex(50);
+        rebuilt.replace(snapshots.stream(), history.stream());
+        return rebuilt.size();
+    }
+}
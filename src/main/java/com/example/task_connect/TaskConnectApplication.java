@@ -2,8 +2,12 @@ package com.example.task_connect;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.resilience.annotation.EnableResilientMethods;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableResilientMethods
+@EnableScheduling
 public class TaskConnectApplication {
 
 	public static void main(String[] args) {
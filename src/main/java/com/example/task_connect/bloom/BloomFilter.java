@@ -0,0 +1,85 @@
+package com.example.task_connect.bloom;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+//bloom filter over strings: mightContain never answers false for a string that was put, and answers true for
+//one that was not with probability about falsePositiveRate while no more than expectedInsertions strings are in.
+//the bits live in an AtomicLongArray and put sets them with getAndAccumulate, so readers and writers never lock;
+//a reader racing a put may miss the string being put, never one whose put has returned.
+//the k bit positions come from one 64-bit hash split in two (Kirsch-Mitzenmacher double hashing)
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("expectedInsertions must be at least 1");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        //m = -n ln p / (ln 2)^2 and k = m/n ln 2, the optimum for n insertions
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = Math.toIntExact(Math.max(1, (optimalBits + 63) / 64));
+        this.words = new AtomicLongArray(wordCount);
+        this.bits = wordCount * 64L;
+        this.hashes = Math.max(1, (int) Math.round((double) optimalBits / expectedInsertions * Math.log(2)));
+    }
+
+    public void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            long bit = index(h1, h2, i);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, (current, m) -> current | m);
+            }
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            long bit = index(h1, h2, i);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitSize() {
+        return bits;
+    }
+
+    public int hashCount() {
+        return hashes;
+    }
+
+    private long index(int h1, int h2, int i) {
+        long combined = h1 + (long) i * h2;
+        return Math.floorMod(combined, bits);
+    }
+
+    //FNV-1a over the chars, then murmur3's finalizer so both halves of the result are well mixed
+    static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.task_connect.bloom;
+
+import com.example.task_connect.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+//bloom filter over every registered email, so a sign-up with an email nobody has can skip the findByEmail SELECT.
+//"maybe registered" still goes to the database, and the unique constraint on users.email stays the real guard:
+//a user registered through another instance, or a put whose transaction rolled back, only costs a SELECT or a
+//constraint violation, never a wrong answer. until the warm-up scan has finished every email counts as maybe
+@Component
+public class RegisteredEmailFilter {
+    private static final Logger log = LoggerFactory.getLogger(RegisteredEmailFilter.class);
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long expectedEmails;
+    private final BloomFilter filter;
+    private volatile boolean warmedUp;
+
+    public RegisteredEmailFilter(UserRepository userRepository, PlatformTransactionManager transactionManager,
+                                 @Value("${taskconnect.users.email-filter.expected-emails:1000000}") long expectedEmails,
+                                 @Value("${taskconnect.users.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.expectedEmails = expectedEmails;
+        this.filter = new BloomFilter(expectedEmails, falsePositiveRate);
+    }
+
+    //emails registered while the scan runs are put by their writers, so none is missed
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long start = System.currentTimeMillis();
+        long emails = readOnlyTransaction.execute(status -> {
+            long count = 0;
+            try (Stream<String> stream = userRepository.streamAllEmails()) {
+                Iterator<String> emailIterator = stream.iterator();
+                while (emailIterator.hasNext()) {
+                    filter.put(emailIterator.next());
+                    count++;
+                }
+            }
+            return count;
+        });
+        warmedUp = true;
+        log.info("Email filter warmed up with {} emails in {} ms ({} bits, {} hashes)",
+                emails, System.currentTimeMillis() - start, filter.bitSize(), filter.hashCount());
+        if (emails > expectedEmails) {
+            log.warn("Email filter holds more emails than it was sized for ({}), its false positive rate is rising;"
+                    + " raise taskconnect.users.email-filter.expected-emails", expectedEmails);
+        }
+    }
+
+    public void put(String email) {
+        filter.put(email);
+    }
+
+    //false means no user has this email; true means one may have it
+    public boolean mightBeRegistered(String email) {
+        return !warmedUp || filter.mightContain(email);
+    }
+}
@@ -1,22 +1,32 @@
 package com.example.task_connect.controller;
 
+import com.example.task_connect.dto.BidBatchRequestDTO;
+import com.example.task_connect.dto.BidBatchResponseDTO;
+import com.example.task_connect.dto.BidPageDTO;
 import com.example.task_connect.dto.BidRequestDTO;
+import com.example.task_connect.dto.BidSort;
+import com.example.task_connect.dto.BidView;
+import com.example.task_connect.idempotency.IdempotencyFilter;
 import com.example.task_connect.model.Bid;
+import com.example.task_connect.model.enums.BidStatus;
 import com.example.task_connect.service.BidService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
-@RequestMapping("/api/tasks/{taskId}/bids")
-@Tag(name = "Bidding System", description = "Endpoint for taskers to submit bids on specific tasks")
+@RequestMapping("/api")
+@Tag(name = "Bidding System", description = "Endpoints for taskers to submit bids on specific tasks")
 public class BidController {
 
     private final BidService bidService;
@@ -35,15 +45,87 @@ public class BidController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Bid successfully created"),
             @ApiResponse(responseCode = "400", description = "Validation failed, task is not OPEN, or Tasker is the Requester"),
-            @ApiResponse(responseCode = "404", description = "Task or Tasker ID not found")
+            @ApiResponse(responseCode = "404", description = "Task or Tasker ID not found"),
+            @ApiResponse(responseCode = "409", description = "Task was modified concurrently, or a request with the same " +
+                    "Idempotency-Key is still running; retry the request"),
+            @ApiResponse(responseCode = "422", description = "The Idempotency-Key was already used for a different request")
     })
-    @PostMapping
-    public ResponseEntity<Bid> submitBid(
+    @Parameter(in = ParameterIn.HEADER, name = IdempotencyFilter.HEADER, required = false,
+            description = "Optional client-generated key (e.g. a UUID). Retrying with the same key and body returns the " +
+                    "original response instead of creating a duplicate.")
+    @PostMapping("/tasks/{taskId}/bids")
+    public ResponseEntity<BidView> submitBid(
             @Parameter(description = "ID of the task to bid on")
             @PathVariable Long taskId,
             @Valid @RequestBody BidRequestDTO bidRequest) {
 
         Bid createdBid = bidService.submitBid(taskId, bidRequest);
-        return new ResponseEntity<>(createdBid, HttpStatus.CREATED);
+        return new ResponseEntity<>(BidView.from(createdBid), HttpStatus.CREATED);
     }
-}
\ No newline at end of file
+
+
+    @Operation(
+            summary = "List the bids on a task",
+            description = "Returns the bids on a task with the tasker's name and rating, cheapest first (sort=AMOUNT) " +
+                    "or best rated tasker first (sort=TASKER_RATING), optionally filtered by status. " +
+                    "Uses cursor pagination: pass the returned nextCursor as the cursor parameter, with the same sort, " +
+                    "to get the next page."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bid page retrieved"),
+            @ApiResponse(responseCode = "400", description = "Invalid page size or cursor"),
+            @ApiResponse(responseCode = "404", description = "Task ID not found")
+    })
+    @GetMapping("/tasks/{taskId}/bids")
+    public ResponseEntity<BidPageDTO> getBids(
+            @Parameter(description = "ID of the task whose bids are listed")
+            @PathVariable Long taskId,
+            @RequestParam(required = false) BidStatus status,
+            @RequestParam(defaultValue = "AMOUNT") BidSort sort,
+            @Parameter(description = "nextCursor from the previous page, omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        BidPageDTO bids = bidService.getBids(taskId, status, sort, cursor, size);
+        return ResponseEntity.ok(bids);
+    }
+
+
+    @Operation(
+            summary = "Submit bids on several tasks at once",
+            description = "Submits up to " + BidBatchRequestDTO.MAX_BIDS + " bids for one tasker. Each bid is checked on its own " +
+                    "(task exists, task is OPEN, tasker is not the requester, one bid per task); valid bids are saved " +
+                    "and the response reports the outcome of every bid in request order."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per-bid results"),
+            @ApiResponse(responseCode = "400", description = "Validation failed (empty or oversized batch, invalid amounts)"),
+            @ApiResponse(responseCode = "404", description = "Tasker ID not found"),
+            @ApiResponse(responseCode = "409", description = "Tasks were modified concurrently, retry the request")
+    })
+    @PostMapping("/bids/batch")
+    public ResponseEntity<BidBatchResponseDTO> submitBids(@Valid @RequestBody BidBatchRequestDTO batchRequest) {
+        BidBatchResponseDTO response = bidService.submitBids(batchRequest);
+        return ResponseEntity.ok(response);
+    }
+
+
+    @Operation(
+            summary = "Stream new bids on a task",
+            description = "Opens a Server-Sent Events stream that pushes every bid submitted on the task from now on " +
+                    "as a 'bid' event whose data is the bid and whose id is the bid ID. Keep-alive comments are sent " +
+                    "periodically. The server closes the stream after an idle timeout or when the client falls too far " +
+                    "behind; EventSource clients reconnect automatically."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened"),
+            @ApiResponse(responseCode = "404", description = "Task ID not found"),
+            @ApiResponse(responseCode = "503", description = "Too many open streams, retry later")
+    })
+    @GetMapping(value = "/tasks/{taskId}/bids/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBids(
+            @Parameter(description = "ID of the task to watch")
+            @PathVariable Long taskId) {
+        return bidService.openBidStream(taskId);
+    }
+}
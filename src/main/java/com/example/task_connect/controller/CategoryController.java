@@ -0,0 +1,40 @@
+package com.example.task_connect.controller;
+
+import com.example.task_connect.dto.CategoryStatsDTO;
+import com.example.task_connect.service.CategoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/categories")
+@Tag(name = "Categories", description = "Endpoint for browsing task categories")
+public class CategoryController {
+    private final CategoryService categoryService;
+
+    @Autowired
+    public CategoryController(CategoryService categoryService) {
+        this.categoryService = categoryService;
+    }
+
+    @Operation(
+            summary = "List categories with their task stats",
+            description = "Returns every category with its number of OPEN and ASSIGNED tasks and the average, minimum " +
+                    "and maximum budget of the tasks posted in it. The figures can be a few seconds behind the latest writes."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Categories retrieved")
+    })
+    @GetMapping
+    public ResponseEntity<List<CategoryStatsDTO>> getCategories() {
+        return ResponseEntity.ok(categoryService.getCategories());
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.task_connect.controller;
+
+import com.example.task_connect.dto.ReviewRequestDTO;
+import com.example.task_connect.dto.ReviewView;
+import com.example.task_connect.model.Review;
+import com.example.task_connect.service.ReviewService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api")
+@Tag(name = "Reviews", description = "Endpoints for rating the other party of a completed task")
+public class ReviewController {
+
+    private final ReviewService reviewService;
+
+    @Autowired
+    public ReviewController(ReviewService reviewService) {
+        this.reviewService = reviewService;
+    }
+
+
+    @Operation(
+            summary = "Review a completed task",
+            description = "The requester rates the tasker, or the tasker rates the requester (1 to 5), once per task. " +
+                    "The rating of the reviewed user is updated immediately."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Review successfully created"),
+            @ApiResponse(responseCode = "400", description = "Validation failed, task is not COMPLETED, reviewer is not part of the task, or already reviewed"),
+            @ApiResponse(responseCode = "404", description = "Task not found")
+    })
+    @PostMapping("/tasks/{taskId}/reviews")
+    public ResponseEntity<ReviewView> submitReview(
+            @Parameter(description = "ID of the completed task")
+            @PathVariable Long taskId,
+            @Valid @RequestBody ReviewRequestDTO reviewRequest) {
+
+        Review createdReview = reviewService.submitReview(taskId, reviewRequest);
+        return new ResponseEntity<>(ReviewView.from(createdReview), HttpStatus.CREATED);
+    }
+}
@@ -1,27 +1,49 @@
 package com.example.task_connect.controller;
 
+import com.example.task_connect.dto.NearbyTaskDTO;
+import com.example.task_connect.dto.RecommendedTaskerDTO;
+import com.example.task_connect.dto.TaskFeedDTO;
 import com.example.task_connect.dto.TaskRequestDTO;
+import com.example.task_connect.dto.TaskSearchDTO;
+import com.example.task_connect.dto.TaskView;
+import com.example.task_connect.idempotency.IdempotencyFilter;
 import com.example.task_connect.model.Task;
+import com.example.task_connect.model.enums.TaskStatus;
+import com.example.task_connect.service.TaskSearchService;
 import com.example.task_connect.service.TaskService;
+import com.example.task_connect.service.TaskerRecommendationService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.math.BigDecimal;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/tasks")
 @Tag(name = "Task Management", description = "Endpoint dor posting a task")
 public class TaskController {
     private final TaskService taskService;
+    private final TaskSearchService taskSearchService;
+    private final TaskerRecommendationService recommendationService;
 
     @Autowired
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskSearchService taskSearchService,
+                          TaskerRecommendationService recommendationService) {
         this.taskService = taskService;
+        this.taskSearchService = taskSearchService;
+        this.recommendationService = recommendationService;
     }
 
     @Operation(
@@ -31,12 +53,134 @@ public class TaskController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Task successfully posted"),
             @ApiResponse(responseCode = "400", description = "Validation failed (missing fields)"),
-            @ApiResponse(responseCode = "404", description = "Requester, Category, or Address ID not found")
+            @ApiResponse(responseCode = "404", description = "Requester, Category, or Address ID not found"),
+            @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is still running"),
+            @ApiResponse(responseCode = "422", description = "The Idempotency-Key was already used for a different request")
     })
+    @Parameter(in = ParameterIn.HEADER, name = IdempotencyFilter.HEADER, required = false,
+            description = "Optional client-generated key (e.g. a UUID). Retrying with the same key and body returns the " +
+                    "original response instead of creating a duplicate.")
     @PostMapping
-    public ResponseEntity<Task> createTask(@Valid @RequestBody TaskRequestDTO taskRequest) {
+    public ResponseEntity<TaskView> createTask(@Valid @RequestBody TaskRequestDTO taskRequest) {
         Task createdTask = taskService.createTask(taskRequest);
-        return new ResponseEntity<>(createdTask, HttpStatus.CREATED);
+        return new ResponseEntity<>(TaskView.from(createdTask), HttpStatus.CREATED);
+    }
+
+
+    @Operation(
+            summary = "Browse the task feed",
+            description = "Returns tasks newest first, filtered by status (OPEN by default), category and budget range. " +
+                    "Uses cursor pagination: pass the returned nextCursor as the cursor parameter to get the next page."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Feed page retrieved"),
+            @ApiResponse(responseCode = "400", description = "Invalid page size or budget range")
+    })
+    @GetMapping
+    public ResponseEntity<TaskFeedDTO> getTaskFeed(
+            @RequestParam(defaultValue = "OPEN") TaskStatus status,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) BigDecimal minBudget,
+            @RequestParam(required = false) BigDecimal maxBudget,
+            @Parameter(description = "nextCursor from the previous page, omit for the first page")
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        TaskFeedDTO feed = taskService.getTaskFeed(status, categoryId, minBudget, maxBudget, cursor, size);
+        return ResponseEntity.ok(feed);
+    }
+
+
+    @Operation(
+            summary = "Search tasks",
+            description = "Full-text search over task titles and descriptions, best match first. " +
+                    "Title matches rank higher than description matches. Optionally filtered by status and category."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search results retrieved"),
+            @ApiResponse(responseCode = "400", description = "Empty query or invalid page")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<TaskSearchDTO> searchTasks(
+            @RequestParam String q,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) Long categoryId,
+            @Parameter(description = "zero-based page number")
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        TaskSearchDTO results = taskSearchService.search(q, status, categoryId, page, size);
+        return ResponseEntity.ok(results);
+    }
+
+
+    @Operation(
+            summary = "Find open tasks nearby",
+            description = "Returns OPEN tasks whose address lies within radiusKm of the given point, closest first. " +
+                    "Only addresses with coordinates are considered."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Nearby tasks retrieved"),
+            @ApiResponse(responseCode = "400", description = "Invalid coordinates, radius or limit")
+    })
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyTaskDTO>> findNearbyTasks(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @Parameter(description = "search radius in kilometers, at most 100")
+            @RequestParam(defaultValue = "10") double radiusKm,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        List<NearbyTaskDTO> tasks = taskSearchService.findNearby(lat, lon, radiusKm, limit);
+        return ResponseEntity.ok(tasks);
+    }
+
+
+    @Operation(
+            summary = "Retrieve a specific task by ID",
+            description = "Returns the task with the ids of its requester, tasker, category and address. " +
+                    "The response carries an ETag: send it back in If-None-Match to get a 304 with no body " +
+                    "while the task has not changed."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Task found"),
+            @ApiResponse(responseCode = "304", description = "The task has not changed since the given ETag"),
+            @ApiResponse(responseCode = "404", description = "No task exists with the specified ID")
+    })
+    @GetMapping("/{taskId}")
+    public ResponseEntity<TaskView> getTaskById(@PathVariable Long taskId, WebRequest request) {
+        //weak for the same reason as in UserController.getUserById
+        String etag = "W/\"" + taskService.findTaskVersion(taskId) + "\"";
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT);
+        //only the version is read for a matching If-None-Match, the task itself is not loaded
+        if (request.checkNotModified(etag)) {
+            return response.build();
+        }
+        return response.body(taskService.findTaskViewById(taskId));
+    }
+
+
+    @Operation(
+            summary = "Recommend taskers for a task",
+            description = "Returns the taskers best suited to the task, best first. The score combines how many of " +
+                    "their bids were accepted in the task's category, their tasker rating and how close their " +
+                    "address is to the task's. Taskers further than the configured maximum distance are left out."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recommended taskers retrieved"),
+            @ApiResponse(responseCode = "400", description = "Invalid limit"),
+            @ApiResponse(responseCode = "404", description = "No task exists with the specified ID")
+    })
+    @GetMapping("/{taskId}/recommended-taskers")
+    public ResponseEntity<List<RecommendedTaskerDTO>> getRecommendedTaskers(
+            @PathVariable Long taskId,
+            @Parameter(description = "how many taskers to return, at most 50")
+            @RequestParam(defaultValue = "10") int limit) {
+
+        return ResponseEntity.ok(recommendationService.getRecommendedTaskers(taskId, limit));
     }
 
 
@@ -48,7 +192,8 @@ public class TaskController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Success: Task assigned and bid accepted"),
             @ApiResponse(responseCode = "400", description = "Task is not OPEN or bid mismatch"),
-            @ApiResponse(responseCode = "404", description = "Task or Bid not found")
+            @ApiResponse(responseCode = "404", description = "Task or Bid not found"),
+            @ApiResponse(responseCode = "409", description = "Task was modified concurrently, retry the request")
     })
     @PatchMapping("/{taskId}/bids/{bidId}")
     public ResponseEntity<String> acceptBid(
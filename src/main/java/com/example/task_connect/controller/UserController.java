@@ -1,7 +1,10 @@
 package com.example.task_connect.controller;
 
+import com.example.task_connect.dto.UserImportReportDTO;
+import com.example.task_connect.dto.UserView;
 import com.example.task_connect.model.Address;
 import com.example.task_connect.model.User;
+import com.example.task_connect.service.UserImportService;
 import com.example.task_connect.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -9,19 +12,28 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 @RestController
 @RequestMapping("/api/users")
 @Tag(name = "User Management", description = "Endpoints for user registration, address management, and profile retrieval")
 public class UserController {
     private final UserService userService;
+    private final UserImportService userImportService;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserImportService userImportService) {
         this.userService = userService;
+        this.userImportService = userImportService;
     }
 
     @Operation(
@@ -35,9 +47,26 @@ public class UserController {
             @ApiResponse(responseCode = "409", description = "Conflict - The email address is already in use")
     })
     @PostMapping
-    public ResponseEntity<User> registerUser(@Valid @RequestBody User user) {
+    public ResponseEntity<UserView> registerUser(@Valid @RequestBody User user) {
         User registeredUser = userService.registerUser(user);
-        return new ResponseEntity<>(registeredUser, HttpStatus.CREATED); //201
+        return new ResponseEntity<>(UserView.from(registeredUser), HttpStatus.CREATED); //201
+    }
+
+
+    @Operation(
+            summary = "Bulk import users from NDJSON",
+            description = "Registers one user per line, each in the same JSON shape as POST /api/users. " +
+                    "The body is streamed and saved in chunks, each chunk in its own transaction, so rows saved " +
+                    "before a failure stay saved. Invalid rows and emails that are already registered (or repeated " +
+                    "in the file) are skipped and listed in the report with their line number."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished, see the report for rejected rows"),
+            @ApiResponse(responseCode = "415", description = "The body is not application/x-ndjson")
+    })
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<UserImportReportDTO> importUsers(InputStream body) throws IOException {
+        return ResponseEntity.ok(userImportService.importUsers(body));
     }
 
 
@@ -51,23 +80,37 @@ public class UserController {
             @ApiResponse(responseCode = "404", description = "User not found with the provided ID")
     })
     @PostMapping("/{userId}/addresses")
-    public ResponseEntity<User> addAddress(@PathVariable Long userId, @Valid @RequestBody Address address) {
-        User updatedUser = userService.addAddressToUser(userId, address);
+    public ResponseEntity<UserView> addAddress(@PathVariable Long userId, @Valid @RequestBody Address address) {
+        UserView updatedUser = userService.addAddressToUser(userId, address);
         return new ResponseEntity<>(updatedUser, HttpStatus.OK);
     }
 
 
     @Operation(
             summary = "Retrieve a specific user by ID",
-            description = "Fetches the full details of a user, including their profile information"
+            description = "Fetches the full details of a user, including their profile information. " +
+                    "The response carries an ETag that changes with the profile, ratings and addresses: " +
+                    "send it back in If-None-Match to get a 304 with no body while nothing changed."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User found and details retrieved"),
+            @ApiResponse(responseCode = "304", description = "The user has not changed since the given ETag"),
             @ApiResponse(responseCode = "404", description = "No user exists with the specified ID")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
-        User user = userService.findUserById(id);
-        return new ResponseEntity<>(user, HttpStatus.OK);
+    public ResponseEntity<UserView> getUserById(@PathVariable Long id, WebRequest request) {
+        //weak: one version is served as JSON or CBOR, gzipped or not, and Tomcat only compresses
+        //responses whose ETag is weak. If-None-Match compares weakly anyway
+        String etag = "W/\"" + userService.findUserVersion(id) + "\"";
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT);
+        //the version comes from the version cache, so a matching If-None-Match is answered with a 304
+        //(same headers, no body) without loading or serializing the user
+        if (request.checkNotModified(etag)) {
+            return response.build();
+        }
+        return response.body(userService.findUserViewById(id));
     }
 }
@@ -0,0 +1,124 @@
+package com.example.task_connect.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+//admission layer in front of the connection pool: a fair semaphore sized like the pool decides which
+//callers may borrow a connection, the rest park on the semaphore (cheap for virtual threads) instead of
+//all polling HikariCP at once. callers that cannot get in within the timeout, or arrive when too many are
+//already waiting, fail fast with a transient exception that the API answers as 503
+public class AdmissionControlledDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxWaiting;
+    private final long acquireTimeoutNanos;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public AdmissionControlledDataSource(DataSource target, int maxConcurrent, int maxWaiting, Duration acquireTimeout) {
+        super(target);
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be at least 1");
+        }
+        if (maxWaiting < 0) {
+            throw new IllegalArgumentException("maxWaiting must not be negative");
+        }
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxWaiting = maxWaiting;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        admit();
+        try {
+            return releaseOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        admit();
+        try {
+            return releaseOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int waitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    public long rejectedCount() {
+        return rejected.get();
+    }
+
+    private void admit() throws SQLException {
+        //the queue length is an estimate, which is fine for shedding load
+        if (!permits.tryAcquire()) {
+            if (permits.getQueueLength() >= maxWaiting) {
+                rejected.incrementAndGet();
+                throw new SQLTransientConnectionException("Too many requests are waiting for a database connection");
+            }
+            try {
+                if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                    rejected.incrementAndGet();
+                    throw new SQLTransientConnectionException("Timed out waiting for a database connection");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+            }
+        }
+    }
+
+    //the permit goes back when the caller closes the connection (i.e. returns it to the pool), exactly once
+    private Connection releaseOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+                return proxy == args[0];
+            }
+            if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+                return System.identityHashCode(proxy);
+            }
+            if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                try {
+                    connection.close();
+                } finally {
+                    if (released.compareAndSet(false, true)) {
+                        permits.release();
+                    }
+                }
+                return null;
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(
+                AdmissionControlledDataSource.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.task_connect.datasource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+//turned on together with virtual threads (spring.threads.virtual.enabled=true), or explicitly with
+//taskconnect.datasource.admission.enabled. by default it admits as many callers as the pool has connections
+@Configuration
+@ConditionalOnExpression("${taskconnect.datasource.admission.enabled:${spring.threads.virtual.enabled:false}}")
+public class DataSourceAdmissionConfig {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+    private static final int DEFAULT_MAX_WAITING = 1000;
+    private static final Duration DEFAULT_ACQUIRE_TIMEOUT = Duration.ofSeconds(2);
+
+    //static so the post processor is registered before the DataSource bean is created
+    @Bean
+    public static BeanPostProcessor dataSourceAdmissionPostProcessor(Environment environment) {
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, DEFAULT_POOL_SIZE);
+        int maxConcurrent = environment.getProperty("taskconnect.datasource.admission.max-concurrent", Integer.class, poolSize);
+        int maxWaiting = environment.getProperty("taskconnect.datasource.admission.max-waiting", Integer.class, DEFAULT_MAX_WAITING);
+        Duration acquireTimeout = environment.getProperty(
+                "taskconnect.datasource.admission.acquire-timeout", Duration.class, DEFAULT_ACQUIRE_TIMEOUT);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof AdmissionControlledDataSource)) {
+                    return new AdmissionControlledDataSource(dataSource, maxConcurrent, maxWaiting, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder dataSourceAdmissionMetrics(DataSource dataSource) throws SQLException {
+        AdmissionControlledDataSource admission = dataSource.unwrap(AdmissionControlledDataSource.class);
+        return registry -> {
+            Gauge.builder("taskconnect.db.admission.available", admission, AdmissionControlledDataSource::availablePermits)
+                    .description("Connection permits currently free")
+                    .register(registry);
+            Gauge.builder("taskconnect.db.admission.waiting", admission, AdmissionControlledDataSource::waitingThreads)
+                    .description("Threads parked waiting for a connection permit")
+                    .register(registry);
+            FunctionCounter.builder("taskconnect.db.admission.rejected", admission, AdmissionControlledDataSource::rejectedCount)
+                    .description("Connection requests refused by the admission layer")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.task_connect.dto;
+
+import com.example.task_connect.model.Address;
+
+public record AddressView(
+        Long id,
+        String street,
+        String city,
+        String zipCode,
+        Double latitude,
+        Double longitude
+) {
+    public static AddressView from(Address address) {
+        return new AddressView(address.getId(), address.getStreet(), address.getCity(), address.getZipCode(),
+                address.getLatitude(), address.getLongitude());
+    }
+}
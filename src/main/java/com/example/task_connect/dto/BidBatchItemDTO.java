@@ -0,0 +1,30 @@
+package com.example.task_connect.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+public class BidBatchItemDTO {
+
+    @NotNull(message = "Task ID is required")
+    private Long taskId;
+
+    @NotNull(message = "Bid amount is required")
+    @DecimalMin(value = "0.01", message = "Bid amount must be greater than 0")
+    private BigDecimal amount;
+
+    @Size(max = 500, message = "Message cannot exceed 500 characters")
+    private String message;
+
+    // Getters and Setters
+    public Long getTaskId() { return taskId; }
+    public void setTaskId(Long taskId) { this.taskId = taskId; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
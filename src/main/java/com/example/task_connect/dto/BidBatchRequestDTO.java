@@ -0,0 +1,29 @@
+package com.example.task_connect.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BidBatchRequestDTO {
+
+    public static final int MAX_BIDS = 100;
+
+    @NotNull(message = "Tasker ID is required")
+    private Long taskerId;
+
+    @NotEmpty(message = "At least one bid is required")
+    @Size(max = MAX_BIDS, message = "A batch cannot contain more than " + MAX_BIDS + " bids")
+    @Valid
+    private List<BidBatchItemDTO> bids = new ArrayList<>();
+
+    // Getters and Setters
+    public Long getTaskerId() { return taskerId; }
+    public void setTaskerId(Long taskerId) { this.taskerId = taskerId; }
+
+    public List<BidBatchItemDTO> getBids() { return bids; }
+    public void setBids(List<BidBatchItemDTO> bids) { this.bids = bids; }
+}
@@ -0,0 +1,9 @@
+package com.example.task_connect.dto;
+
+import java.util.List;
+
+public record BidBatchResponseDTO(
+        int created,
+        int rejected,
+        List<BidBatchResultDTO> results
+) {}
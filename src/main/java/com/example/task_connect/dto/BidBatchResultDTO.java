@@ -0,0 +1,21 @@
+package com.example.task_connect.dto;
+
+//outcome of one bid in a batch, in the same order as the request
+//bidId is set when the bid was created, error when it was refused
+public record BidBatchResultDTO(
+        int index,
+        Long taskId,
+        Outcome outcome,
+        Long bidId,
+        String error
+) {
+    public enum Outcome { CREATED, REJECTED }
+
+    public static BidBatchResultDTO created(int index, Long taskId, Long bidId) {
+        return new BidBatchResultDTO(index, taskId, Outcome.CREATED, bidId, null);
+    }
+
+    public static BidBatchResultDTO rejected(int index, Long taskId, String error) {
+        return new BidBatchResultDTO(index, taskId, Outcome.REJECTED, null, error);
+    }
+}
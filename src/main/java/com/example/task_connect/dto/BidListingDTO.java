@@ -0,0 +1,18 @@
+package com.example.task_connect.dto;
+
+import com.example.task_connect.model.enums.BidStatus;
+
+import java.math.BigDecimal;
+
+//one row of a task's bid list: the bid with the tasker's name and rating, built by a single
+//JPQL constructor expression (bid joined to the tasker's profile) so no entity is loaded
+//taskerName and taskerRating are null when the tasker has no profile yet
+public record BidListingDTO(
+        Long id,
+        BigDecimal amount,
+        String message,
+        BidStatus status,
+        Long taskerId,
+        String taskerName,
+        BigDecimal taskerRating
+) {}
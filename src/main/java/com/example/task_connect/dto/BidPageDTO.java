@@ -0,0 +1,10 @@
+package com.example.task_connect.dto;
+
+import java.util.List;
+
+//one page of a task's bids
+//nextCursor is the value to pass as "cursor" for the following page with the same sort, null on the last page
+public record BidPageDTO(
+        List<BidListingDTO> items,
+        String nextCursor
+) {}
@@ -0,0 +1,7 @@
+package com.example.task_connect.dto;
+
+//orderings offered by the bid list, ties are broken by bid id
+public enum BidSort {
+    AMOUNT,         //cheapest first
+    TASKER_RATING   //best rated tasker first
+}
@@ -0,0 +1,27 @@
+package com.example.task_connect.dto;
+
+import com.example.task_connect.model.Bid;
+import com.example.task_connect.model.enums.BidStatus;
+
+import java.math.BigDecimal;
+
+//API representation of a bid
+public record BidView(
+        Long id,
+        BigDecimal amount,
+        String message,
+        BidStatus status,
+        Long taskId,
+        Long taskerId
+) {
+    public static BidView from(Bid bid) {
+        return new BidView(
+                bid.getId(),
+                bid.getAmount(),
+                bid.getMessage(),
+                bid.getStatus(),
+                bid.getTask() != null ? bid.getTask().getId() : null,
+                bid.getTasker() != null ? bid.getTasker().getId() : null
+        );
+    }
+}
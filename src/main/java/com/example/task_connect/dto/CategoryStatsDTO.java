@@ -0,0 +1,28 @@
+package com.example.task_connect.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+//one entry of GET /api/categories, built by a JPQL constructor expression that adds up the category's stats slots.
+//the budget figures cover every task posted in the category and are null while none had a budget
+public record CategoryStatsDTO(
+        Long id,
+        String name,
+        String description,
+        long openTasks,
+        long assignedTasks,
+        BigDecimal averageBudget,
+        BigDecimal minBudget,
+        BigDecimal maxBudget
+) {
+    //sums over no slot rows (a category the reconciliation has not reached yet) arrive as null
+    public CategoryStatsDTO(Long id, String name, String description, Long openTasks, Long assignedTasks,
+                            Long budgetCount, BigDecimal budgetSum, BigDecimal minBudget, BigDecimal maxBudget) {
+        this(id, name, description,
+                openTasks != null ? openTasks : 0,
+                assignedTasks != null ? assignedTasks : 0,
+                budgetCount == null || budgetCount == 0 ? null
+                        : budgetSum.divide(BigDecimal.valueOf(budgetCount), 2, RoundingMode.HALF_UP),
+                minBudget, maxBudget);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.task_connect.dto;
+
+import java.math.BigDecimal;
+
+//task counters and budget statistics of one category, either added up over its CategoryStats slots
+//or recomputed from the tasks table by the reconciliation job
+public record CategoryTaskTotals(
+        long openCount,
+        long assignedCount,
+        long budgetCount,
+        BigDecimal budgetSum,
+        BigDecimal budgetMin,
+        BigDecimal budgetMax
+) {
+    //numeric values compared by value, 10.0 and 10.00 are the same sum
+    public boolean matches(CategoryTaskTotals other) {
+        return openCount == other.openCount
+                && assignedCount == other.assignedCount
+                && budgetCount == other.budgetCount
+                && sameValue(budgetSum, other.budgetSum)
+                && sameValue(budgetMin, other.budgetMin)
+                && sameValue(budgetMax, other.budgetMax);
+    }
+
+    private static boolean sameValue(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+}
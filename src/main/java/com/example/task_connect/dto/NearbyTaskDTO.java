@@ -0,0 +1,7 @@
+package com.example.task_connect.dto;
+
+//an OPEN task near the requested point and how far away it is
+public record NearbyTaskDTO(
+        TaskSummaryDTO task,
+        double distanceKm
+) {}
@@ -0,0 +1,11 @@
+package com.example.task_connect.dto;
+
+//the running rating totals stored on a profile, read in keyset chunks by the reconciliation job
+public record ProfileRatingTotals(
+        Long userId,
+        long taskerRatingSum,
+        long taskerRatingCount,
+        long requesterRatingSum,
+        long requesterRatingCount
+) {
+}
@@ -0,0 +1,18 @@
+package com.example.task_connect.dto;
+
+import com.example.task_connect.model.Profile;
+
+import java.math.BigDecimal;
+
+public record ProfileView(
+        String firstName,
+        String lastName,
+        String bio,
+        BigDecimal taskerRating,
+        BigDecimal requesterRating
+) {
+    public static ProfileView from(Profile profile) {
+        return new ProfileView(profile.getFirstName(), profile.getLastName(), profile.getBio(),
+                profile.getTaskerRating(), profile.getRequesterRating());
+    }
+}
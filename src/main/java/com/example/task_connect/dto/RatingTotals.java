@@ -0,0 +1,13 @@
+package com.example.task_connect.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+//sum and count of the ratings one user received in one role, as stored on the profile or recomputed from reviews
+public record RatingTotals(Long userId, long sum, long count) {
+
+    //same rounding as the incremental UPDATE in ProfileRepository
+    public BigDecimal average() {
+        return count == 0 ? BigDecimal.ZERO : BigDecimal.valueOf(sum).divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.task_connect.dto;
+
+import java.math.BigDecimal;
+
+//a tasker recommended for a task, best first; distanceKm is null when the task or the tasker has no coordinates
+//and score is the 0..1 match score the ranking is based on
+public record RecommendedTaskerDTO(
+        Long taskerId,
+        String firstName,
+        String lastName,
+        BigDecimal taskerRating,
+        long acceptedBidsInCategory,
+        Double distanceKm,
+        double score
+) {}
@@ -0,0 +1,30 @@
+package com.example.task_connect.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public class ReviewRequestDTO {
+
+    @NotNull(message = "Reviewer ID is required")
+    private Long reviewerId;
+
+    @NotNull(message = "Rating is required")
+    @Min(value = 1, message = "Rating must be at least 1")
+    @Max(value = 5, message = "Rating cannot exceed 5")
+    private Integer rating;
+
+    @Size(max = 1000, message = "Comments cannot exceed 1000 characters")
+    private String comments;
+
+    // Getters and Setters
+    public Long getReviewerId() { return reviewerId; }
+    public void setReviewerId(Long reviewerId) { this.reviewerId = reviewerId; }
+
+    public Integer getRating() { return rating; }
+    public void setRating(Integer rating) { this.rating = rating; }
+
+    public String getComments() { return comments; }
+    public void setComments(String comments) { this.comments = comments; }
+}
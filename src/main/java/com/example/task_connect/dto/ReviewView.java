@@ -0,0 +1,24 @@
+package com.example.task_connect.dto;
+
+import com.example.task_connect.model.Review;
+
+//API representation of a review
+public record ReviewView(
+        Long id,
+        Long taskId,
+        Long reviewerId,
+        Long reviewedId,
+        Integer rating,
+        String comments
+) {
+    public static ReviewView from(Review review) {
+        return new ReviewView(
+                review.getId(),
+                review.getTask() != null ? review.getTask().getId() : null,
+                review.getReviewer() != null ? review.getReviewer().getId() : null,
+                review.getReviewed() != null ? review.getReviewed().getId() : null,
+                review.getRating(),
+                review.getComments()
+        );
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.task_connect.dto;
+
+import java.util.List;
+
+//one page of the task feed
+//nextCursor is the id to pass as "cursor" for the following page, null when there are no more tasks
+public record TaskFeedDTO(
+        List<TaskSummaryDTO> items,
+        Long nextCursor
+) {}
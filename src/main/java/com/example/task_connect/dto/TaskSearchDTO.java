@@ -0,0 +1,12 @@
+package com.example.task_connect.dto;
+
+import java.util.List;
+
+//one page of search results, best match first
+//totalHits counts every matching task, not just the ones on this page
+public record TaskSearchDTO(
+        List<TaskSearchHitDTO> items,
+        int page,
+        int size,
+        long totalHits
+) {}
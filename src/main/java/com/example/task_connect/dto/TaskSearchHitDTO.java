@@ -0,0 +1,7 @@
+package com.example.task_connect.dto;
+
+//one search result: the task summary and how well it matched the query
+public record TaskSearchHitDTO(
+        TaskSummaryDTO task,
+        double score
+) {}
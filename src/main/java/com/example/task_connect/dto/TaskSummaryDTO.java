@@ -0,0 +1,16 @@
+package com.example.task_connect.dto;
+
+import com.example.task_connect.model.enums.TaskStatus;
+
+import java.math.BigDecimal;
+
+//slim read model for task listings, built directly by JPQL constructor expressions
+//so no Task entity (and none of its lazy associations) is ever loaded
+public record TaskSummaryDTO(
+        Long id,
+        String title,
+        BigDecimal budget,
+        TaskStatus status,
+        Long categoryId,
+        Long requesterId
+) {}
@@ -0,0 +1,34 @@
+package com.example.task_connect.dto;
+
+import com.example.task_connect.model.Task;
+import com.example.task_connect.model.enums.TaskStatus;
+
+import java.math.BigDecimal;
+
+//API representation of a task: scalars plus the ids of its associations, never the associated entities
+public record TaskView(
+        Long id,
+        String title,
+        String description,
+        BigDecimal budget,
+        TaskStatus status,
+        Long requesterId,
+        Long taskerId,
+        Long categoryId,
+        Long addressId
+) {
+    //reading getId() of a lazy association does not initialize the proxy, so this never hits the database
+    public static TaskView from(Task task) {
+        return new TaskView(
+                task.getId(),
+                task.getTitle(),
+                task.getDescription(),
+                task.getBudget(),
+                task.getStatus(),
+                task.getRequester() != null ? task.getRequester().getId() : null,
+                task.getTasker() != null ? task.getTasker().getId() : null,
+                task.getCategory() != null ? task.getCategory().getId() : null,
+                task.getAddress() != null ? task.getAddress().getId() : null
+        );
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.task_connect.dto;
+
+//a row of an import that was not saved; line is the 1-based line of the NDJSON input,
+//email is null when the row could not be parsed
+public record UserImportErrorDTO(
+        long line,
+        String email,
+        String error
+) {}
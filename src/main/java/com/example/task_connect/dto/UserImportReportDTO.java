@@ -0,0 +1,13 @@
+package com.example.task_connect.dto;
+
+import java.util.List;
+
+//errors holds the first rejected rows only (taskconnect.users.import.max-reported-errors),
+//errorsTruncated tells whether there were more
+public record UserImportReportDTO(
+        long processed,
+        long imported,
+        long rejected,
+        List<UserImportErrorDTO> errors,
+        boolean errorsTruncated
+) {}
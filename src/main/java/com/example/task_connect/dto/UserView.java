@@ -0,0 +1,40 @@
+package com.example.task_connect.dto;
+
+import com.example.task_connect.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+//API representation of a user: profile and addresses, never the password or the task/bid/review collections
+public record UserView(
+        Long id,
+        String email,
+        LocalDateTime createdAt,
+        ProfileView profile,
+        List<AddressView> addresses
+) {
+    //constructor for the JPQL projection of the users row in UserRepository
+    //the profile (from the second-level cache) and the addresses are attached with withProfile and withAddresses
+    public UserView(Long id, String email, LocalDateTime createdAt) {
+        this(id, email, createdAt, null, List.of());
+    }
+
+    public UserView withProfile(ProfileView profile) {
+        return new UserView(id, email, createdAt, profile, addresses);
+    }
+
+    public UserView withAddresses(List<AddressView> addresses) {
+        return new UserView(id, email, createdAt, profile, List.copyOf(addresses));
+    }
+
+    //for freshly registered users, whose profile and addresses are still plain in-memory objects
+    public static UserView from(User user) {
+        return new UserView(
+                user.getId(),
+                user.getEmail(),
+                user.getCreatedAt(),
+                user.getProfile() != null ? ProfileView.from(user.getProfile()) : null,
+                user.getAddresses() != null ? user.getAddresses().stream().map(AddressView::from).toList() : List.of()
+        );
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.task_connect.etag;
+
+import com.example.task_connect.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+//user id -> users.version, so a conditional GET /api/users/{id} that ends in 304 does not touch the database.
+//writes on this instance evict their user after commit; a write on another instance is only seen once the
+//entry expires, so ttl bounds how long a client polling with If-None-Match can miss a change made elsewhere.
+//a lookup racing an eviction cannot leave the old version behind: Caffeine makes the eviction wait for it
+@Component
+public class UserVersionCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Long> versions;
+
+    public UserVersionCache(UserRepository userRepository,
+                            @Value("${taskconnect.users.version-cache.size:100000}") long size,
+                            @Value("${taskconnect.users.version-cache.ttl:10s}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(size)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    //empty when there is no such user, which is not cached
+    public Optional<Long> find(Long userId) {
+        return Optional.ofNullable(versions.get(userId, id -> userRepository.findVersionById(id).orElse(null)));
+    }
+
+    //the new version only becomes visible on commit, evicting earlier would let a reader cache the old one again
+    public void evictAfterCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            versions.invalidate(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                versions.invalidate(userId);
+            }
+        });
+    }
+
+    long size() {
+        versions.cleanUp();
+        return versions.estimatedSize();
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.task_connect.event;
+
+import java.math.BigDecimal;
+
+public record BidAcceptedEvent(Long taskId, Long bidId, Long taskerId, BigDecimal amount) implements DomainEvent {
+}
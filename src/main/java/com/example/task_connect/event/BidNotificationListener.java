@@ -0,0 +1,53 @@
+package com.example.task_connect.event;
+
+import com.example.task_connect.model.enums.BidStatus;
+import com.example.task_connect.repository.BidRepository;
+import com.example.task_connect.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+//works out who has to hear about a bid outcome. there is no mail/push channel yet,
+//so the notifications are logged; a real sender plugs in here without touching the services
+@Component
+public class BidNotificationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(BidNotificationListener.class);
+
+    private final BidRepository bidRepository;
+    private final TaskRepository taskRepository;
+
+    public BidNotificationListener(BidRepository bidRepository, TaskRepository taskRepository) {
+        this.bidRepository = bidRepository;
+        this.taskRepository = taskRepository;
+    }
+
+    @EventListener
+    public void onBidSubmitted(BidSubmittedEvent event) {
+        taskRepository.findRequesterIdById(event.taskId()).ifPresent(requesterId ->
+                log.info("Notify requester {}: new bid {} of {} on task {}",
+                        requesterId, event.bidId(), event.amount(), event.taskId()));
+    }
+
+    @EventListener
+    public void onBidAccepted(BidAcceptedEvent event) {
+        log.info("Notify tasker {}: bid {} was accepted for task {}", event.taskerId(), event.bidId(), event.taskId());
+    }
+
+    //bids do not lock the task, so one that committed while acceptBid ran can still be PENDING here:
+    //it is rejected with the others before anyone is notified. a redelivered event finds nothing left to reject
+    @EventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onBidsRejected(BidsRejectedEvent event) {
+        bidRepository.updateStatusOfOtherBids(event.taskId(), event.acceptedBidId(), BidStatus.PENDING, BidStatus.REJECTED);
+        List<Long> taskerIds = bidRepository.findTaskerIdsByTaskIdAndStatus(event.taskId(), BidStatus.REJECTED);
+        for (Long taskerId : taskerIds) {
+            log.info("Notify tasker {}: task {} was assigned to another bid", taskerId, event.taskId());
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.task_connect.event;
+
+//one event for all bids rejected when acceptedBidId won, so acceptBid writes the same amount
+//no matter how many bidders there were; listeners look up the rejected bids themselves
+public record BidsRejectedEvent(Long taskId, Long acceptedBidId) implements DomainEvent {
+}
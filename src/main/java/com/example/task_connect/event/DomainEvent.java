@@ -0,0 +1,9 @@
+package com.example.task_connect.event;
+
+//events of the task/bid lifecycle that go through the outbox
+//the aggregate is the task the event belongs to, every payload is a plain record stored as JSON
+public sealed interface DomainEvent
+        permits TaskCreatedEvent, BidSubmittedEvent, BidAcceptedEvent, BidsRejectedEvent {
+
+    Long taskId();
+}
@@ -0,0 +1,54 @@
+package com.example.task_connect.event;
+
+import com.example.task_connect.model.OutboxEvent;
+import com.example.task_connect.repository.OutboxEventRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+//writes domain events into the outbox table as part of the caller's transaction,
+//so an event exists if and only if the change that raised it was committed
+@Component
+public class DomainEventOutbox {
+
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+
+    private static final Map<String, Class<?>> EVENT_TYPES = Arrays.stream(DomainEvent.class.getPermittedSubclasses())
+            .collect(Collectors.toUnmodifiableMap(Class::getSimpleName, Function.identity()));
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    public DomainEventOutbox(OutboxEventRepository outboxEventRepository) {
+        this.outboxEventRepository = outboxEventRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(DomainEvent event) {
+        outboxEventRepository.save(toOutboxEvent(event));
+    }
+
+    //the rows are inserted with the rest of the flush as one JDBC batch
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(List<? extends DomainEvent> events) {
+        outboxEventRepository.saveAll(events.stream().map(DomainEventOutbox::toOutboxEvent).toList());
+    }
+
+    static OutboxEvent toOutboxEvent(DomainEvent event) {
+        return new OutboxEvent(event.getClass().getSimpleName(), event.taskId(), JSON.writeValueAsString(event));
+    }
+
+    static DomainEvent toDomainEvent(OutboxEvent outboxEvent) {
+        Class<?> type = EVENT_TYPES.get(outboxEvent.getEventType());
+        if (type == null) {
+            throw new IllegalStateException("Unknown outbox event type: " + outboxEvent.getEventType());
+        }
+        return (DomainEvent) JSON.readValue(outboxEvent.getPayload(), type);
+    }
+}
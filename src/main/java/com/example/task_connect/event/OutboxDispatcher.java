@@ -0,0 +1,97 @@
+package com.example.task_connect.event;
+
+import com.example.task_connect.model.OutboxEvent;
+import com.example.task_connect.model.enums.OutboxStatus;
+import com.example.task_connect.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+//polls the outbox and hands pending events, oldest (created_at) first, to the @EventListener methods of the application.
+//each batch is claimed with SKIP LOCKED and marked in one transaction, so delivery is at-least-once:
+//listeners must be idempotent, and ones that write to the database use their own transaction
+//so a failing listener cannot roll back the rest of the batch
+@Component
+@ConditionalOnProperty(name = "taskconnect.outbox.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final int retentionDays;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${taskconnect.outbox.batch-size:100}") int batchSize,
+                            @Value("${taskconnect.outbox.max-attempts:5}") int maxAttempts,
+                            @Value("${taskconnect.outbox.retention-days:7}") int retentionDays,
+                            @Value("${taskconnect.outbox.retry-backoff:1s}") Duration retryBackoff,
+                            @Value("${taskconnect.outbox.max-retry-backoff:5m}") Duration maxRetryBackoff) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retentionDays = retentionDays;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+    }
+
+    //keeps draining while whole batches come back full and delivered, then waits for the next poll.
+    //a batch with a failure ends the loop, so a listener that is down is not called again and again
+    @Scheduled(fixedDelayString = "${taskconnect.outbox.poll-interval-ms:500}")
+    public void poll() {
+        Integer delivered;
+        do {
+            delivered = transactionTemplate.execute(status -> dispatchBatch());
+        } while (delivered != null && delivered == batchSize);
+    }
+
+    //returns how many of the claimed events were delivered
+    int dispatchBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.findBatchForDispatch(OutboxStatus.PENDING,
+                LocalDateTime.now(), Limit.of(batchSize));
+        int delivered = 0;
+        for (OutboxEvent outboxEvent : batch) {
+            try {
+                eventPublisher.publishEvent(DomainEventOutbox.toDomainEvent(outboxEvent));
+                outboxEvent.markDispatched();
+                delivered++;
+            } catch (RuntimeException e) {
+                outboxEvent.markAttemptFailed(e.toString(), maxAttempts, retryBackoff, maxRetryBackoff);
+                log.warn("Outbox event {} ({}) failed on attempt {}: {}", outboxEvent.getId(),
+                        outboxEvent.getEventType(), outboxEvent.getAttempts(), e.toString());
+            }
+        }
+        return delivered;
+    }
+
+    //dispatched events are only kept for troubleshooting, this keeps the table (and its index) small
+    @Scheduled(cron = "${taskconnect.outbox.purge-cron:0 15 * * * *}")
+    public void purgeDispatched() {
+        LocalDateTime before = LocalDateTime.now().minusDays(retentionDays);
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteByStatusAndDispatchedAtBefore(OutboxStatus.DISPATCHED, before));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} dispatched outbox events older than {} days", deleted, retentionDays);
+        }
+    }
+}
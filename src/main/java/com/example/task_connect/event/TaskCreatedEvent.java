@@ -0,0 +1,4 @@
+package com.example.task_connect.event;
+
+public record TaskCreatedEvent(Long taskId, Long requesterId, Long categoryId) implements DomainEvent {
+}
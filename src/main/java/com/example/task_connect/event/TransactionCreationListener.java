@@ -0,0 +1,35 @@
+package com.example.task_connect.event;
+
+import com.example.task_connect.model.Transaction;
+import com.example.task_connect.repository.TaskRepository;
+import com.example.task_connect.repository.TransactionRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+//opens the PENDING payment transaction for an assigned task, outside of the acceptBid request
+@Component
+public class TransactionCreationListener {
+
+    private final TransactionRepository transactionRepository;
+    private final TaskRepository taskRepository;
+
+    public TransactionCreationListener(TransactionRepository transactionRepository, TaskRepository taskRepository) {
+        this.transactionRepository = transactionRepository;
+        this.taskRepository = taskRepository;
+    }
+
+    //idempotent, a redelivered event finds the transaction already there
+    @EventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onBidAccepted(BidAcceptedEvent event) {
+        if (transactionRepository.existsByTaskId(event.taskId())) {
+            return;
+        }
+        Transaction transaction = new Transaction();
+        transaction.setAmount(event.amount());
+        transaction.setTask(taskRepository.getReferenceById(event.taskId()));
+        transactionRepository.save(transaction);
+    }
+}
@@ -1,7 +1,12 @@
 package com.example.task_connect.exception;
 
+import jakarta.persistence.OptimisticLockException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -18,6 +23,56 @@ public class GlobalExceptionHandler {
         return createErrorResponse(HttpStatus.CONFLICT, e.getMessage(), request);
     }
 
+    //handle concurrent modifications that are still conflicting after the service retries
+    @ExceptionHandler({OptimisticLockingFailureException.class, OptimisticLockException.class})
+    public ResponseEntity<ErrorResponse> handleOptimisticLock(RuntimeException e, WebRequest request) {
+        return createErrorResponse(HttpStatus.CONFLICT,
+                "The resource was modified by another request. Please reload and try again.", request);
+    }
+
+    //handle clients over their request budget (RateLimitFilter)
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceeded(RateLimitExceededException e, WebRequest request) {
+        ResponseEntity<ErrorResponse> response = createErrorResponse(HttpStatus.TOO_MANY_REQUESTS, e.getMessage(), request);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+
+    //handle a retry that arrives while the first request with the same Idempotency-Key is still running
+    @ExceptionHandler(RequestInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleRequestInProgress(RequestInProgressException e, WebRequest request) {
+        ResponseEntity<ErrorResponse> response = createErrorResponse(HttpStatus.CONFLICT, e.getMessage(), request);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response.getBody());
+    }
+
+    //handle an Idempotency-Key sent again with a different request
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyReused(IdempotencyKeyReusedException e, WebRequest request) {
+        return createErrorResponse(HttpStatus.UNPROCESSABLE_CONTENT, e.getMessage(), request);
+    }
+
+    //handle requests that could not get a database connection in time (admission layer or pool timeout)
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ErrorResponse> handleDatabaseUnavailable(RuntimeException e, WebRequest request) {
+        ResponseEntity<ErrorResponse> response = createErrorResponse(HttpStatus.SERVICE_UNAVAILABLE,
+                "The service is busy. Please retry shortly.", request);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response.getBody());
+    }
+
+    //handle bid streams refused because the instance already holds the maximum number of open streams
+    @ExceptionHandler(StreamLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleStreamLimitExceeded(StreamLimitExceededException e, WebRequest request) {
+        ResponseEntity<ErrorResponse> response = createErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), request);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(response.getBody());
+    }
+
     //handle user not found, resource not found
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleResourceNotFound(ResourceNotFoundException e, WebRequest request) {
@@ -0,0 +1,7 @@
+package com.example.task_connect.exception;
+
+public class StreamLimitExceededException extends RuntimeException {
+    public StreamLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.task_connect.idempotency;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.util.List;
+
+//only in a servlet application: the in-process benchmarks start the context without a web server
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class IdempotencyConfig {
+
+    //task creation and bid submission, the requests mobile clients retry on flaky networks
+    private static final List<String> IDEMPOTENT_PATHS = List.of("/api/tasks", "/api/tasks/{taskId}/bids");
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            IdempotencyStore store,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver) {
+        FilterRegistrationBean<IdempotencyFilter> registration =
+                new FilterRegistrationBean<>(new IdempotencyFilter(store, exceptionResolver, IDEMPOTENT_PATHS));
+        registration.addUrlPatterns("/api/tasks", "/api/tasks/*");
+        //inside the SQL statement counter, so the statements of the reservation are counted too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.task_connect.idempotency;
+
+import com.example.task_connect.exception.IdempotencyKeyReusedException;
+import com.example.task_connect.exception.RequestInProgressException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+//honours the Idempotency-Key header on the POST endpoints that create rows: the first request with a key
+//runs normally and its successful response is stored, a retry with the same key, body and Accept header gets that
+//response back (marked with Idempotent-Replayed) without running again
+//failed requests are not stored, so a retry after an error or a 409 conflict runs the request again
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyStore store;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final List<PathPattern> paths;
+
+    public IdempotencyFilter(IdempotencyStore store, HandlerExceptionResolver exceptionResolver, List<String> paths) {
+        this.store = store;
+        this.exceptionResolver = exceptionResolver;
+        this.paths = paths.stream().map(PathPatternParser.defaultInstance::parse).toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod()) || request.getHeader(HEADER) == null) {
+            return true;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        return paths.stream().noneMatch(pattern -> pattern.matches(path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            reject(request, response, new IllegalArgumentException(
+                    HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters"));
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String fingerprint = fingerprint(request, cachedRequest.body());
+
+        switch (store.reserve(key, fingerprint)) {
+            case Reservation.Completed completed -> replay(completed.response(), response);
+            case Reservation.InProgress inProgress -> reject(request, response, new RequestInProgressException(
+                    "A request with this " + HEADER + " is still being processed. Please retry shortly."));
+            case Reservation.KeyReused reused -> reject(request, response, new IdempotencyKeyReusedException(
+                    "This " + HEADER + " was already used for a different request."));
+            case Reservation.Acquired acquired -> proceed(key, fingerprint, cachedRequest, response, chain);
+        }
+    }
+
+    private void proceed(String key, String fingerprint, CachedBodyRequest request, HttpServletResponse response,
+                         FilterChain chain) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(request, wrapper);
+            int status = wrapper.getStatus();
+            if (status >= 200 && status < 300) {
+                store.complete(key, fingerprint, status, wrapper.getContentType(), wrapper.getContentAsByteArray());
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.release(key);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        byte[] body = stored.body() != null ? stored.body() : new byte[0];
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    //answered by GlobalExceptionHandler, like errors thrown inside the controllers
+    private void reject(HttpServletRequest request, HttpServletResponse response, Exception e) {
+        exceptionResolver.resolveException(request, response, null, e);
+    }
+
+    //the Accept header is part of it: the stored response is in one representation (JSON or CBOR),
+    //a retry that asks for another must not get it back
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + " " + request.getRequestURI() + "\n").getBytes(StandardCharsets.UTF_8));
+            String accept = request.getHeader(HttpHeaders.ACCEPT);
+            digest.update(((accept != null ? accept : "") + "\n").getBytes(StandardCharsets.UTF_8));
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
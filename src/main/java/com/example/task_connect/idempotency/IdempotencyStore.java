@@ -0,0 +1,118 @@
+package com.example.task_connect.idempotency;
+
+import com.example.task_connect.model.IdempotencyRecord;
+import com.example.task_connect.model.enums.IdempotencyStatus;
+import com.example.task_connect.repository.IdempotencyRecordRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+//two tiers: completed responses are kept in a bounded in-memory cache with a TTL, so the usual retry
+//of a request this instance just served is answered without touching the database; the
+//idempotency_records table is the source of truth shared by all instances and also holds the
+//IN_PROGRESS reservations that stop two copies of a request from running at the same time
+@Component
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final IdempotencyRecordRepository repository;
+    private final Cache<String, StoredResponse> completed;
+    private final Duration ttl;
+    private final Duration inProgressTimeout;
+
+    public IdempotencyStore(IdempotencyRecordRepository repository,
+                            @Value("${taskconnect.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${taskconnect.idempotency.cache-size:10000}") long cacheSize,
+                            @Value("${taskconnect.idempotency.in-progress-timeout:1m}") Duration inProgressTimeout) {
+        this.repository = repository;
+        this.ttl = ttl;
+        this.inProgressTimeout = inProgressTimeout;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public Reservation reserve(String key, String fingerprint) {
+        StoredResponse cached = completed.getIfPresent(key);
+        if (cached != null) {
+            return cached.fingerprint().equals(fingerprint)
+                    ? new Reservation.Completed(cached)
+                    : new Reservation.KeyReused();
+        }
+
+        if (tryInsert(key, fingerprint)) {
+            return new Reservation.Acquired();
+        }
+        Optional<IdempotencyRecord> existing = repository.findById(key);
+        if (existing.isEmpty()) {
+            //released between our insert and the read, the key is free again
+            return tryInsert(key, fingerprint) ? new Reservation.Acquired() : new Reservation.InProgress();
+        }
+
+        IdempotencyRecord record = existing.get();
+        if (!record.getFingerprint().equals(fingerprint)) {
+            return new Reservation.KeyReused();
+        }
+        if (record.getStatus() == IdempotencyStatus.COMPLETED) {
+            StoredResponse response = toStoredResponse(record);
+            completed.put(key, response);
+            return new Reservation.Completed(response);
+        }
+
+        //a reservation older than the timeout belongs to a request whose instance died: take it over
+        LocalDateTime abandonedBefore = LocalDateTime.now().minus(inProgressTimeout);
+        if (repository.deleteReservation(key, IdempotencyStatus.IN_PROGRESS, abandonedBefore) == 1
+                && tryInsert(key, fingerprint)) {
+            return new Reservation.Acquired();
+        }
+        return new Reservation.InProgress();
+    }
+
+    public void complete(String key, String fingerprint, int status, String contentType, byte[] body) {
+        if (repository.complete(key, fingerprint, status, contentType, body,
+                IdempotencyStatus.IN_PROGRESS, IdempotencyStatus.COMPLETED) == 1) {
+            completed.put(key, new StoredResponse(fingerprint, status, contentType, body));
+        } else {
+            log.warn("Idempotency key {} was taken over before its response could be stored", key);
+        }
+    }
+
+    //the request failed, a retry with the same key must run it again
+    public void release(String key) {
+        repository.deleteReservation(key, IdempotencyStatus.IN_PROGRESS, LocalDateTime.now().plusSeconds(1));
+    }
+
+    @Scheduled(cron = "${taskconnect.idempotency.purge-cron:0 15 * * * *}")
+    public void purgeExpired() {
+        int deleted = repository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency records", deleted);
+        }
+    }
+
+    //the insert is the lock: the primary key lets only one request reserve a key
+    private boolean tryInsert(String key, String fingerprint) {
+        try {
+            repository.saveAndFlush(new IdempotencyRecord(key, fingerprint, LocalDateTime.now().plus(ttl)));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    private static StoredResponse toStoredResponse(IdempotencyRecord record) {
+        return new StoredResponse(record.getFingerprint(), record.getResponseStatus(),
+                record.getContentType(), record.getResponseBody());
+    }
+}
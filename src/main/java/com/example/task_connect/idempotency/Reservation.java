@@ -0,0 +1,17 @@
+package com.example.task_connect.idempotency;
+
+//what IdempotencyStore.reserve found for a key
+sealed interface Reservation {
+
+    //the key is new (or its old reservation was abandoned): run the request and complete or release it
+    record Acquired() implements Reservation {}
+
+    //the request already ran: send its response again
+    record Completed(StoredResponse response) implements Reservation {}
+
+    //the first request with the key has not finished yet
+    record InProgress() implements Reservation {}
+
+    //the key was used for a different request
+    record KeyReused() implements Reservation {}
+}
@@ -0,0 +1,4 @@
+package com.example.task_connect.idempotency;
+
+//a completed response kept for replay, with the fingerprint of the request that produced it
+record StoredResponse(String fingerprint, int status, String contentType, byte[] body) {}
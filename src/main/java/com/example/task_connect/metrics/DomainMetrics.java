@@ -0,0 +1,95 @@
+package com.example.task_connect.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+//counters for business outcomes that are not errors from the server's point of view,
+//but tell us how users hit the rules (rejected bids, duplicate sign-ups) or how healthy derived data is
+@Component
+public class DomainMetrics {
+
+    private final Counter bidsRejectedTaskNotOpen;
+    private final Counter selfBidAttempts;
+    private final Counter duplicateEmailRegistrations;
+    private final Counter ratingDrift;
+    private final Counter categoryStatsDrift;
+    private final Counter emailLookupsSkipped;
+    private final Counter emailFilterFalsePositives;
+    private final Counter usersImported;
+    private final Counter userImportRowsRejected;
+
+    public DomainMetrics(MeterRegistry registry) {
+        this.bidsRejectedTaskNotOpen = Counter.builder("taskconnect.bids.rejected")
+                .description("Bids refused by the bidding rules")
+                .tag("reason", "task_not_open")
+                .register(registry);
+        this.selfBidAttempts = Counter.builder("taskconnect.bids.rejected")
+                .description("Bids refused by the bidding rules")
+                .tag("reason", "self_bid")
+                .register(registry);
+        this.duplicateEmailRegistrations = Counter.builder("taskconnect.users.duplicate_email")
+                .description("Registrations refused because the email is already used")
+                .register(registry);
+        //skipped / (skipped + false positives + duplicates) is the share of sign-ups the email filter saves a SELECT
+        this.emailLookupsSkipped = Counter.builder("taskconnect.users.email_filter")
+                .description("Registration email checks answered by the in-memory email filter")
+                .tag("outcome", "lookup_skipped")
+                .register(registry);
+        this.emailFilterFalsePositives = Counter.builder("taskconnect.users.email_filter")
+                .description("Registration email checks answered by the in-memory email filter")
+                .tag("outcome", "false_positive")
+                .register(registry);
+        this.ratingDrift = Counter.builder("taskconnect.ratings.drift")
+                .description("Profile rating totals found out of sync with the reviews and repaired")
+                .register(registry);
+        this.categoryStatsDrift = Counter.builder("taskconnect.categories.stats.drift")
+                .description("Category task counters or budget statistics found out of sync with the tasks and repaired")
+                .register(registry);
+        //grows chunk by chunk while an import runs, so it doubles as its progress
+        this.usersImported = Counter.builder("taskconnect.users.import.rows")
+                .description("Rows of bulk user imports")
+                .tag("outcome", "imported")
+                .register(registry);
+        this.userImportRowsRejected = Counter.builder("taskconnect.users.import.rows")
+                .description("Rows of bulk user imports")
+                .tag("outcome", "rejected")
+                .register(registry);
+    }
+
+    public void bidRejectedTaskNotOpen() {
+        bidsRejectedTaskNotOpen.increment();
+    }
+
+    public void selfBidAttempt() {
+        selfBidAttempts.increment();
+    }
+
+    public void duplicateEmail() {
+        duplicateEmailRegistrations.increment();
+    }
+
+    public void emailLookupSkipped() {
+        emailLookupsSkipped.increment();
+    }
+
+    public void emailFilterFalsePositive() {
+        emailFilterFalsePositives.increment();
+    }
+
+    public void ratingDrift(int profiles) {
+        ratingDrift.increment(profiles);
+    }
+
+    public void categoryStatsDrift(int categories) {
+        categoryStatsDrift.increment(categories);
+    }
+
+    public void usersImported(int rows) {
+        usersImported.increment(rows);
+    }
+
+    public void userImportRowRejected() {
+        userImportRowsRejected.increment();
+    }
+}
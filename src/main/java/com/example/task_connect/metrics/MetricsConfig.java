@@ -0,0 +1,39 @@
+package com.example.task_connect.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class MetricsConfig {
+
+    //makes @Timed on the services work without depending on management.observations.annotations.enabled
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer(SqlStatementCounter counter) {
+        return properties -> properties.put("hibernate.session_factory.statement_inspector", counter);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementCountFilter> sqlStatementCountFilter(SqlStatementCounter counter,
+                                                                                   MeterRegistry registry) {
+        FilterRegistrationBean<SqlStatementCountFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatementCountFilter(counter, registry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
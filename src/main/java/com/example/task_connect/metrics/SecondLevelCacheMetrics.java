@@ -0,0 +1,37 @@
+package com.example.task_connect.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+
+import javax.cache.CacheManager;
+
+//publishes the second-level cache regions (categories, profiles) as the standard cache.gets/puts/evictions meters,
+//tagged with the region name, so the hit ratio that justifies each region can be watched.
+//the counts are the JCache statistics of each region (monitoring.statistics in hibernate-cache.conf);
+//with the second-level cache turned off there is no region to bind
+@Component
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache().getRegionFactory()
+                instanceof JCacheRegionFactory regionFactory)) {
+            return;
+        }
+        CacheManager cacheManager = regionFactory.getCacheManager();
+        for (String region : cacheManager.getCacheNames()) {
+            JCacheMetrics.monitor(registry, cacheManager.getCache(region));
+        }
+    }
+}
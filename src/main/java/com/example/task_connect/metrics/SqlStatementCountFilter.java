@@ -0,0 +1,46 @@
+package com.example.task_connect.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+//records how many SQL statements each request issued, per endpoint
+//a jump in this number after a change is usually an N+1 query that slipped in
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    private final SqlStatementCounter counter;
+    //built once; each request only looks up the summary of its method and uri
+    private final Meter.MeterProvider<DistributionSummary> statements;
+
+    public SqlStatementCountFilter(SqlStatementCounter counter, MeterRegistry registry) {
+        this.counter = counter;
+        this.statements = DistributionSummary.builder("taskconnect.http.sql.statements")
+                .description("SQL statements prepared while serving one request")
+                .baseUnit("statements")
+                .publishPercentileHistogram()
+                .withRegistry(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        counter.reset();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            //the route template ("/api/tasks/{taskId}/bids"), not the raw path, keeps the tag count bounded
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            statements.withTags("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .record(counter.current());
+            counter.clear();
+        }
+    }
+}
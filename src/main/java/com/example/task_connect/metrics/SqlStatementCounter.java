@@ -0,0 +1,28 @@
+package com.example.task_connect.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+//counts the SQL statements Hibernate prepares on the current thread
+//registered as Hibernate's statement inspector; it only counts and never changes the SQL
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    public void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public int current() {
+        return COUNT.get()[0];
+    }
+
+    public void clear() {
+        COUNT.remove();
+    }
+}
@@ -1,7 +1,11 @@
 package com.example.task_connect.model;
 
+import com.example.task_connect.search.AddressLocationListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.Hibernate;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
@@ -10,10 +14,12 @@ import java.util.List;
 
 @Entity
 @Table(name = "addresses")
+@EntityListeners(AddressLocationListener.class)
 public class Address {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "addresses_seq")
+    @SequenceGenerator(name = "addresses_seq", sequenceName = "addresses_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Street is required")
@@ -30,6 +36,15 @@ public class Address {
     @Column(name = "zip_code", length = 20)
     private String zipCode;
 
+    //WGS84 coordinates, optional: an address without them is simply not found by nearby search
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+
 
     // ---RELATIONSHIPS---
 
@@ -56,10 +71,17 @@ public class Address {
     public String getZipCode() { return zipCode; }
     public void setZipCode(String zipCode) { this.zipCode = zipCode; }
 
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
     public User getUser() { return user; }
     public void setUser(User user) {
         this.user = user;
-        if(user != null && !user.getAddresses().contains(this)){
+        if(user != null && Hibernate.isInitialized(user) && Hibernate.isInitialized(user.getAddresses())
+                && !user.getAddresses().contains(this)){
             user.getAddresses().add(this);
         }
     }
@@ -3,6 +3,7 @@ package com.example.task_connect.model;
 import com.example.task_connect.model.enums.BidStatus;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.Hibernate;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -10,11 +11,16 @@ import jakarta.validation.constraints.Size;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "bids")
+@Table(name = "bids", indexes = {
+        //keyset pages of a task's bids ordered by amount
+        @Index(name = "idx_bids_task_amount", columnList = "task_id, amount, id")
+})
 public class Bid {
 
+    //pooled sequence instead of IDENTITY: ids are known before the INSERT, so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bids_seq")
+    @SequenceGenerator(name = "bids_seq", sequenceName = "bids_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Amount is required")
@@ -30,6 +36,9 @@ public class Bid {
     @Column(name = "status", nullable = false)
     private BidStatus status =  BidStatus.PENDING;
 
+    @Version
+    private Long version;
+
 
     // ---RELATIONSHIPS---
 
@@ -58,10 +67,15 @@ public class Bid {
 
     public  BidStatus getStatus() { return status; }
 
+    public Long getVersion() { return version; }
+
+    //the inverse side is only kept in sync when it is already in memory:
+    //initializing a lazy bids collection just to add one element would load every bid of the task/tasker
     public Task getTask() { return task; }
     public void setTask(Task task) {
         this.task = task;
-        if(task != null && !task.getBids().contains(this)) {
+        if(task != null && Hibernate.isInitialized(task) && Hibernate.isInitialized(task.getBids())
+                && !task.getBids().contains(this)) {
             task.getBids().add(this);
         }
     }
@@ -69,7 +83,8 @@ public class Bid {
     public User getTasker() { return tasker; }
     public void setTasker(User tasker) {
         this.tasker = tasker;
-        if(tasker != null && !tasker.getBids().contains(this)) {
+        if(tasker != null && Hibernate.isInitialized(tasker) && Hibernate.isInitialized(tasker.getBids())
+                && !tasker.getBids().contains(this)) {
             tasker.getBids().add(this);
         }
     }
@@ -79,11 +94,18 @@ public class Bid {
 
     //change bid status
     public void updateStatus(BidStatus newStatus) {
+        validateTransition(this.status, newStatus);
+        this.status = newStatus;
+    }
+
+    //the bid state machine, shared with set-based updates in BidRepository
+    //so a bulk status change follows exactly the same rules as updateStatus
+    public static void validateTransition(BidStatus currentStatus, BidStatus newStatus) {
         if(newStatus == null) {
             throw new IllegalArgumentException("New status cannot be null");
         }
 
-        switch(this.status) {
+        switch(currentStatus) {
             case PENDING:
                 //from PENDING, a bid can move to any other state
                 //(accepted by requester, rejected by requester, or cancelled by tasker)
@@ -102,13 +124,11 @@ public class Bid {
             case REJECTED:
             case CANCELLED:
                 //terminal states
-                throw new IllegalStateException("Cannot change status of a " + this.status + " bid.");
+                throw new IllegalStateException("Cannot change status of a " + currentStatus + " bid.");
 
             default:
-                throw new IllegalStateException("Unknown bid status: " + this.status);
+                throw new IllegalStateException("Unknown bid status: " + currentStatus);
         }
-
-        this.status = newStatus;
     }
 
 }
@@ -0,0 +1,102 @@
+package com.example.task_connect.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+//running task counters and budget statistics of one category, kept up to date by CategoryStatsUpdater with atomic
+//UPDATEs instead of counting the category's tasks. every category has SLOTS rows and each write picks one at random,
+//so tasks of the same busy category rarely wait on the same row lock; readers add the slots up.
+//the budget statistics cover every task posted in the category (budgets never change after posting),
+//which is why min and max can be kept incrementally
+@Entity
+@Table(name = "category_stats")
+@IdClass(CategoryStats.Key.class)
+public class CategoryStats {
+    public static final int SLOTS = 8;
+
+    @Id
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Id
+    private int slot;
+
+    @Column(name = "open_count", nullable = false)
+    private long openCount;
+
+    @Column(name = "assigned_count", nullable = false)
+    private long assignedCount;
+
+    //tasks posted with a budget, the denominator of the average
+    @Column(name = "budget_count", nullable = false)
+    private long budgetCount;
+
+    @Column(name = "budget_sum", nullable = false, precision = 19, scale = 2)
+    private BigDecimal budgetSum = BigDecimal.ZERO;
+
+    @Column(name = "budget_min", precision = 10, scale = 2)
+    private BigDecimal budgetMin;
+
+    @Column(name = "budget_max", precision = 10, scale = 2)
+    private BigDecimal budgetMax;
+
+    protected CategoryStats() {}
+
+    public CategoryStats(Long categoryId, int slot) {
+        this.categoryId = categoryId;
+        this.slot = slot;
+    }
+
+    // ---GETTERS---
+
+    public Long getCategoryId() { return categoryId; }
+    public int getSlot() { return slot; }
+    public long getOpenCount() { return openCount; }
+    public long getAssignedCount() { return assignedCount; }
+    public long getBudgetCount() { return budgetCount; }
+    public BigDecimal getBudgetSum() { return budgetSum; }
+    public BigDecimal getBudgetMin() { return budgetMin; }
+    public BigDecimal getBudgetMax() { return budgetMax; }
+
+    // ---METHODS---
+
+    //only used by the reconciliation, which holds the locks of all the category's slots
+    public void overwrite(long openCount, long assignedCount, long budgetCount, BigDecimal budgetSum,
+                          BigDecimal budgetMin, BigDecimal budgetMax) {
+        this.openCount = openCount;
+        this.assignedCount = assignedCount;
+        this.budgetCount = budgetCount;
+        this.budgetSum = budgetSum;
+        this.budgetMin = budgetMin;
+        this.budgetMax = budgetMax;
+    }
+
+    public void clear() {
+        overwrite(0, 0, 0, BigDecimal.ZERO, null, null);
+    }
+
+    public static class Key implements Serializable {
+        private Long categoryId;
+        private int slot;
+
+        protected Key() {}
+
+        public Key(Long categoryId, int slot) {
+            this.categoryId = categoryId;
+            this.slot = slot;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && slot == other.slot && Objects.equals(categoryId, other.categoryId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(categoryId, slot);
+        }
+    }
+}
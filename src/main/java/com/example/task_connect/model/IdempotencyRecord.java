@@ -0,0 +1,79 @@
+package com.example.task_connect.model;
+
+import com.example.task_connect.model.enums.IdempotencyStatus;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+//the outcome of a request sent with an Idempotency-Key header, kept so a retry of the same request
+//gets the original response back instead of creating a second task or bid
+//the row is inserted IN_PROGRESS before the request runs; the primary key makes that insert the lock
+@Entity
+@Table(name = "idempotency_records", indexes = {
+        //the purge job removes expired records
+        @Index(name = "idx_idempotency_expires_at", columnList = "expires_at")
+})
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key", length = 100)
+    private String key;
+
+    //hash of method, path, Accept header and body: the same key sent with a different request is refused
+    @Column(nullable = false, length = 64, updatable = false)
+    private String fingerprint;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private IdempotencyStatus status = IdempotencyStatus.IN_PROGRESS;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    //the bytes exactly as they were sent: JSON or CBOR, which is not valid text
+    @Lob
+    @Column(name = "response_body")
+    private byte[] responseBody;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    //also tells Spring Data that a record without a version is new, so save() persists it
+    //(a plain INSERT that fails on a duplicate key) instead of merging over an existing row
+    @Version
+    private Long version;
+
+    protected IdempotencyRecord() {
+    }
+
+    public IdempotencyRecord(String key, String fingerprint, LocalDateTime expiresAt) {
+        this.key = key;
+        this.fingerprint = fingerprint;
+        this.expiresAt = expiresAt;
+    }
+
+
+    // ---GETTERS---
+
+    public String getKey() { return key; }
+
+    public String getFingerprint() { return fingerprint; }
+
+    public IdempotencyStatus getStatus() { return status; }
+
+    public Integer getResponseStatus() { return responseStatus; }
+
+    public String getContentType() { return contentType; }
+
+    public byte[] getResponseBody() { return responseBody; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+}
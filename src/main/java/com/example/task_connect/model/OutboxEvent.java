@@ -0,0 +1,111 @@
+package com.example.task_connect.model;
+
+import com.example.task_connect.model.enums.OutboxStatus;
+import jakarta.persistence.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+//a domain event stored in the same transaction as the change that caused it,
+//picked up later by OutboxDispatcher and handed to the in-process listeners
+@Entity
+@Table(name = "outbox_events", indexes = {
+        //the dispatcher seeks the oldest PENDING rows, the purge job finds old DISPATCHED ones.
+        //next_attempt_at is checked on the rows the seek reads: only events that failed recently are skipped
+        @Index(name = "idx_outbox_status_created", columnList = "status, created_at, id")
+})
+public class OutboxEvent {
+
+    //pooled, so the events of a batch bid submission are inserted in one JDBC batch. every instance hands out
+    //ids from its own block, so ids are not in creation order across instances: the dispatcher orders by created_at
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "event_type", nullable = false, length = 100, updatable = false)
+    private String eventType;
+
+    @Column(name = "aggregate_id", nullable = false, updatable = false)
+    private Long aggregateId;
+
+    @Column(nullable = false, length = 2000, updatable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+
+    //set by a failed attempt, the dispatcher leaves the event alone until then; null means due right away
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    protected OutboxEvent() {
+    }
+
+    public OutboxEvent(String eventType, Long aggregateId, String payload) {
+        this.eventType = eventType;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+    }
+
+
+    // ---GETTERS---
+
+    public Long getId() { return id; }
+
+    public String getEventType() { return eventType; }
+
+    public Long getAggregateId() { return aggregateId; }
+
+    public String getPayload() { return payload; }
+
+    public OutboxStatus getStatus() { return status; }
+
+    public int getAttempts() { return attempts; }
+
+    public String getLastError() { return lastError; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getDispatchedAt() { return dispatchedAt; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+
+
+    // ---METHODS---
+
+    public void markDispatched() {
+        this.attempts++;
+        this.status = OutboxStatus.DISPATCHED;
+        this.dispatchedAt = LocalDateTime.now();
+        this.lastError = null;
+        this.nextAttemptAt = null;
+    }
+
+    //the event stays PENDING until maxAttempts is reached. each failure doubles the wait before the next attempt
+    //(backoff, 2 x backoff, 4 x backoff, ... at most maxBackoff), so a listener that is down is not retried on every poll
+    public void markAttemptFailed(String error, int maxAttempts, Duration backoff, Duration maxBackoff) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+        if (this.attempts >= maxAttempts) {
+            this.status = OutboxStatus.FAILED;
+            this.nextAttemptAt = null;
+            return;
+        }
+        Duration delay = backoff.multipliedBy(1L << Math.min(this.attempts - 1, 30));
+        this.nextAttemptAt = LocalDateTime.now().plus(delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay);
+    }
+}
@@ -4,11 +4,14 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 
 @Entity
 @Table(name = "profiles")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "profiles")
 public class Profile {
 
     @Id
@@ -33,6 +36,20 @@ public class Profile {
     @Column(name = "requester_rating", precision = 3, scale = 2)
     private BigDecimal requesterRating = BigDecimal.ZERO;
 
+    //running totals behind the two averages, so a new review updates them in O(1)
+    //they are only changed by the atomic UPDATEs in ProfileRepository, never through the entity
+    @Column(name = "tasker_rating_sum", nullable = false)
+    private long taskerRatingSum;
+
+    @Column(name = "tasker_rating_count", nullable = false)
+    private long taskerRatingCount;
+
+    @Column(name = "requester_rating_sum", nullable = false)
+    private long requesterRatingSum;
+
+    @Column(name = "requester_rating_count", nullable = false)
+    private long requesterRatingCount;
+
 
     // ---RELATIONSHIPS---
 
@@ -66,6 +83,12 @@ public class Profile {
         this.requesterRating = validateRating(newAverage);
     }
 
+    public long getTaskerRatingSum() { return taskerRatingSum; }
+    public long getTaskerRatingCount() { return taskerRatingCount; }
+
+    public long getRequesterRatingSum() { return requesterRatingSum; }
+    public long getRequesterRatingCount() { return requesterRatingCount; }
+
     public User getUser() { return user; }
     public void setUser(User user) {
         this.user = user;
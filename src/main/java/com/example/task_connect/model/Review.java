@@ -1,13 +1,16 @@
 package com.example.task_connect.model;
 
 import jakarta.persistence.*;
+import org.hibernate.Hibernate;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews",
+        uniqueConstraints = @UniqueConstraint(name = "uk_reviews_task_reviewer", columnNames = {"task_id", "reviewer_id"}),
+        indexes = @Index(name = "idx_reviews_reviewed", columnList = "reviewed_id, rating"))
 public class Review {
 
     @Id
@@ -53,10 +56,13 @@ public class Review {
     public String getComments() { return comments; }
     public void setComments(String comments) { this.comments = comments; }
 
+    //the inverse collections are only kept in sync when they are already loaded,
+    //so attaching a review to a reference proxy does not load every review of that user or task
     public Task getTask() { return task; }
     public void setTask(Task task) {
         this.task = task;
-        if(task != null && !task.getReviews().contains(this)) {
+        if(task != null && Hibernate.isInitialized(task) && Hibernate.isInitialized(task.getReviews())
+                && !task.getReviews().contains(this)) {
             task.getReviews().add(this);
         }
     }
@@ -64,7 +70,8 @@ public class Review {
     public User getReviewer() { return reviewer; }
     public void setReviewer(User reviewer) {
         this.reviewer = reviewer;
-        if(reviewer != null && !reviewer.getReviewsGiven().contains(this)) {
+        if(reviewer != null && Hibernate.isInitialized(reviewer) && Hibernate.isInitialized(reviewer.getReviewsGiven())
+                && !reviewer.getReviewsGiven().contains(this)) {
             reviewer.getReviewsGiven().add(this);
         }
     }
@@ -72,7 +79,8 @@ public class Review {
     public User getReviewed() { return reviewed; }
     public void setReviewed(User reviewed) {
         this.reviewed = reviewed;
-        if(reviewed != null && !reviewed.getReviewsReceived().contains(this)) {
+        if(reviewed != null && Hibernate.isInitialized(reviewed) && Hibernate.isInitialized(reviewed.getReviewsReceived())
+                && !reviewed.getReviewsReceived().contains(this)) {
             reviewed.getReviewsReceived().add(this);
         }
     }
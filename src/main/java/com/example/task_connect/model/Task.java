@@ -1,9 +1,14 @@
 package com.example.task_connect.model;
 
 import com.example.task_connect.model.enums.TaskStatus;
+import com.example.task_connect.search.TaskSearchListener;
+import com.example.task_connect.stats.TaskStatusChanged;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.AfterDomainEventPublication;
+import org.springframework.data.domain.DomainEvents;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -14,9 +19,16 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        //covers the whole feed projection: seek on (status, id), filter on category/budget inside the index
+        @Index(name = "idx_tasks_feed", columnList = "status, id, category_id, budget, requester_id, title")
+})
+@EntityListeners(TaskSearchListener.class)
 public class Task {
 
+    //identity, not a pooled sequence like Bid: the feed is ordered by id as "newest first", and instances
+    //handing out ids from their own pre-allocated blocks would interleave them out of creation order.
+    //tasks are inserted one at a time, so there is no batch to lose
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -37,6 +49,10 @@ public class Task {
     @Column(nullable = false, length = 20)
     private TaskStatus status = TaskStatus.OPEN;
 
+    //optimistic lock: concurrent acceptBid/submitBid on the same task cannot both commit
+    @Version
+    private Long version;
+
 
     // ---RELATIONSHIPS---
 
@@ -74,6 +90,11 @@ public class Task {
     @OneToMany(mappedBy = "task", fetch = FetchType.LAZY)
     private List<Review> reviews = new ArrayList<>();
 
+    //status changes waiting for the next TaskRepository.save to publish them to the category stats
+    @Transient
+    @JsonIgnore
+    private final List<TaskStatusChanged> statusChanges = new ArrayList<>();
+
 
     // ---GETTERS AND SETTERS---
 
@@ -90,10 +111,15 @@ public class Task {
 
     public TaskStatus getStatus() { return status; }
 
+    public Long getVersion() { return version; }
+
+    //like Bid.setTask, these setters only sync inverse collections that are already loaded,
+    //so setting a reference proxy never triggers a SELECT
     public User getRequester() { return requester; }
     public void setRequester(User requester) {
         this.requester = requester;
-        if(requester != null && !requester.getRequestedTasks().contains(this)) {
+        if(requester != null && Hibernate.isInitialized(requester) && Hibernate.isInitialized(requester.getRequestedTasks())
+                && !requester.getRequestedTasks().contains(this)) {
             requester.addRequestedTask(this);
         }
     }
@@ -101,7 +127,8 @@ public class Task {
     public User getTasker() { return tasker; }
     public void setTasker(User tasker) {
         this.tasker = tasker;
-        if(tasker != null && !tasker.getAssignedTasks().contains(this)) {
+        if(tasker != null && Hibernate.isInitialized(tasker) && Hibernate.isInitialized(tasker.getAssignedTasks())
+                && !tasker.getAssignedTasks().contains(this)) {
             tasker.addAssignedTask(this);
         }
     }
@@ -109,7 +136,8 @@ public class Task {
     public Category getCategory() { return category; }
     public void setCategory(Category category) {
         this.category = category;
-        if(category != null && !category.getTasks().contains(this)) {
+        if(category != null && Hibernate.isInitialized(category) && Hibernate.isInitialized(category.getTasks())
+                && !category.getTasks().contains(this)) {
             category.addTask(this);
         }
     }
@@ -117,7 +145,8 @@ public class Task {
     public Address getAddress() { return address; }
     public void setAddress(Address address) {
         this.address = address;
-        if(address != null && !address.getTasksAtAddress().contains(this)){
+        if(address != null && Hibernate.isInitialized(address) && Hibernate.isInitialized(address.getTasksAtAddress())
+                && !address.getTasksAtAddress().contains(this)){
             address.addTask(this);
         }
     }
@@ -184,6 +213,7 @@ public class Task {
                 throw new IllegalStateException("Unknown task status " + this.status);
         }
 
+        statusChanges.add(new TaskStatusChanged(categoryId(), this.status, newStatus, budget));
         this.status = newStatus;
     }
 
@@ -192,4 +222,25 @@ public class Task {
         this.updateStatus(TaskStatus.CANCELLED);
     }
 
+    //a new task enters the category stats with its first save, persist runs inside it
+    @PrePersist
+    void recordCreation() {
+        statusChanges.add(new TaskStatusChanged(categoryId(), null, status, budget));
+    }
+
+    @DomainEvents
+    List<TaskStatusChanged> statusChanges() {
+        return List.copyOf(statusChanges);
+    }
+
+    @AfterDomainEventPublication
+    void clearStatusChanges() {
+        statusChanges.clear();
+    }
+
+    //reading the id of a category proxy does not load it
+    private Long categoryId() {
+        return category != null ? category.getId() : null;
+    }
+
 }
@@ -6,22 +6,28 @@ import jakarta.persistence.*;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+//the constraint is named so UserService can tell a duplicate email from any other integrity violation
+@Table(name = "users", uniqueConstraints = @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email"))
 public class User {
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
+    //pooled sequence like Bid, so a bulk import can batch the user, profile and address INSERTs
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Schema(description = "Unique email address for the user")
     @NotBlank(message = "Email is required")
     @Email(message = "Invalid email format")
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String email;
 
     @NotBlank(message = "Password is required")
@@ -31,6 +37,15 @@ public class User {
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt =  LocalDateTime.now();
 
+    //version of the user's API representation (profile and addresses included), the ETag of GET /api/users/{id}.
+    //profile ratings and addresses change without touching this row, so their writes bump it by hand.
+    //never null: Hibernate cannot increment a null version, and the default gives rows that existed before the
+    //column, or that an older release inserts without it, version 0
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
 
     // ---RELATIONSHIPS---
 
@@ -77,6 +92,8 @@ public class User {
 
     public LocalDateTime getCreatedAt() { return createdAt; }
 
+    public Long getVersion() { return version; }
+
     public Profile getProfile() { return profile; }
     public void setProfile(Profile profile) {
         this.profile = profile;
@@ -0,0 +1,6 @@
+package com.example.task_connect.model.enums;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS, //the first request with the key is still running
+    COMPLETED    //the response is stored and replayed to retries
+}
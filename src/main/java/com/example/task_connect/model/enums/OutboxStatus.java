@@ -0,0 +1,7 @@
+package com.example.task_connect.model.enums;
+
+public enum OutboxStatus {
+    PENDING,    //written with the business change, waiting for the dispatcher
+    DISPATCHED, //every listener handled the event
+    FAILED      //gave up after the maximum number of attempts
+}
@@ -0,0 +1,62 @@
+package com.example.task_connect.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.List;
+
+//the limited endpoints with their default budgets per client; each can be changed with
+//taskconnect.rate-limit.<name>.capacity and taskconnect.rate-limit.<name>.period.
+//only in a servlet application: the in-process benchmarks start the context without a web server
+@Configuration
+@ConditionalOnProperty(name = "taskconnect.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RateLimitConfig {
+
+    private record Endpoint(String name, String method, String path, int capacity, Duration period) {}
+
+    private static final List<Endpoint> ENDPOINTS = List.of(
+            new Endpoint("submit-bid", "POST", "/api/tasks/{taskId}/bids", 30, Duration.ofMinutes(1)),
+            new Endpoint("submit-bids-batch", "POST", "/api/bids/batch", 5, Duration.ofMinutes(1)),
+            new Endpoint("create-task", "POST", "/api/tasks", 10, Duration.ofMinutes(1)),
+            new Endpoint("submit-review", "POST", "/api/tasks/{taskId}/reviews", 10, Duration.ofMinutes(1)),
+            new Endpoint("register-user", "POST", "/api/users", 5, Duration.ofMinutes(1)),
+            new Endpoint("import-users", "POST", "/api/users/import", 2, Duration.ofMinutes(10))
+    );
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(Environment environment,
+                                           @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+                                           MeterRegistry registry) {
+        List<RateLimitRule> rules = ENDPOINTS.stream()
+                .map(endpoint -> {
+                    String prefix = "taskconnect.rate-limit." + endpoint.name();
+                    int capacity = environment.getProperty(prefix + ".capacity", Integer.class, endpoint.capacity());
+                    Duration period = environment.getProperty(prefix + ".period", Duration.class, endpoint.period());
+                    return new RateLimitRule(endpoint.name(), endpoint.method(),
+                            PathPatternParser.defaultInstance.parse(endpoint.path()),
+                            new TokenBucketRateLimiter(capacity, period));
+                })
+                .toList();
+        return new RateLimitFilter(rules, exceptionResolver, registry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        //first of the application filters: a throttled request does no other work
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.task_connect.ratelimit;
+
+import com.example.task_connect.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+//throttles the write endpoints per client: the authenticated user when there is one, otherwise the client IP
+//(behind a proxy set server.forward-headers-strategy so getRemoteAddr is the real client)
+//the hot path is a linear match over a handful of rules and one CAS on the client's bucket
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final List<RateLimitRule> rules;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final Map<String, Counter> rejections;
+
+    public RateLimitFilter(List<RateLimitRule> rules, HandlerExceptionResolver exceptionResolver, MeterRegistry registry) {
+        this.rules = List.copyOf(rules);
+        this.exceptionResolver = exceptionResolver;
+        this.rejections = rules.stream().collect(Collectors.toMap(RateLimitRule::name,
+                rule -> Counter.builder("taskconnect.ratelimit.rejected")
+                        .description("Requests refused with 429 by the rate limiter")
+                        .tag("rule", rule.name())
+                        .register(registry)));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RateLimitRule rule = match(request);
+        if (rule == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = rule.limiter().tryAcquire(clientKey(request));
+        if (waitNanos == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        rejections.get(rule.name()).increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        //answered by GlobalExceptionHandler, like errors thrown inside the controllers
+        exceptionResolver.resolveException(request, response, null, new RateLimitExceededException(
+                "Too many requests. Please retry in " + retryAfterSeconds + " seconds.", retryAfterSeconds));
+    }
+
+    @Scheduled(fixedDelayString = "${taskconnect.rate-limit.evict-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        rules.forEach(rule -> rule.limiter().evictIdle());
+    }
+
+    private RateLimitRule match(HttpServletRequest request) {
+        String method = request.getMethod();
+        PathContainer path = null;
+        for (RateLimitRule rule : rules) {
+            if (!rule.method().equals(method)) {
+                continue;
+            }
+            if (path == null) {
+                path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+            }
+            if (rule.path().matches(path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Principal user = request.getUserPrincipal();
+        return user != null ? "user:" + user.getName() : "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.task_connect.ratelimit;
+
+import org.springframework.web.util.pattern.PathPattern;
+
+//one limited endpoint with its own buckets: every client gets capacity requests per period on it.
+//RateLimitFilter compares the method first and parses the request path only when a method matches
+record RateLimitRule(String name, String method, PathPattern path, TokenBucketRateLimiter limiter) {
+}
@@ -0,0 +1,71 @@
+package com.example.task_connect.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+//token bucket per client key, kept as a single long per bucket (GCRA, the generic cell rate algorithm):
+//instead of a token count and a refill timestamp, each bucket stores the theoretical arrival time (TAT) at
+//which it would be full again. a request is admitted when pushing the TAT one interval further keeps it within
+//capacity intervals of now, and the TAT is moved with one compareAndSet, so there is no lock and no refill task.
+//buckets live in a ConcurrentHashMap (internally striped), one per client key; full buckets carry no
+//information and are dropped by evictIdle
+public class TokenBucketRateLimiter {
+
+    private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+
+    //capacity requests per period, all of which may arrive at once
+    public TokenBucketRateLimiter(int capacity, Duration period) {
+        this(capacity, period, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int capacity, Duration period, LongSupplier nanoClock) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+        if (period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        this.intervalNanos = Math.max(1, period.toNanos() / capacity);
+        this.burstNanos = intervalNanos * capacity;
+        this.nanoClock = nanoClock;
+    }
+
+    //returns 0 when a token was taken, otherwise the nanoseconds until the next one is available
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long tat = bucket.get();
+            long next = Math.max(tat, now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    //drops the buckets that have refilled completely, which bounds memory to the recently active clients
+    //a request racing with the removal may take its token from the dropped bucket, at worst one extra request
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() <= now);
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.task_connect.recommend;
+
+import com.example.task_connect.event.TaskCreatedEvent;
+import com.example.task_connect.exception.ResourceNotFoundException;
+import com.example.task_connect.service.TaskerRecommendationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+//ranks the taskers for every new task as soon as the outbox delivers its TaskCreatedEvent, and tells the best
+//ones about it. like BidNotificationListener there is no mail/push channel yet, so the notifications are logged
+@Component
+public class TaskRecommendationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskRecommendationListener.class);
+
+    private final TaskerRecommendationService recommendationService;
+    private final int notifyCount;
+
+    public TaskRecommendationListener(TaskerRecommendationService recommendationService,
+                                      @Value("${taskconnect.recommendations.notify-count:5}") int notifyCount) {
+        this.recommendationService = recommendationService;
+        this.notifyCount = notifyCount;
+    }
+
+    @EventListener
+    public void onTaskCreated(TaskCreatedEvent event) {
+        List<TaskerMatch> matches;
+        try {
+            matches = recommendationService.rankTaskers(event.taskId());
+        } catch (ResourceNotFoundException e) {
+            //deleted before the event was delivered, nobody to tell
+            return;
+        }
+        for (TaskerMatch match : matches.subList(0, Math.min(notifyCount, matches.size()))) {
+            log.info("Notify tasker {}: new task {} matches them (score {})",
+                    match.taskerId(), event.taskId(), String.format("%.2f", match.score()));
+        }
+    }
+}
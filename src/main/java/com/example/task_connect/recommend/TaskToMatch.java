@@ -0,0 +1,4 @@
+package com.example.task_connect.recommend;
+
+//the parts of a task the tasker index scores against, coordinates are null when its address has none
+public record TaskToMatch(Long taskId, Long requesterId, Long categoryId, Double latitude, Double longitude) {}
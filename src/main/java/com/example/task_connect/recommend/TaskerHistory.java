@@ -0,0 +1,4 @@
+package com.example.task_connect.recommend;
+
+//how many of a tasker's bids were accepted in one category
+public record TaskerHistory(Long taskerId, Long categoryId, long acceptedBids) {}
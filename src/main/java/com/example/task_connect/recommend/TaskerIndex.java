@@ -0,0 +1,249 @@
+package com.example.task_connect.recommend;
+
+import com.example.task_connect.search.TaskGeoIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+//in-memory candidate lists for recommending taskers on a new task. a tasker is anyone with at least one
+//accepted bid. score = history + rating + proximity, each weighted and scaled to 0..1:
+//  history:   accepted bids in the task's category, log-scaled against the busiest tasker of the category
+//  rating:    Profile.taskerRating out of 5; taskers nobody reviewed yet count as UNRATED
+//  proximity: HALF_SCORE_KM / (HALF_SCORE_KM + distance) from the tasker's address to the task's,
+//             0 when either has no coordinates; taskers further than max-distance-km are left out
+//history and rating do not depend on the task, so every category keeps its candidates sorted by that part of the
+//score, and one list sorted by rating alone covers everybody else. a scan stops as soon as even a tasker next door
+//could no longer beat the current top results, which in practice leaves most of a long list unread.
+//the lists are immutable and swapped as a whole by replace, readers never lock
+@Component
+public class TaskerIndex {
+
+    static final double HISTORY_WEIGHT = 0.4;
+    static final double RATING_WEIGHT = 0.3;
+    static final double PROXIMITY_WEIGHT = 0.3;
+    //so a tasker without reviews is not ranked below every poorly rated one
+    static final double UNRATED = 3.0;
+    static final double HALF_SCORE_KM = 10;
+
+    //a degree of latitude is never shorter than this, so a latitude gap alone can rule a tasker out
+    private static final double KM_PER_DEGREE_LATITUDE = 110.5;
+
+    private final double maxDistanceKm;
+    private volatile Candidates candidates = Candidates.build(Stream.empty(), Stream.empty());
+
+    public TaskerIndex(@Value("${taskconnect.recommendations.max-distance-km:50}") double maxDistanceKm) {
+        this.maxDistanceKm = maxDistanceKm;
+    }
+
+    //history of taskers that are not in the snapshots is ignored
+    public void replace(Stream<TaskerSnapshot> taskers, Stream<TaskerHistory> history) {
+        candidates = Candidates.build(taskers, history);
+    }
+
+    public int size() {
+        return candidates.taskerIds.length;
+    }
+
+    //the best taskers for the task, best first; never the task's requester
+    public List<TaskerMatch> match(TaskToMatch task, int limit) {
+        Candidates current = candidates;
+        TopMatches top = new TopMatches(limit);
+        CategoryList inCategory = task.categoryId() != null ? current.byCategory.get(task.categoryId()) : null;
+        if (inCategory != null) {
+            scan(current, inCategory, null, task, top);
+        }
+        scan(current, current.everyone, inCategory, task, top);
+        return top.toMatches(current);
+    }
+
+    private void scan(Candidates current, CategoryList list, CategoryList alreadyScanned, TaskToMatch task,
+                      TopMatches top) {
+        boolean located = task.latitude() != null && task.longitude() != null;
+        double bestProximity = located ? PROXIMITY_WEIGHT : 0;
+        long requesterId = task.requesterId() != null ? task.requesterId() : Long.MIN_VALUE;
+        for (int i = 0; i < list.taskers.length; i++) {
+            //sorted by the fixed part of the score, nobody further down can do better
+            if (top.isFull() && list.fixedScores[i] + bestProximity <= top.lowestScore()) {
+                return;
+            }
+            int tasker = list.taskers[i];
+            if (current.taskerIds[tasker] == requesterId
+                    || (alreadyScanned != null && alreadyScanned.contains(tasker))) {
+                continue;
+            }
+
+            double distance = Double.NaN;
+            double proximity = 0;
+            double latitude = current.latitudes[tasker];
+            if (located && !Double.isNaN(latitude)) {
+                if (Math.abs(latitude - task.latitude()) * KM_PER_DEGREE_LATITUDE > maxDistanceKm) {
+                    continue;
+                }
+                distance = TaskGeoIndex.distanceKm(task.latitude(), task.longitude(), latitude, current.longitudes[tasker]);
+                if (distance > maxDistanceKm) {
+                    continue;
+                }
+                proximity = HALF_SCORE_KM / (HALF_SCORE_KM + distance);
+            }
+            top.offer(tasker, list.acceptedBids[i], distance, list.fixedScores[i] + PROXIMITY_WEIGHT * proximity);
+        }
+    }
+
+    //one immutable generation of the index; taskers are referred to by their position in the arrays
+    private static final class Candidates {
+        final long[] taskerIds;
+        final double[] latitudes;
+        final double[] longitudes;
+        final Map<Long, CategoryList> byCategory;
+        final CategoryList everyone;
+
+        private Candidates(long[] taskerIds, double[] latitudes, double[] longitudes,
+                           Map<Long, CategoryList> byCategory, CategoryList everyone) {
+            this.taskerIds = taskerIds;
+            this.latitudes = latitudes;
+            this.longitudes = longitudes;
+            this.byCategory = byCategory;
+            this.everyone = everyone;
+        }
+
+        static Candidates build(Stream<TaskerSnapshot> taskers, Stream<TaskerHistory> history) {
+            Map<Long, Integer> positions = new HashMap<>();
+            List<TaskerSnapshot> snapshots = new ArrayList<>();
+            taskers.forEach(snapshot -> {
+                if (positions.putIfAbsent(snapshot.taskerId(), snapshots.size()) == null) {
+                    snapshots.add(snapshot);
+                }
+            });
+
+            int count = snapshots.size();
+            long[] taskerIds = new long[count];
+            double[] ratingScores = new double[count];
+            double[] latitudes = new double[count];
+            double[] longitudes = new double[count];
+            for (int i = 0; i < count; i++) {
+                TaskerSnapshot snapshot = snapshots.get(i);
+                taskerIds[i] = snapshot.taskerId();
+                double rating = snapshot.taskerRatingCount() > 0 && snapshot.taskerRating() != null
+                        ? snapshot.taskerRating().doubleValue() : UNRATED;
+                ratingScores[i] = RATING_WEIGHT * Math.min(1, Math.max(0, rating / 5));
+                boolean located = snapshot.latitude() != null && snapshot.longitude() != null;
+                latitudes[i] = located ? snapshot.latitude() : Double.NaN;
+                longitudes[i] = located ? snapshot.longitude() : Double.NaN;
+            }
+
+            //category id -> (tasker position -> accepted bids)
+            Map<Long, Map<Integer, Long>> acceptedByCategory = new HashMap<>();
+            history.forEach(row -> {
+                Integer position = positions.get(row.taskerId());
+                if (position != null && row.categoryId() != null && row.acceptedBids() > 0) {
+                    acceptedByCategory.computeIfAbsent(row.categoryId(), id -> new HashMap<>())
+                            .merge(position, row.acceptedBids(), Long::sum);
+                }
+            });
+
+            Map<Long, CategoryList> byCategory = new HashMap<>();
+            acceptedByCategory.forEach((categoryId, accepted) ->
+                    byCategory.put(categoryId, CategoryList.of(accepted, ratingScores)));
+
+            Map<Integer, Long> noHistory = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                noHistory.put(i, 0L);
+            }
+            CategoryList everyone = CategoryList.of(noHistory, ratingScores);
+            return new Candidates(taskerIds, latitudes, longitudes, byCategory, everyone);
+        }
+    }
+
+    //candidates of one category, sorted by history + rating, highest first
+    private static final class CategoryList {
+        final int[] taskers;
+        final long[] acceptedBids;
+        final double[] fixedScores;
+        //the same taskers in position order, for contains
+        final int[] members;
+
+        private CategoryList(int[] taskers, long[] acceptedBids, double[] fixedScores) {
+            this.taskers = taskers;
+            this.acceptedBids = acceptedBids;
+            this.fixedScores = fixedScores;
+            this.members = taskers.clone();
+            Arrays.sort(this.members);
+        }
+
+        static CategoryList of(Map<Integer, Long> accepted, double[] ratingScores) {
+            long mostAccepted = accepted.values().stream().mapToLong(Long::longValue).max().orElse(0);
+            double historyScale = mostAccepted > 0 ? Math.log1p(mostAccepted) : 1;
+
+            Integer[] order = accepted.keySet().toArray(Integer[]::new);
+            double[] scoreByTasker = new double[ratingScores.length];
+            for (Integer tasker : order) {
+                scoreByTasker[tasker] = HISTORY_WEIGHT * Math.log1p(accepted.get(tasker)) / historyScale
+                        + ratingScores[tasker];
+            }
+            Arrays.sort(order, Comparator.<Integer>comparingDouble(tasker -> scoreByTasker[tasker]).reversed()
+                    .thenComparing(Comparator.naturalOrder()));
+
+            int[] taskers = new int[order.length];
+            long[] acceptedBids = new long[order.length];
+            double[] fixedScores = new double[order.length];
+            for (int i = 0; i < order.length; i++) {
+                taskers[i] = order[i];
+                acceptedBids[i] = accepted.get(order[i]);
+                fixedScores[i] = scoreByTasker[order[i]];
+            }
+            return new CategoryList(taskers, acceptedBids, fixedScores);
+        }
+
+        boolean contains(int tasker) {
+            return Arrays.binarySearch(members, tasker) >= 0;
+        }
+    }
+
+    //the best limit candidates seen so far, the worst of them on top of the heap
+    private static final class TopMatches {
+        private record Scored(int tasker, long acceptedBids, double distanceKm, double score) {}
+
+        private static final Comparator<Scored> WORST_FIRST = Comparator.comparingDouble(Scored::score)
+                .thenComparing(Comparator.comparingInt(Scored::tasker).reversed());
+
+        private final int limit;
+        private final PriorityQueue<Scored> heap;
+
+        TopMatches(int limit) {
+            this.limit = limit;
+            this.heap = new PriorityQueue<>(Math.max(1, limit), WORST_FIRST);
+        }
+
+        boolean isFull() {
+            return heap.size() >= limit;
+        }
+
+        double lowestScore() {
+            return heap.isEmpty() ? Double.NEGATIVE_INFINITY : heap.peek().score();
+        }
+
+        void offer(int tasker, long acceptedBids, double distanceKm, double score) {
+            if (limit <= 0) {
+                return;
+            }
+            if (isFull()) {
+                if (score <= lowestScore()) {
+                    return;
+                }
+                heap.poll();
+            }
+            heap.add(new Scored(tasker, acceptedBids, distanceKm, score));
+        }
+
+        List<TaskerMatch> toMatches(Candidates candidates) {
+            List<Scored> best = new ArrayList<>(heap);
+            best.sort(WORST_FIRST.reversed());
+            return best.stream()
+                    .map(scored -> new TaskerMatch(candidates.taskerIds[scored.tasker()], scored.acceptedBids(),
+                            Double.isNaN(scored.distanceKm()) ? null : scored.distanceKm(), scored.score()))
+                    .toList();
+        }
+    }
+}
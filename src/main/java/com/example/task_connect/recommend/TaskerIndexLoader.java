@@ -0,0 +1,55 @@
+package com.example.task_connect.recommend;
+
+import com.example.task_connect.model.enums.BidStatus;
+import com.example.task_connect.repository.BidRepository;
+import com.example.task_connect.repository.ProfileRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+//builds the tasker index at startup and rebuilds it every rebuild-interval-ms, which is how new accepted bids,
+//reviews and moved addresses reach it. both queries are streamed in one read-only transaction;
+//the old index keeps answering until the new one replaces it
+@Component
+public class TaskerIndexLoader {
+    private static final Logger log = LoggerFactory.getLogger(TaskerIndexLoader.class);
+
+    private final ProfileRepository profileRepository;
+    private final BidRepository bidRepository;
+    private final TaskerIndex taskerIndex;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public TaskerIndexLoader(ProfileRepository profileRepository, BidRepository bidRepository, TaskerIndex taskerIndex,
+                             PlatformTransactionManager transactionManager) {
+        this.profileRepository = profileRepository;
+        this.bidRepository = bidRepository;
+        this.taskerIndex = taskerIndex;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<TaskerSnapshot> taskers = profileRepository.streamTaskers(BidStatus.ACCEPTED);
+                 Stream<TaskerHistory> history = bidRepository.streamTaskerHistory(BidStatus.ACCEPTED)) {
+                taskerIndex.replace(taskers, history);
+            }
+        });
+        log.info("Tasker index built with {} taskers in {} ms", taskerIndex.size(), System.currentTimeMillis() - start);
+    }
+
+    @Scheduled(fixedDelayString = "${taskconnect.recommendations.rebuild-interval-ms:600000}",
+            initialDelayString = "${taskconnect.recommendations.rebuild-interval-ms:600000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.task_connect.recommend;
+
+//a recommended tasker; distanceKm is null when the task or the tasker has no coordinates
+public record TaskerMatch(Long taskerId, long acceptedBids, Double distanceKm, double score) {}
@@ -0,0 +1,7 @@
+package com.example.task_connect.recommend;
+
+import java.math.BigDecimal;
+
+//what the tasker index keeps about one tasker: the rating and where their first located address is
+public record TaskerSnapshot(Long taskerId, BigDecimal taskerRating, long taskerRatingCount,
+                             Double latitude, Double longitude) {}
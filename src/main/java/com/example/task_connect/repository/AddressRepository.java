@@ -1,8 +1,38 @@
 package com.example.task_connect.repository;
 
+import com.example.task_connect.dto.AddressView;
 import com.example.task_connect.model.Address;
+import com.example.task_connect.search.AddressLocation;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface AddressRepository extends JpaRepository<Address,Long> {}
+public interface AddressRepository extends JpaRepository<Address,Long> {
+
+    @Query("""
+            select new com.example.task_connect.dto.AddressView(a.id, a.street, a.city, a.zipCode, a.latitude, a.longitude)
+            from Address a
+            where a.user.id = :userId
+            order by a.id
+            """)
+    List<AddressView> findViewsByUserId(@Param("userId") Long userId);
+
+    //existence check that also tells who owns the address, read from the foreign key column
+    @Query("select a.user.id from Address a where a.id = :id")
+    Optional<Long> findUserIdById(@Param("id") Long id);
+
+    //keyset chunk of addresses that have coordinates, used to build the geo index at startup
+    @Query("""
+            select new com.example.task_connect.search.AddressLocation(a.id, a.latitude, a.longitude)
+            from Address a
+            where a.id > :afterId and a.latitude is not null and a.longitude is not null
+            order by a.id
+            """)
+    List<AddressLocation> findLocations(@Param("afterId") Long afterId, Limit limit);
+}
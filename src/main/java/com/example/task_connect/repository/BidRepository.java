@@ -1,8 +1,91 @@
 package com.example.task_connect.repository;
 
+import com.example.task_connect.dto.BidListingDTO;
 import com.example.task_connect.model.Bid;
+import com.example.task_connect.model.enums.BidStatus;
+import com.example.task_connect.recommend.TaskerHistory;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface BidRepository extends JpaRepository<Bid, Long> {}
\ No newline at end of file
+public interface BidRepository extends JpaRepository<Bid, Long> {
+
+    //set-based status change for every bid of a task except one, in a single UPDATE
+    //callers must check the transition with Bid.validateTransition first, since no entity is loaded here
+    //the version is bumped by hand because bulk updates bypass Hibernate's optimistic locking
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update Bid b set b.status = :newStatus, b.version = b.version + 1
+            where b.task.id = :taskId
+              and b.id <> :excludedBidId
+              and b.status = :currentStatus
+            """)
+    int updateStatusOfOtherBids(@Param("taskId") Long taskId,
+                                @Param("excludedBidId") Long excludedBidId,
+                                @Param("currentStatus") BidStatus currentStatus,
+                                @Param("newStatus") BidStatus newStatus);
+
+    @Query("select b.tasker.id from Bid b where b.task.id = :taskId and b.status = :status")
+    List<Long> findTaskerIdsByTaskIdAndStatus(@Param("taskId") Long taskId, @Param("status") BidStatus status);
+
+    //keyset page of a task's bids, cheapest first, starting strictly after (afterAmount, afterId)
+    //the profile is joined on its shared primary key (@MapsId), so the users table is never touched;
+    //idx_bids_task_amount (task_id, amount, id) serves the seek, the status filter is checked on the way
+    @Query("""
+            select new com.example.task_connect.dto.BidListingDTO(
+                b.id, b.amount, b.message, b.status, b.tasker.id,
+                concat(p.firstName, ' ', p.lastName), p.taskerRating)
+            from Bid b
+            left join Profile p on p.id = b.tasker.id
+            where b.task.id = :taskId
+              and (:status is null or b.status = :status)
+              and (b.amount > :afterAmount or (b.amount = :afterAmount and b.id > :afterId))
+            order by b.amount, b.id
+            """)
+    List<BidListingDTO> findPageByAmount(@Param("taskId") Long taskId,
+                                         @Param("status") BidStatus status,
+                                         @Param("afterAmount") BigDecimal afterAmount,
+                                         @Param("afterId") Long afterId,
+                                         Limit limit);
+
+    //keyset page of a task's bids, best rated tasker first, starting strictly after (beforeRating, afterId)
+    //taskers without a profile rank as 0; the rating lives in another table, so the task's bids are
+    //found through idx_bids_task_amount and sorted, which stays cheap at the few thousand bids a task gets
+    @Query("""
+            select new com.example.task_connect.dto.BidListingDTO(
+                b.id, b.amount, b.message, b.status, b.tasker.id,
+                concat(p.firstName, ' ', p.lastName), p.taskerRating)
+            from Bid b
+            left join Profile p on p.id = b.tasker.id
+            where b.task.id = :taskId
+              and (:status is null or b.status = :status)
+              and (coalesce(p.taskerRating, 0) < :beforeRating
+                   or (coalesce(p.taskerRating, 0) = :beforeRating and b.id > :afterId))
+            order by coalesce(p.taskerRating, 0) desc, b.id
+            """)
+    List<BidListingDTO> findPageByTaskerRating(@Param("taskId") Long taskId,
+                                               @Param("status") BidStatus status,
+                                               @Param("beforeRating") BigDecimal beforeRating,
+                                               @Param("afterId") Long afterId,
+                                               Limit limit);
+
+    //accepted bids per tasker and category for the tasker index, streamed since it covers every tasker
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("""
+            select new com.example.task_connect.recommend.TaskerHistory(b.tasker.id, t.category.id, count(b))
+            from Bid b join b.task t
+            where b.status = :accepted
+            group by b.tasker.id, t.category.id
+            """)
+    Stream<TaskerHistory> streamTaskerHistory(@Param("accepted") BidStatus accepted);
+}
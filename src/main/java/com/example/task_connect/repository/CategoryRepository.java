@@ -2,7 +2,14 @@ package com.example.task_connect.repository;
 
 import com.example.task_connect.model.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface CategoryRepository extends JpaRepository<Category,Long> {}
+public interface CategoryRepository extends JpaRepository<Category,Long> {
+
+    @Query("select c.id from Category c order by c.id")
+    List<Long> findAllIds();
+}
@@ -0,0 +1,66 @@
+package com.example.task_connect.repository;
+
+import com.example.task_connect.dto.CategoryStatsDTO;
+import com.example.task_connect.model.CategoryStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface CategoryStatsRepository extends JpaRepository<CategoryStats, CategoryStats.Key> {
+
+    //a status change: one row, relative to what is stored, so concurrent writers never overwrite each other.
+    //returns 0 when the slot row does not exist yet
+    @Modifying
+    @Query("""
+            update CategoryStats s
+            set s.openCount = s.openCount + :openDelta,
+                s.assignedCount = s.assignedCount + :assignedDelta
+            where s.categoryId = :categoryId and s.slot = :slot
+            """)
+    int addToCounts(@Param("categoryId") Long categoryId, @Param("slot") int slot,
+                    @Param("openDelta") long openDelta, @Param("assignedDelta") long assignedDelta);
+
+    //a newly posted task with a budget: counters and budget statistics in the same statement
+    @Modifying
+    @Query("""
+            update CategoryStats s
+            set s.openCount = s.openCount + :openDelta,
+                s.assignedCount = s.assignedCount + :assignedDelta,
+                s.budgetCount = s.budgetCount + 1,
+                s.budgetSum = s.budgetSum + :budget,
+                s.budgetMin = case when s.budgetMin is null or :budget < s.budgetMin then :budget else s.budgetMin end,
+                s.budgetMax = case when s.budgetMax is null or :budget > s.budgetMax then :budget else s.budgetMax end
+            where s.categoryId = :categoryId and s.slot = :slot
+            """)
+    int addPostedTask(@Param("categoryId") Long categoryId, @Param("slot") int slot,
+                      @Param("openDelta") long openDelta, @Param("assignedDelta") long assignedDelta,
+                      @Param("budget") BigDecimal budget);
+
+    //every slot of one category, locked until the reconciliation's transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<CategoryStats> findByCategoryIdOrderBySlot(Long categoryId);
+
+    //categories created since the last reconciliation, or before the stats existed
+    @Query("select c.id from Category c where not exists (select 1 from CategoryStats s where s.categoryId = c.id)")
+    List<Long> findCategoryIdsWithoutStats();
+
+    //GET /api/categories in one grouped query over the small stats table, the tasks table is not read
+    @Query("""
+            select new com.example.task_connect.dto.CategoryStatsDTO(
+                c.id, c.name, c.description,
+                sum(s.openCount), sum(s.assignedCount), sum(s.budgetCount), sum(s.budgetSum),
+                min(s.budgetMin), max(s.budgetMax))
+            from Category c left join CategoryStats s on s.categoryId = c.id
+            group by c.id, c.name, c.description
+            order by c.name, c.id
+            """)
+    List<CategoryStatsDTO> findAllWithStats();
+}
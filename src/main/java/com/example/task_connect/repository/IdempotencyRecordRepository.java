@@ -0,0 +1,49 @@
+package com.example.task_connect.repository;
+
+import com.example.task_connect.model.IdempotencyRecord;
+import com.example.task_connect.model.enums.IdempotencyStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    //stores the response of a reserved key; matches nothing if the reservation was taken over meanwhile
+    @Transactional
+    @Modifying
+    @Query("""
+            update IdempotencyRecord r
+            set r.status = :completed, r.responseStatus = :responseStatus, r.contentType = :contentType,
+                r.responseBody = :responseBody, r.version = r.version + 1
+            where r.key = :key and r.fingerprint = :fingerprint and r.status = :inProgress
+            """)
+    int complete(@Param("key") String key,
+                 @Param("fingerprint") String fingerprint,
+                 @Param("responseStatus") int responseStatus,
+                 @Param("contentType") String contentType,
+                 @Param("responseBody") byte[] responseBody,
+                 @Param("inProgress") IdempotencyStatus inProgress,
+                 @Param("completed") IdempotencyStatus completed);
+
+    //drops a reservation that must not be replayed (failed request, or one abandoned before createdBefore)
+    @Transactional
+    @Modifying
+    @Query("""
+            delete from IdempotencyRecord r
+            where r.key = :key and r.status = :status and r.createdAt < :createdBefore
+            """)
+    int deleteReservation(@Param("key") String key,
+                          @Param("status") IdempotencyStatus status,
+                          @Param("createdBefore") LocalDateTime createdBefore);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,40 @@
+package com.example.task_connect.repository;
+
+import com.example.task_connect.model.OutboxEvent;
+import com.example.task_connect.model.enums.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    //oldest pending events that are not waiting out a retry backoff, locked FOR UPDATE SKIP LOCKED
+    //oldest by created_at: ids come from per-instance blocks, so id only breaks ties (events of one transaction)
+    //(lock timeout -2) so several application instances can poll the same table without handing out an event twice
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            SELECT e FROM OutboxEvent e
+            WHERE e.status = :status AND (e.nextAttemptAt IS NULL OR e.nextAttemptAt <= :now)
+            ORDER BY e.createdAt, e.id
+            """)
+    List<OutboxEvent> findBatchForDispatch(@Param("status") OutboxStatus status,
+                                           @Param("now") LocalDateTime now,
+                                           Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = :status AND e.dispatchedAt < :before")
+    int deleteByStatusAndDispatchedAtBefore(@Param("status") OutboxStatus status,
+                                            @Param("before") LocalDateTime before);
+}
@@ -1,8 +1,102 @@
 package com.example.task_connect.repository;
 
+import com.example.task_connect.dto.ProfileRatingTotals;
 import com.example.task_connect.model.Profile;
+import com.example.task_connect.model.enums.BidStatus;
+import com.example.task_connect.recommend.TaskerSnapshot;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface ProfileRepository extends JpaRepository<Profile,Long> { }
+public interface ProfileRepository extends JpaRepository<Profile,Long> {
+
+    //one atomic UPDATE per review: sum, count and average are all computed by the database from the
+    //current row, so concurrent reviews of the same user cannot lose each other's rating.
+    //native with an empty query space: a JPQL bulk update would invalidate the whole profiles cache region on
+    //every review, this one invalidates no region and the caller evicts the one reviewed profile instead
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ""))
+    @Query(value = """
+            update profiles
+            set tasker_rating_sum = tasker_rating_sum + :rating,
+                tasker_rating_count = tasker_rating_count + 1,
+                tasker_rating = round((tasker_rating_sum + :rating) * 1.0 / (tasker_rating_count + 1), 2)
+            where user_id = :userId
+            """, nativeQuery = true)
+    int addTaskerRating(@Param("userId") Long userId, @Param("rating") int rating);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ""))
+    @Query(value = """
+            update profiles
+            set requester_rating_sum = requester_rating_sum + :rating,
+                requester_rating_count = requester_rating_count + 1,
+                requester_rating = round((requester_rating_sum + :rating) * 1.0 / (requester_rating_count + 1), 2)
+            where user_id = :userId
+            """, nativeQuery = true)
+    int addRequesterRating(@Param("userId") Long userId, @Param("rating") int rating);
+
+    //keyset chunk of the stored totals, used by the reconciliation job
+    @Query("""
+            select new com.example.task_connect.dto.ProfileRatingTotals(
+                p.id, p.taskerRatingSum, p.taskerRatingCount, p.requesterRatingSum, p.requesterRatingCount)
+            from Profile p
+            where p.id > :afterId
+            order by p.id
+            """)
+    List<ProfileRatingTotals> findRatingTotals(@Param("afterId") Long afterId, Limit limit);
+
+    //compare-and-set repair: only applied if the totals are still the ones the job read,
+    //so a review that lands while the job runs is never overwritten
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update Profile p
+            set p.taskerRatingSum = :sum,
+                p.taskerRatingCount = :count,
+                p.taskerRating = :average
+            where p.id = :userId
+              and p.taskerRatingSum = :expectedSum
+              and p.taskerRatingCount = :expectedCount
+            """)
+    int repairTaskerRating(@Param("userId") Long userId,
+                           @Param("expectedSum") long expectedSum, @Param("expectedCount") long expectedCount,
+                           @Param("sum") long sum, @Param("count") long count, @Param("average") BigDecimal average);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update Profile p
+            set p.requesterRatingSum = :sum,
+                p.requesterRatingCount = :count,
+                p.requesterRating = :average
+            where p.id = :userId
+              and p.requesterRatingSum = :expectedSum
+              and p.requesterRatingCount = :expectedCount
+            """)
+    int repairRequesterRating(@Param("userId") Long userId,
+                              @Param("expectedSum") long expectedSum, @Param("expectedCount") long expectedCount,
+                              @Param("sum") long sum, @Param("count") long count, @Param("average") BigDecimal average);
+
+    //every user with an accepted bid, with the first of their addresses that has coordinates
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("""
+            select new com.example.task_connect.recommend.TaskerSnapshot(
+                p.id, p.taskerRating, p.taskerRatingCount, a.latitude, a.longitude)
+            from Profile p
+            left join Address a on a.id = (
+                select min(located.id) from Address located
+                where located.user.id = p.id and located.latitude is not null and located.longitude is not null)
+            where exists (select 1 from Bid b where b.tasker.id = p.id and b.status = :accepted)
+            """)
+    Stream<TaskerSnapshot> streamTaskers(@Param("accepted") BidStatus accepted);
+}
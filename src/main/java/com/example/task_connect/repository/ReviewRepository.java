@@ -0,0 +1,35 @@
+package com.example.task_connect.repository;
+
+import com.example.task_connect.dto.RatingTotals;
+import com.example.task_connect.model.Review;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReviewRepository extends JpaRepository<Review, Long> {
+
+    boolean existsByTaskIdAndReviewerId(Long taskId, Long reviewerId);
+
+    //ratings users received as the tasker of the reviewed task, recomputed from scratch
+    @Query("""
+            select new com.example.task_connect.dto.RatingTotals(r.reviewed.id, sum(r.rating), count(r))
+            from Review r
+            where r.reviewed.id in :userIds and r.reviewed.id = r.task.tasker.id
+            group by r.reviewed.id
+            """)
+    List<RatingTotals> sumTaskerRatings(@Param("userIds") Collection<Long> userIds);
+
+    //ratings users received as the requester of the reviewed task
+    @Query("""
+            select new com.example.task_connect.dto.RatingTotals(r.reviewed.id, sum(r.rating), count(r))
+            from Review r
+            where r.reviewed.id in :userIds and r.reviewed.id = r.task.requester.id
+            group by r.reviewed.id
+            """)
+    List<RatingTotals> sumRequesterRatings(@Param("userIds") Collection<Long> userIds);
+}
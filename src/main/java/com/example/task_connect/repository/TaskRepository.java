@@ -1,8 +1,122 @@
 package com.example.task_connect.repository;
 
+import com.example.task_connect.dto.CategoryTaskTotals;
+import com.example.task_connect.dto.TaskSummaryDTO;
 import com.example.task_connect.model.Task;
+import com.example.task_connect.model.enums.TaskStatus;
+import com.example.task_connect.recommend.TaskToMatch;
+import com.example.task_connect.search.TaskDocument;
+import com.example.task_connect.search.TaskLocation;
+import org.springframework.data.domain.Limit;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {}
+public interface TaskRepository extends JpaRepository<Task, Long> {
+
+    //loads a task for bidding and checks on commit that its version has not moved, so a bid racing acceptBid
+    //fails with an optimistic lock error instead of landing PENDING on an ASSIGNED task. only a write to the
+    //task itself moves the version: bids on the same task do not, so any number of bidders commit side by side
+    //the transaction is joined for the same reason as in findAllWithTransactionByIdIn below
+    @Lock(LockModeType.OPTIMISTIC)
+    @Query("select t from Task t left join fetch t.transaction where t.id = :id")
+    Optional<Task> findForBiddingById(@Param("id") Long id);
+
+    //version probe behind the ETag of GET /api/tasks/{taskId}
+    @Query("select t.version from Task t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    //Task.transaction is the inverse side of a one-to-one and is always fetched eagerly,
+    //so it is joined here instead of costing one extra SELECT per task
+    @Query("select t from Task t left join fetch t.transaction where t.id in :ids")
+    List<Task> findAllWithTransactionByIdIn(@Param("ids") Collection<Long> ids);
+
+    //batch counterpart of findForBiddingById: one SELECT re-checks every task of the batch just before commit
+    //(an OPTIMISTIC lock per entity would cost one version check per task)
+    //counts fewer tasks than ids when a task changed status concurrently
+    @Query("select count(t) from Task t where t.id in :ids and t.status = :status")
+    long countByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("status") TaskStatus status);
+
+    //keyset (seek) page of the feed: newest first, starting strictly below beforeId
+    //served by idx_tasks_feed (status, id, ...) so deep pages cost the same as the first one
+    @Query("""
+            select new com.example.task_connect.dto.TaskSummaryDTO(
+                t.id, t.title, t.budget, t.status, t.category.id, t.requester.id)
+            from Task t
+            where t.status = :status
+              and t.id < :beforeId
+              and (:categoryId is null or t.category.id = :categoryId)
+              and (:minBudget is null or t.budget >= :minBudget)
+              and (:maxBudget is null or t.budget <= :maxBudget)
+            order by t.id desc
+            """)
+    List<TaskSummaryDTO> findFeedPage(@Param("status") TaskStatus status,
+                                      @Param("beforeId") Long beforeId,
+                                      @Param("categoryId") Long categoryId,
+                                      @Param("minBudget") BigDecimal minBudget,
+                                      @Param("maxBudget") BigDecimal maxBudget,
+                                      Limit limit);
+
+    //summaries for a set of ids in no particular order, the caller puts them back in rank order
+    @Query("""
+            select new com.example.task_connect.dto.TaskSummaryDTO(
+                t.id, t.title, t.budget, t.status, t.category.id, t.requester.id)
+            from Task t
+            where t.id in :ids
+            """)
+    List<TaskSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    //keyset chunk of everything the search index needs, used to build it at startup
+    @Query("""
+            select new com.example.task_connect.search.TaskDocument(
+                t.id, t.title, t.description, t.status, t.category.id)
+            from Task t
+            where t.id > :afterId
+            order by t.id
+            """)
+    List<TaskDocument> findSearchDocuments(@Param("afterId") Long afterId, Limit limit);
+
+    //keyset chunk of (task, address) pairs in the given status, used to build the geo index at startup
+    @Query("""
+            select new com.example.task_connect.search.TaskLocation(t.id, t.address.id)
+            from Task t
+            where t.status = :status and t.id > :afterId
+            order by t.id
+            """)
+    List<TaskLocation> findTaskLocations(@Param("status") TaskStatus status, @Param("afterId") Long afterId, Limit limit);
+
+    //who posted the task, read from the foreign key column without loading the task
+    @Query("select t.requester.id from Task t where t.id = :id")
+    Optional<Long> findRequesterIdById(@Param("id") Long id);
+
+    //the true stats of one category, recomputed by the reconciliation job; reads every task of the category
+    @Query("""
+            select new com.example.task_connect.dto.CategoryTaskTotals(
+                coalesce(sum(case when t.status = :open then 1L else 0L end), 0L),
+                coalesce(sum(case when t.status = :assigned then 1L else 0L end), 0L),
+                count(t.budget), coalesce(sum(t.budget), 0), min(t.budget), max(t.budget))
+            from Task t
+            where t.category.id = :categoryId
+            """)
+    CategoryTaskTotals computeCategoryTotals(@Param("categoryId") Long categoryId,
+                                             @Param("open") TaskStatus open, @Param("assigned") TaskStatus assigned);
+
+    //what the tasker index needs about one task, without loading the task or its address
+    @Query("""
+            select new com.example.task_connect.recommend.TaskToMatch(
+                t.id, t.requester.id, t.category.id, a.latitude, a.longitude)
+            from Task t left join t.address a
+            where t.id = :id
+            """)
+    Optional<TaskToMatch> findTaskToMatch(@Param("id") Long id);
+}
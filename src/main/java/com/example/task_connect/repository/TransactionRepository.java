@@ -0,0 +1,11 @@
+package com.example.task_connect.repository;
+
+import com.example.task_connect.model.Transaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+
+    boolean existsByTaskId(Long taskId);
+}
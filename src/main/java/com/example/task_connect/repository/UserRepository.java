@@ -1,13 +1,46 @@
 package com.example.task_connect.repository;
 
+import com.example.task_connect.dto.UserView;
 import com.example.task_connect.model.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    //every registered email in one pass, the duplicate check of a bulk import runs against this set in memory
+    @Query("select u.email from User u")
+    List<String> findAllEmails();
+
+    //the same scan as a cursor, for the startup warm-up of RegisteredEmailFilter; must be consumed inside a
+    //transaction and closed. rows arrive fetch-size at a time, so the table never sits in memory as a whole
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("select u.email from User u")
+    Stream<String> streamAllEmails();
+
+    //the users row only, built straight into the response record; the profile is read through the
+    //second-level cache (UserService.findUserViewById)
+    @Query("select new com.example.task_connect.dto.UserView(u.id, u.email, u.createdAt) from User u where u.id = :id")
+    Optional<UserView> findViewById(@Param("id") Long id);
+
+    //version probe behind the ETag of GET /api/users/{id}, a primary key lookup that reads one column
+    @Query("select u.version from User u where u.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    //for changes to the user's representation that do not go through the users row (profile ratings,
+    //addresses). returns 0 when the user does not exist
+    @Modifying(flushAutomatically = true)
+    @Query("update User u set u.version = u.version + 1 where u.id = :id")
+    int incrementVersion(@Param("id") Long id);
 }
@@ -0,0 +1,4 @@
+package com.example.task_connect.search;
+
+//coordinates of an address, as loaded into the geo index
+public record AddressLocation(Long addressId, Double latitude, Double longitude) {}
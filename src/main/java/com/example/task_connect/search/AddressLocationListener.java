@@ -0,0 +1,33 @@
+package com.example.task_connect.search;
+
+import com.example.task_connect.model.Address;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+//JPA entity listener on Address that keeps the coordinates in the geo index current,
+//applied after commit like TaskSearchListener
+public class AddressLocationListener {
+
+    private final ObjectProvider<TaskGeoIndex> geoIndex;
+
+    public AddressLocationListener(ObjectProvider<TaskGeoIndex> geoIndex) {
+        this.geoIndex = geoIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Address address) {
+        Long addressId = address.getId();
+        Double latitude = address.getLatitude();
+        Double longitude = address.getLongitude();
+        TaskSearchListener.afterCommit(() -> geoIndex.ifAvailable(index -> index.putAddress(addressId, latitude, longitude)));
+    }
+
+    @PostRemove
+    public void onRemove(Address address) {
+        Long addressId = address.getId();
+        TaskSearchListener.afterCommit(() -> geoIndex.ifAvailable(index -> index.removeAddress(addressId)));
+    }
+}
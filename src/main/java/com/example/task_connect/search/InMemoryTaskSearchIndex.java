@@ -0,0 +1,151 @@
+package com.example.task_connect.search;
+
+import com.example.task_connect.model.enums.TaskStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+//hand-built inverted index kept in the JVM heap, ranked with BM25
+//every term points to the tasks containing it and how often it occurs there,
+//so a query only touches the tasks that contain at least one of its terms
+//writes are rare compared to searches, so a read/write lock lets searches run in parallel
+@Component
+public class InMemoryTaskSearchIndex implements TaskSearchIndex {
+
+    //standard BM25 parameters: term frequency saturation and document length normalization
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    //a title match counts as this many description matches
+    private static final int TITLE_WEIGHT = 3;
+
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, IndexedTask> tasks = new HashMap<>();
+    private long totalLength;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private record IndexedTask(TaskStatus status, Long categoryId, int length, Set<String> terms) {}
+
+    @Override
+    public void index(TaskDocument document) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : Tokenizer.tokenize(document.title())) {
+            frequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : Tokenizer.tokenize(document.description())) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            removeUnderLock(document.id());
+            frequencies.forEach((term, tf) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(document.id(), tf));
+            tasks.put(document.id(), new IndexedTask(document.status(), document.categoryId(), length, frequencies.keySet()));
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long taskId) {
+        lock.writeLock().lock();
+        try {
+            removeUnderLock(taskId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            tasks.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public SearchResult search(String query, TaskStatus status, Long categoryId, int offset, int limit) {
+        if (offset < 0 || limit < 1) {
+            throw new IllegalArgumentException("Offset cannot be negative and limit must be positive");
+        }
+        Set<String> queryTerms = new LinkedHashSet<>(Tokenizer.tokenize(query));
+        if (queryTerms.isEmpty()) {
+            return new SearchResult(List.of(), 0);
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int taskCount = tasks.size();
+            double averageLength = taskCount == 0 ? 0 : (double) totalLength / taskCount;
+
+            for (String term : queryTerms) {
+                Map<Long, Integer> matches = postings.get(term);
+                if (matches == null) {
+                    continue;
+                }
+
+                //rare terms weigh more than terms that appear in most tasks
+                double idf = Math.log(1 + (taskCount - matches.size() + 0.5) / (matches.size() + 0.5));
+                for (Map.Entry<Long, Integer> match : matches.entrySet()) {
+                    IndexedTask task = tasks.get(match.getKey());
+                    if (!matchesFilters(task, status, categoryId)) {
+                        continue;
+                    }
+                    double tf = match.getValue();
+                    double norm = K1 * (1 - B + B * task.length() / averageLength);
+                    scores.merge(match.getKey(), idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        //keep only the best offset+limit hits instead of sorting every match
+        Comparator<SearchHit> ranking = Comparator.comparingDouble(SearchHit::score)
+                .thenComparing(SearchHit::taskId);
+        int wanted = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        PriorityQueue<SearchHit> best = new PriorityQueue<>(ranking);
+        scores.forEach((taskId, score) -> {
+            best.add(new SearchHit(taskId, score));
+            if (best.size() > wanted) {
+                best.poll();
+            }
+        });
+
+        List<SearchHit> ranked = new ArrayList<>(best);
+        ranked.sort(ranking.reversed());
+        List<SearchHit> page = offset >= ranked.size() ? List.of() : List.copyOf(ranked.subList(offset, ranked.size()));
+        return new SearchResult(page, scores.size());
+    }
+
+    private static boolean matchesFilters(IndexedTask task, TaskStatus status, Long categoryId) {
+        return (status == null || task.status() == status)
+                && (categoryId == null || categoryId.equals(task.categoryId()));
+    }
+
+    private void removeUnderLock(Long taskId) {
+        IndexedTask previous = tasks.remove(taskId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms()) {
+            Map<Long, Integer> matches = postings.get(term);
+            matches.remove(taskId);
+            if (matches.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= previous.length();
+    }
+}
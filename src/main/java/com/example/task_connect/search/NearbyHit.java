@@ -0,0 +1,4 @@
+package com.example.task_connect.search;
+
+//an OPEN task within the search radius and its distance from the search point
+public record NearbyHit(Long taskId, double distanceKm) {}
@@ -0,0 +1,4 @@
+package com.example.task_connect.search;
+
+//one ranked match: the task id and its relevance score (higher is better)
+public record SearchHit(Long taskId, double score) {}
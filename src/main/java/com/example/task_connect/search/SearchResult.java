@@ -0,0 +1,6 @@
+package com.example.task_connect.search;
+
+import java.util.List;
+
+//the requested page of hits plus the number of tasks that matched in total
+public record SearchResult(List<SearchHit> hits, long totalHits) {}
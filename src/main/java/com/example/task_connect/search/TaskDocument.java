@@ -0,0 +1,23 @@
+package com.example.task_connect.search;
+
+import com.example.task_connect.model.Task;
+import com.example.task_connect.model.enums.TaskStatus;
+
+//the part of a task the search index needs: the text to match and the fields to filter on
+public record TaskDocument(
+        Long id,
+        String title,
+        String description,
+        TaskStatus status,
+        Long categoryId
+) {
+    public static TaskDocument from(Task task) {
+        return new TaskDocument(
+                task.getId(),
+                task.getTitle(),
+                task.getDescription(),
+                task.getStatus(),
+                task.getCategory() != null ? task.getCategory().getId() : null
+        );
+    }
+}
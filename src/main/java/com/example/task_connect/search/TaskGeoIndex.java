@@ -0,0 +1,196 @@
+package com.example.task_connect.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+//in-memory spatial index of OPEN tasks, bucketed in a fixed lat/lon grid
+//it indexes addresses rather than tasks: a task only contributes its address id,
+//so tasks can be added and removed without reading coordinates from the database.
+//only addresses that currently have OPEN tasks sit in the grid, so a nearby query
+//walks the few cells around the point and never sees idle addresses
+@Component
+public class TaskGeoIndex {
+
+    //0.1 degrees is ~11 km of latitude; a 25 km radius touches about 25 cells
+    private static final double CELL_DEGREES = 0.1;
+    private static final int LAT_CELLS = (int) Math.round(180 / CELL_DEGREES);
+    private static final int LON_CELLS = (int) Math.round(360 / CELL_DEGREES);
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private record Point(double latitude, double longitude, long cell) {}
+
+    private final Map<Long, Point> addressPoints = new HashMap<>();
+    private final Map<Long, Set<Long>> openTasksByAddress = new HashMap<>();
+    private final Map<Long, Long> addressByTask = new HashMap<>();
+    private final Map<Long, Set<Long>> grid = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    //sets or moves the location of an address; null coordinates remove it from the grid
+    public void putAddress(Long addressId, Double latitude, Double longitude) {
+        lock.writeLock().lock();
+        try {
+            leaveGrid(addressId);
+            if (latitude == null || longitude == null) {
+                addressPoints.remove(addressId);
+                return;
+            }
+            addressPoints.put(addressId, new Point(latitude, longitude, cellOf(latitude, longitude)));
+            if (openTasksByAddress.containsKey(addressId)) {
+                joinGrid(addressId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeAddress(Long addressId) {
+        lock.writeLock().lock();
+        try {
+            leaveGrid(addressId);
+            addressPoints.remove(addressId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //marks the task as OPEN at the given address
+    public void putOpenTask(Long taskId, Long addressId) {
+        lock.writeLock().lock();
+        try {
+            removeTaskUnderLock(taskId);
+            addressByTask.put(taskId, addressId);
+            Set<Long> tasks = openTasksByAddress.computeIfAbsent(addressId, id -> new HashSet<>());
+            tasks.add(taskId);
+            if (tasks.size() == 1 && addressPoints.containsKey(addressId)) {
+                joinGrid(addressId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //the task left OPEN (or was deleted)
+    public void removeTask(Long taskId) {
+        lock.writeLock().lock();
+        try {
+            removeTaskUnderLock(taskId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            addressPoints.clear();
+            openTasksByAddress.clear();
+            addressByTask.clear();
+            grid.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //OPEN tasks within radiusKm of the point, closest first
+    public List<NearbyHit> findNearby(double latitude, double longitude, double radiusKm, int limit) {
+        //bounding box of the circle in cells; longitude degrees shrink towards the poles
+        double latSpan = radiusKm / KM_PER_DEGREE;
+        double cosLat = Math.cos(Math.toRadians(latitude));
+        double lonSpan = cosLat < 1e-6 ? 360 : radiusKm / (KM_PER_DEGREE * cosLat);
+
+        int minLatCell = Math.max(0, latIndex(latitude - latSpan));
+        int maxLatCell = Math.min(LAT_CELLS - 1, latIndex(latitude + latSpan));
+        int lonCellCount = Math.min(LON_CELLS, (int) Math.ceil(2 * lonSpan / CELL_DEGREES) + 1);
+        int firstLonCell = lonIndex(longitude - lonSpan);
+
+        List<NearbyHit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+                for (int i = 0; i < lonCellCount; i++) {
+                    //wraps around the antimeridian
+                    int lonCell = Math.floorMod(firstLonCell + i, LON_CELLS);
+                    Set<Long> addresses = grid.get(cellKey(latCell, lonCell));
+                    if (addresses == null) {
+                        continue;
+                    }
+                    for (Long addressId : addresses) {
+                        Point point = addressPoints.get(addressId);
+                        double distance = distanceKm(latitude, longitude, point.latitude(), point.longitude());
+                        if (distance <= radiusKm) {
+                            for (Long taskId : openTasksByAddress.get(addressId)) {
+                                hits.add(new NearbyHit(taskId, distance));
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.sort(Comparator.comparingDouble(NearbyHit::distanceKm).thenComparing(NearbyHit::taskId));
+        return hits.size() > limit ? List.copyOf(hits.subList(0, limit)) : hits;
+    }
+
+    //haversine great-circle distance
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private void removeTaskUnderLock(Long taskId) {
+        Long addressId = addressByTask.remove(taskId);
+        if (addressId == null) {
+            return;
+        }
+        Set<Long> tasks = openTasksByAddress.get(addressId);
+        tasks.remove(taskId);
+        if (tasks.isEmpty()) {
+            openTasksByAddress.remove(addressId);
+            leaveGrid(addressId);
+        }
+    }
+
+    private void joinGrid(Long addressId) {
+        grid.computeIfAbsent(addressPoints.get(addressId).cell(), cell -> new HashSet<>()).add(addressId);
+    }
+
+    private void leaveGrid(Long addressId) {
+        Point point = addressPoints.get(addressId);
+        if (point == null) {
+            return;
+        }
+        Set<Long> addresses = grid.get(point.cell());
+        if (addresses != null) {
+            addresses.remove(addressId);
+            if (addresses.isEmpty()) {
+                grid.remove(point.cell());
+            }
+        }
+    }
+
+    private static long cellOf(double latitude, double longitude) {
+        return cellKey(Math.min(LAT_CELLS - 1, latIndex(latitude)), lonIndex(longitude));
+    }
+
+    private static int latIndex(double latitude) {
+        return (int) Math.floor((latitude + 90) / CELL_DEGREES);
+    }
+
+    private static int lonIndex(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), LON_CELLS);
+    }
+
+    private static long cellKey(int latCell, int lonCell) {
+        return (long) latCell * LON_CELLS + lonCell;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.task_connect.search;
+
+import com.example.task_connect.model.enums.TaskStatus;
+import com.example.task_connect.repository.AddressRepository;
+import com.example.task_connect.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+//fills the geo index at startup: first every address with coordinates, then every OPEN task
+//both are read in keyset chunks, like TaskSearchIndexLoader
+@Component
+public class TaskGeoIndexLoader {
+    private static final Logger log = LoggerFactory.getLogger(TaskGeoIndexLoader.class);
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final AddressRepository addressRepository;
+    private final TaskRepository taskRepository;
+    private final TaskGeoIndex geoIndex;
+
+    public TaskGeoIndexLoader(AddressRepository addressRepository, TaskRepository taskRepository, TaskGeoIndex geoIndex) {
+        this.addressRepository = addressRepository;
+        this.taskRepository = taskRepository;
+        this.geoIndex = geoIndex;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        geoIndex.clear();
+
+        long afterId = 0;
+        List<AddressLocation> locations;
+        do {
+            locations = addressRepository.findLocations(afterId, Limit.of(CHUNK_SIZE));
+            locations.forEach(l -> geoIndex.putAddress(l.addressId(), l.latitude(), l.longitude()));
+            if (!locations.isEmpty()) {
+                afterId = locations.get(locations.size() - 1).addressId();
+            }
+        } while (locations.size() == CHUNK_SIZE);
+
+        afterId = 0;
+        int openTasks = 0;
+        List<TaskLocation> tasks;
+        do {
+            tasks = taskRepository.findTaskLocations(TaskStatus.OPEN, afterId, Limit.of(CHUNK_SIZE));
+            tasks.forEach(t -> geoIndex.putOpenTask(t.taskId(), t.addressId()));
+            openTasks += tasks.size();
+            if (!tasks.isEmpty()) {
+                afterId = tasks.get(tasks.size() - 1).taskId();
+            }
+        } while (tasks.size() == CHUNK_SIZE);
+
+        log.info("Geo index built with {} open tasks in {} ms", openTasks, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.task_connect.search;
+
+//which address a task is at, as loaded into the geo index
+public record TaskLocation(Long taskId, Long addressId) {}
@@ -0,0 +1,20 @@
+package com.example.task_connect.search;
+
+import com.example.task_connect.model.enums.TaskStatus;
+
+//full-text index over task title and description
+//the app only talks to this interface, so the in-memory implementation can be
+//swapped for another engine (e.g. Lucene) without touching services or listeners
+public interface TaskSearchIndex {
+
+    //adds the task, or replaces what was indexed for it before
+    void index(TaskDocument document);
+
+    void remove(Long taskId);
+
+    void clear();
+
+    //status and categoryId are optional filters (null = any)
+    //offset/limit select the page of the ranked hits
+    SearchResult search(String query, TaskStatus status, Long categoryId, int offset, int limit);
+}
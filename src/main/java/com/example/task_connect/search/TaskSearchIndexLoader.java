@@ -0,0 +1,48 @@
+package com.example.task_connect.search;
+
+import com.example.task_connect.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+//fills the in-memory index from the database when the app starts
+//reads tasks in keyset chunks so the whole table is never held in memory at once
+@Component
+public class TaskSearchIndexLoader {
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchIndexLoader.class);
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final TaskRepository taskRepository;
+    private final TaskSearchIndex searchIndex;
+
+    public TaskSearchIndexLoader(TaskRepository taskRepository, TaskSearchIndex searchIndex) {
+        this.taskRepository = taskRepository;
+        this.searchIndex = searchIndex;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        searchIndex.clear();
+
+        long afterId = 0;
+        int indexed = 0;
+        List<TaskDocument> chunk;
+        do {
+            chunk = taskRepository.findSearchDocuments(afterId, Limit.of(CHUNK_SIZE));
+            chunk.forEach(searchIndex::index);
+            indexed += chunk.size();
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1).id();
+            }
+        } while (chunk.size() == CHUNK_SIZE);
+
+        log.info("Search index built with {} tasks in {} ms", indexed, System.currentTimeMillis() - start);
+    }
+}
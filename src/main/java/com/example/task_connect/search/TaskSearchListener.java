@@ -0,0 +1,69 @@
+package com.example.task_connect.search;
+
+import com.example.task_connect.model.Task;
+import com.example.task_connect.model.enums.TaskStatus;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+//JPA entity listener on Task that keeps the search and geo indexes in sync with the database
+//the index is only touched after the transaction commits, so a rollback never leaves
+//a task searchable that does not exist (or with text that was never saved)
+//created by Hibernate through Spring, the indexes are looked up lazily so the listener also
+//works in test slices where no index bean exists
+public class TaskSearchListener {
+
+    private final ObjectProvider<TaskSearchIndex> searchIndex;
+    private final ObjectProvider<TaskGeoIndex> geoIndex;
+
+    public TaskSearchListener(ObjectProvider<TaskSearchIndex> searchIndex, ObjectProvider<TaskGeoIndex> geoIndex) {
+        this.searchIndex = searchIndex;
+        this.geoIndex = geoIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Task task) {
+        //snapshot now: the entity may change again before the commit
+        TaskDocument document = TaskDocument.from(task);
+        //only the address id is needed, reading it from the proxy does not load the address
+        Long addressId = task.getAddress() != null ? task.getAddress().getId() : null;
+        boolean open = task.getStatus() == TaskStatus.OPEN && addressId != null;
+
+        afterCommit(() -> {
+            searchIndex.ifAvailable(index -> index.index(document));
+            geoIndex.ifAvailable(index -> {
+                if (open) {
+                    index.putOpenTask(document.id(), addressId);
+                } else {
+                    index.removeTask(document.id());
+                }
+            });
+        });
+    }
+
+    @PostRemove
+    public void onRemove(Task task) {
+        Long taskId = task.getId();
+        afterCommit(() -> {
+            searchIndex.ifAvailable(index -> index.remove(taskId));
+            geoIndex.ifAvailable(index -> index.removeTask(taskId));
+        });
+    }
+
+    static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
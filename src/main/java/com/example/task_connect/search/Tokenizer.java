@@ -0,0 +1,38 @@
+package com.example.task_connect.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+//turns text into index terms: lowercase, diacritics removed ("instalație" -> "instalatie"),
+//split on anything that is not a letter or digit, stop words and single characters dropped
+final class Tokenizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "an", "and", "are", "at", "be", "by", "for", "from", "in", "is", "it", "of", "on", "or",
+            "the", "to", "with", "si", "de", "la", "cu", "pe", "un", "din", "sau", "pentru"
+    );
+
+    private Tokenizer() {}
+
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        for (String token : SEPARATORS.split(normalized.toLowerCase(Locale.ROOT))) {
+            if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+}
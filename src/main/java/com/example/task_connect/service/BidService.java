@@ -1,45 +1,147 @@
 package com.example.task_connect.service;
 
+import com.example.task_connect.dto.BidBatchItemDTO;
+import com.example.task_connect.dto.BidBatchRequestDTO;
+import com.example.task_connect.dto.BidBatchResponseDTO;
+import com.example.task_connect.dto.BidBatchResultDTO;
+import com.example.task_connect.dto.BidListingDTO;
+import com.example.task_connect.dto.BidPageDTO;
 import com.example.task_connect.dto.BidRequestDTO;
+import com.example.task_connect.dto.BidSort;
+import com.example.task_connect.dto.BidView;
+import com.example.task_connect.event.BidSubmittedEvent;
+import com.example.task_connect.event.DomainEventOutbox;
 import com.example.task_connect.exception.ResourceNotFoundException;
 import com.example.task_connect.exception.UserNotFoundException;
+import com.example.task_connect.metrics.DomainMetrics;
 import com.example.task_connect.model.*;
+import com.example.task_connect.model.enums.BidStatus;
 import com.example.task_connect.model.enums.TaskStatus;
 import com.example.task_connect.repository.BidRepository;
 import com.example.task_connect.repository.TaskRepository;
 import com.example.task_connect.repository.UserRepository;
+import com.example.task_connect.stream.BidStreamHub;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.OptimisticLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.resilience.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Timed(value = "taskconnect.service", description = "Service method latency", histogram = true)
 @Service
 public class BidService {
 
+    private static final String TASK_NOT_OPEN = "Bids can only be submitted for OPEN tasks.";
+    private static final String SELF_BID = "You cannot bid on your own task.";
+    private static final int MAX_BID_PAGE_SIZE = 100;
+
+    //first-page bounds of the two seeks: below every amount (min 0.01) and above every rating (max 5)
+    private static final BigDecimal FIRST_PAGE_AMOUNT = BigDecimal.ZERO;
+    private static final BigDecimal FIRST_PAGE_RATING = BigDecimal.TEN;
+
     private final BidRepository bidRepository;
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final DomainMetrics domainMetrics;
+    private final DomainEventOutbox domainEventOutbox;
+    private final BidStreamHub bidStreamHub;
 
-    public BidService(BidRepository bidRepository, TaskRepository taskRepository, UserRepository userRepository) {
+    public BidService(BidRepository bidRepository, TaskRepository taskRepository, UserRepository userRepository,
+                      DomainMetrics domainMetrics, DomainEventOutbox domainEventOutbox, BidStreamHub bidStreamHub) {
         this.bidRepository = bidRepository;
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
+        this.domainMetrics = domainMetrics;
+        this.domainEventOutbox = domainEventOutbox;
+        this.bidStreamHub = bidStreamHub;
+    }
+
+    //keyset page of a task's bids: a non-empty page costs exactly one query, however many bids the task has
+    //the cursor is "<amount or rating>:<bid id>" of the last row of the previous page
+    @Transactional(readOnly = true)
+    public BidPageDTO getBids(Long taskId, BidStatus status, BidSort sort, String cursor, int size) {
+        if (size < 1 || size > MAX_BID_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_BID_PAGE_SIZE);
+        }
+        BidSort order = sort != null ? sort : BidSort.AMOUNT;
+
+        BigDecimal afterValue = order == BidSort.AMOUNT ? FIRST_PAGE_AMOUNT : FIRST_PAGE_RATING;
+        long afterId = 0;
+        if (cursor != null) {
+            int separator = cursor.lastIndexOf(':');
+            try {
+                afterValue = new BigDecimal(cursor.substring(0, separator));
+                afterId = Long.parseLong(cursor.substring(separator + 1));
+            } catch (NumberFormatException | StringIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+
+        //fetch one extra row to know whether another page exists without a COUNT query
+        Limit limit = Limit.of(size + 1);
+        List<BidListingDTO> rows = order == BidSort.AMOUNT
+                ? bidRepository.findPageByAmount(taskId, status, afterValue, afterId, limit)
+                : bidRepository.findPageByTaskerRating(taskId, status, afterValue, afterId, limit);
+
+        //an empty first page is the only case that needs to tell "no bids" from "no task"
+        if (rows.isEmpty() && cursor == null && !taskRepository.existsById(taskId)) {
+            throw new ResourceNotFoundException("Task not found with ID: " + taskId);
+        }
+        if (rows.size() <= size) {
+            return new BidPageDTO(rows, null);
+        }
+
+        List<BidListingDTO> page = rows.subList(0, size);
+        BidListingDTO last = page.get(size - 1);
+        BigDecimal lastValue = order == BidSort.AMOUNT
+                ? last.amount()
+                : Objects.requireNonNullElse(last.taskerRating(), BigDecimal.ZERO);
+        return new BidPageDTO(List.copyOf(page), lastValue.toPlainString() + ":" + last.id());
     }
 
+    //opens a live stream of the bids submitted on a task from now on
+    @Transactional(readOnly = true)
+    public SseEmitter openBidStream(Long taskId) {
+        if (!taskRepository.existsById(taskId)) {
+            throw new ResourceNotFoundException("Task not found with ID: " + taskId);
+        }
+        return bidStreamHub.subscribe(taskId);
+    }
+
+    //a bid whose task was assigned while it ran fails the version check on commit and is retried here,
+    //the retry then sees the task is no longer OPEN
+    @Retryable(includes = {OptimisticLockingFailureException.class, OptimisticLockException.class},
+            maxRetries = 3, delay = 50, multiplier = 2, jitter = 25)
     @Transactional
     public Bid submitBid(Long taskId, BidRequestDTO dto) {
-        Task task = taskRepository.findById(taskId)
+        Task task = taskRepository.findForBiddingById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with ID: " + taskId));
 
         if (task.getStatus() != TaskStatus.OPEN) {
-            throw new IllegalStateException("Bids can only be submitted for OPEN tasks.");
+            domainMetrics.bidRejectedTaskNotOpen();
+            throw new IllegalStateException(TASK_NOT_OPEN);
         }
 
-        User tasker = userRepository.findById(dto.getTaskerId())
-                .orElseThrow(() -> new UserNotFoundException("Tasker not found with ID: " + dto.getTaskerId()));
-
-        if (task.getRequester().getId().equals(tasker.getId())) {
-            throw new IllegalStateException("You cannot bid on your own task.");
+        //only the ids matter here: the requester id is read from the foreign key of the
+        //loaded task, and the tasker is checked for existence and attached as a proxy
+        Long taskerId = dto.getTaskerId();
+        if (task.getRequester().getId().equals(taskerId)) {
+            domainMetrics.selfBidAttempt();
+            throw new IllegalStateException(SELF_BID);
         }
 
+        if (!userRepository.existsById(taskerId)) {
+            throw new UserNotFoundException("Tasker not found with ID: " + taskerId);
+        }
+        User tasker = userRepository.getReferenceById(taskerId);
 
         Bid bid = new Bid();
         bid.setAmount(dto.getAmount());
@@ -48,6 +150,88 @@ public class BidService {
         bid.setTask(task);
         bid.setTasker(tasker);
 
-        return bidRepository.save(bid);
+        Bid savedBid = bidRepository.save(bid);
+        domainEventOutbox.append(new BidSubmittedEvent(taskId, savedBid.getId(), taskerId, savedBid.getAmount()));
+        bidStreamHub.publishAfterCommit(BidView.from(savedBid));
+        return savedBid;
+    }
+
+    //validates every bid on its own and saves the valid ones with batched inserts
+    //an invalid bid is reported in the results and does not stop the rest of the batch
+    @Retryable(includes = {OptimisticLockingFailureException.class, OptimisticLockException.class},
+            maxRetries = 3, delay = 50, multiplier = 2, jitter = 25)
+    @Transactional
+    public BidBatchResponseDTO submitBids(BidBatchRequestDTO dto) {
+        Long taskerId = dto.getTaskerId();
+        if (!userRepository.existsById(taskerId)) {
+            throw new UserNotFoundException("Tasker not found with ID: " + taskerId);
+        }
+        User tasker = userRepository.getReferenceById(taskerId);
+
+        //one query for every task in the batch instead of one lookup per bid
+        Set<Long> taskIds = dto.getBids().stream()
+                .map(BidBatchItemDTO::getTaskId)
+                .collect(Collectors.toSet());
+        Map<Long, Task> tasks = taskRepository.findAllWithTransactionByIdIn(taskIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<BidBatchResultDTO> results = new ArrayList<>();
+        Map<Integer, Bid> createdByIndex = new LinkedHashMap<>();
+        Set<Long> seenTaskIds = new HashSet<>();
+
+        for (int i = 0; i < dto.getBids().size(); i++) {
+            BidBatchItemDTO item = dto.getBids().get(i);
+            Task task = tasks.get(item.getTaskId());
+
+            String error = null;
+            if (!seenTaskIds.add(item.getTaskId())) {
+                error = "Only one bid per task is allowed in a batch.";
+            } else if (task == null) {
+                error = "Task not found with ID: " + item.getTaskId();
+            } else if (task.getStatus() != TaskStatus.OPEN) {
+                error = TASK_NOT_OPEN;
+                domainMetrics.bidRejectedTaskNotOpen();
+            } else if (task.getRequester().getId().equals(taskerId)) {
+                error = SELF_BID;
+                domainMetrics.selfBidAttempt();
+            }
+
+            if (error != null) {
+                results.add(BidBatchResultDTO.rejected(i, item.getTaskId(), error));
+                continue;
+            }
+
+            Bid bid = new Bid();
+            bid.setAmount(item.getAmount());
+            bid.setMessage(item.getMessage());
+            bid.setTask(task);
+            bid.setTasker(tasker);
+            createdByIndex.put(i, bid);
+            results.add(null);
+        }
+
+        if (createdByIndex.isEmpty()) {
+            return new BidBatchResponseDTO(0, results.size(), results);
+        }
+
+        //same race protection as submitBid: if any task left OPEN since it was read, retry the whole batch
+        Set<Long> biddedTaskIds = createdByIndex.values().stream()
+                .map(bid -> bid.getTask().getId())
+                .collect(Collectors.toSet());
+        if (taskRepository.countByIdInAndStatus(biddedTaskIds, TaskStatus.OPEN) != biddedTaskIds.size()) {
+            throw new OptimisticLockingFailureException("A task in the batch changed status while bidding.");
+        }
+
+        //sequence ids are assigned on persist, the INSERTs themselves go out as one JDBC batch on flush
+        bidRepository.saveAll(new ArrayList<>(createdByIndex.values()));
+        domainEventOutbox.appendAll(createdByIndex.values().stream()
+                .map(bid -> new BidSubmittedEvent(bid.getTask().getId(), bid.getId(), taskerId, bid.getAmount()))
+                .toList());
+        createdByIndex.forEach((index, bid) -> {
+            results.set(index, BidBatchResultDTO.created(index, bid.getTask().getId(), bid.getId()));
+            bidStreamHub.publishAfterCommit(BidView.from(bid));
+        });
+
+        return new BidBatchResponseDTO(createdByIndex.size(), results.size() - createdByIndex.size(), results);
     }
-}
\ No newline at end of file
+}
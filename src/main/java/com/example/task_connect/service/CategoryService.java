@@ -0,0 +1,37 @@
+package com.example.task_connect.service;
+
+import com.example.task_connect.dto.CategoryStatsDTO;
+import com.example.task_connect.repository.CategoryStatsRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+//GET /api/categories is served from one in-memory snapshot of every category with its task stats.
+//after refresh-interval the next request still gets the snapshot it has and triggers a reload in the background,
+//so readers never wait for the database unless the snapshot is older than ten intervals (no traffic for a while).
+//the numbers are at most one refresh behind the committed writes, on this instance and on every other one
+@Timed(value = "taskconnect.service", description = "Service method latency", histogram = true)
+@Service
+public class CategoryService {
+
+    private static final String ALL = "all";
+
+    private final LoadingCache<String, List<CategoryStatsDTO>> snapshot;
+
+    public CategoryService(CategoryStatsRepository categoryStatsRepository,
+                           @Value("${taskconnect.categories.stats.refresh-interval:5s}") Duration refreshInterval) {
+        this.snapshot = Caffeine.newBuilder()
+                .refreshAfterWrite(refreshInterval)
+                .expireAfterWrite(refreshInterval.multipliedBy(10))
+                .build(key -> List.copyOf(categoryStatsRepository.findAllWithStats()));
+    }
+
+    public List<CategoryStatsDTO> getCategories() {
+        return snapshot.get(ALL);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.task_connect.service;
+
+import com.example.task_connect.dto.CategoryTaskTotals;
+import com.example.task_connect.metrics.DomainMetrics;
+import com.example.task_connect.model.CategoryStats;
+import com.example.task_connect.model.enums.TaskStatus;
+import com.example.task_connect.repository.CategoryRepository;
+import com.example.task_connect.repository.CategoryStatsRepository;
+import com.example.task_connect.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+//creates the CategoryStats slots of categories that have none and repairs the ones that drifted from the tasks.
+//a category is checked in its own transaction holding the locks of all its slots, so no status change of the
+//category commits between computing its totals and overwriting them; other categories are not blocked
+@Service
+public class CategoryStatsReconciliationService {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryStatsReconciliationService.class);
+
+    private final CategoryStatsRepository categoryStatsRepository;
+    private final CategoryRepository categoryRepository;
+    private final TaskRepository taskRepository;
+    private final DomainMetrics domainMetrics;
+    private final TransactionTemplate transactionTemplate;
+
+    public CategoryStatsReconciliationService(CategoryStatsRepository categoryStatsRepository,
+                                              CategoryRepository categoryRepository, TaskRepository taskRepository,
+                                              DomainMetrics domainMetrics, PlatformTransactionManager transactionManager) {
+        this.categoryStatsRepository = categoryStatsRepository;
+        this.categoryRepository = categoryRepository;
+        this.taskRepository = taskRepository;
+        this.domainMetrics = domainMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        //also called from afterCommit of a task write, where the finished transaction is still bound to the thread
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    //backfill for categories that existed before the stats table, or were inserted directly into the database
+    @EventListener(ApplicationReadyEvent.class)
+    public void createMissingStats() {
+        List<Long> categoryIds = categoryStatsRepository.findCategoryIdsWithoutStats();
+        categoryIds.forEach(this::reconcile);
+        if (!categoryIds.isEmpty()) {
+            log.info("Created task stats for {} categories", categoryIds.size());
+        }
+    }
+
+    @Scheduled(cron = "${taskconnect.categories.stats.reconcile-cron:0 45 3 * * *}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    //returns how many categories were repaired
+    public int reconcile() {
+        List<Long> categoryIds = categoryRepository.findAllIds();
+        int repaired = 0;
+        for (Long categoryId : categoryIds) {
+            if (reconcile(categoryId)) {
+                repaired++;
+            }
+        }
+
+        if (repaired > 0) {
+            domainMetrics.categoryStatsDrift(repaired);
+            log.warn("Category stats reconciliation repaired {} of {} categories", repaired, categoryIds.size());
+        } else {
+            log.info("Category stats reconciliation checked {} categories, no drift", categoryIds.size());
+        }
+        return repaired;
+    }
+
+    //true when existing stats were wrong and have been overwritten; creating missing slots is not drift.
+    //failures are logged and left to the next run, e.g. another instance inserting the same slots first
+    public boolean reconcile(Long categoryId) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> reconcileCategory(categoryId)));
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Could not reconcile the task stats of category {}: {}", categoryId, e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean reconcileCategory(Long categoryId) {
+        List<CategoryStats> slots = new ArrayList<>(categoryStatsRepository.findByCategoryIdOrderBySlot(categoryId));
+        boolean existed = !slots.isEmpty();
+        if (slots.size() < CategoryStats.SLOTS) {
+            List<Integer> present = slots.stream().map(CategoryStats::getSlot).toList();
+            for (int slot = 0; slot < CategoryStats.SLOTS; slot++) {
+                if (!present.contains(slot)) {
+                    slots.add(categoryStatsRepository.save(new CategoryStats(categoryId, slot)));
+                }
+            }
+            slots.sort(Comparator.comparingInt(CategoryStats::getSlot));
+        }
+
+        CategoryTaskTotals actual = taskRepository.computeCategoryTotals(categoryId, TaskStatus.OPEN, TaskStatus.ASSIGNED);
+        if (sum(slots).matches(actual)) {
+            return false;
+        }
+
+        slots.get(0).overwrite(actual.openCount(), actual.assignedCount(), actual.budgetCount(), actual.budgetSum(),
+                actual.budgetMin(), actual.budgetMax());
+        slots.subList(1, slots.size()).forEach(CategoryStats::clear);
+        return existed;
+    }
+
+    private static CategoryTaskTotals sum(List<CategoryStats> slots) {
+        long open = 0;
+        long assigned = 0;
+        long budgetCount = 0;
+        BigDecimal budgetSum = BigDecimal.ZERO;
+        BigDecimal budgetMin = null;
+        BigDecimal budgetMax = null;
+        for (CategoryStats slot : slots) {
+            open += slot.getOpenCount();
+            assigned += slot.getAssignedCount();
+            budgetCount += slot.getBudgetCount();
+            budgetSum = budgetSum.add(slot.getBudgetSum());
+            if (slot.getBudgetMin() != null && (budgetMin == null || slot.getBudgetMin().compareTo(budgetMin) < 0)) {
+                budgetMin = slot.getBudgetMin();
+            }
+            if (slot.getBudgetMax() != null && (budgetMax == null || slot.getBudgetMax().compareTo(budgetMax) > 0)) {
+                budgetMax = slot.getBudgetMax();
+            }
+        }
+        return new CategoryTaskTotals(open, assigned, budgetCount, budgetSum, budgetMin, budgetMax);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.task_connect.service;
+
+import com.example.task_connect.dto.ProfileRatingTotals;
+import com.example.task_connect.dto.RatingTotals;
+import com.example.task_connect.etag.UserVersionCache;
+import com.example.task_connect.metrics.DomainMetrics;
+import com.example.task_connect.repository.ProfileRepository;
+import com.example.task_connect.repository.ReviewRepository;
+import com.example.task_connect.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+//drift detection for the running rating totals on Profile: walks the profiles in keyset chunks,
+//recomputes each chunk's totals from the reviews table with two grouped queries, and repairs the
+//profiles that disagree. every chunk is its own short transaction
+@Service
+public class RatingReconciliationService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private static final Logger log = LoggerFactory.getLogger(RatingReconciliationService.class);
+    private static final RatingTotals NONE = new RatingTotals(null, 0, 0);
+
+    private final ProfileRepository profileRepository;
+    private final ReviewRepository reviewRepository;
+    private final UserRepository userRepository;
+    private final UserVersionCache userVersionCache;
+    private final DomainMetrics domainMetrics;
+    private final TransactionTemplate transactionTemplate;
+
+    public RatingReconciliationService(ProfileRepository profileRepository, ReviewRepository reviewRepository,
+                                       UserRepository userRepository, UserVersionCache userVersionCache,
+                                       DomainMetrics domainMetrics, PlatformTransactionManager transactionManager) {
+        this.profileRepository = profileRepository;
+        this.reviewRepository = reviewRepository;
+        this.userRepository = userRepository;
+        this.userVersionCache = userVersionCache;
+        this.domainMetrics = domainMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${taskconnect.ratings.reconcile-cron:0 30 3 * * *}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    //returns how many profiles were repaired
+    public int reconcile() {
+        long afterId = 0;
+        int checked = 0;
+        int repaired = 0;
+        while (true) {
+            List<ProfileRatingTotals> chunk = profileRepository.findRatingTotals(afterId, Limit.of(CHUNK_SIZE));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            Integer repairedInChunk = transactionTemplate.execute(status -> reconcileChunk(chunk));
+            repaired += repairedInChunk != null ? repairedInChunk : 0;
+            checked += chunk.size();
+            afterId = chunk.get(chunk.size() - 1).userId();
+        }
+
+        if (repaired > 0) {
+            domainMetrics.ratingDrift(repaired);
+            log.warn("Rating reconciliation repaired {} of {} profiles", repaired, checked);
+        } else {
+            log.info("Rating reconciliation checked {} profiles, no drift", checked);
+        }
+        return repaired;
+    }
+
+    private int reconcileChunk(List<ProfileRatingTotals> chunk) {
+        List<Long> userIds = chunk.stream().map(ProfileRatingTotals::userId).toList();
+        Map<Long, RatingTotals> taskerTotals = byUser(reviewRepository.sumTaskerRatings(userIds));
+        Map<Long, RatingTotals> requesterTotals = byUser(reviewRepository.sumRequesterRatings(userIds));
+
+        int repaired = 0;
+        for (ProfileRatingTotals stored : chunk) {
+            Long userId = stored.userId();
+            RatingTotals tasker = taskerTotals.getOrDefault(userId, NONE);
+            RatingTotals requester = requesterTotals.getOrDefault(userId, NONE);
+            boolean drifted = false;
+
+            if (tasker.sum() != stored.taskerRatingSum() || tasker.count() != stored.taskerRatingCount()) {
+                drifted |= profileRepository.repairTaskerRating(userId, stored.taskerRatingSum(),
+                        stored.taskerRatingCount(), tasker.sum(), tasker.count(), tasker.average()) > 0;
+            }
+            if (requester.sum() != stored.requesterRatingSum() || requester.count() != stored.requesterRatingCount()) {
+                drifted |= profileRepository.repairRequesterRating(userId, stored.requesterRatingSum(),
+                        stored.requesterRatingCount(), requester.sum(), requester.count(), requester.average()) > 0;
+            }
+            if (drifted) {
+                userRepository.incrementVersion(userId);
+                userVersionCache.evictAfterCommit(userId);
+                repaired++;
+            }
+        }
+        return repaired;
+    }
+
+    private static Map<Long, RatingTotals> byUser(List<RatingTotals> totals) {
+        return totals.stream().collect(Collectors.toMap(RatingTotals::userId, Function.identity()));
+    }
+}
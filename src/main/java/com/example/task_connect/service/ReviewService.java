@@ -0,0 +1,105 @@
+package com.example.task_connect.service;
+
+import com.example.task_connect.dto.ReviewRequestDTO;
+import com.example.task_connect.etag.UserVersionCache;
+import com.example.task_connect.exception.ResourceNotFoundException;
+import com.example.task_connect.model.Profile;
+import com.example.task_connect.model.Review;
+import com.example.task_connect.model.Task;
+import com.example.task_connect.model.enums.TaskStatus;
+import com.example.task_connect.repository.ProfileRepository;
+import com.example.task_connect.repository.ReviewRepository;
+import com.example.task_connect.repository.TaskRepository;
+import com.example.task_connect.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Timed(value = "taskconnect.service", description = "Service method latency", histogram = true)
+@Service
+public class ReviewService {
+
+    private final ReviewRepository reviewRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final ProfileRepository profileRepository;
+    private final UserVersionCache userVersionCache;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ReviewService(ReviewRepository reviewRepository, TaskRepository taskRepository,
+                         UserRepository userRepository, ProfileRepository profileRepository,
+                         UserVersionCache userVersionCache, EntityManagerFactory entityManagerFactory) {
+        this.reviewRepository = reviewRepository;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.profileRepository = profileRepository;
+        this.userVersionCache = userVersionCache;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    //the requester reviews the tasker and the tasker reviews the requester, once each per completed task.
+    //the reviewed user's rating is updated in the same transaction with one UPDATE of the running totals,
+    //none of their earlier reviews are read
+    @Transactional
+    public Review submitReview(Long taskId, ReviewRequestDTO dto) {
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with ID: " + taskId));
+
+        if (task.getStatus() != TaskStatus.COMPLETED) {
+            throw new IllegalStateException("Only COMPLETED tasks can be reviewed.");
+        }
+
+        Long reviewerId = dto.getReviewerId();
+        Long requesterId = task.getRequester().getId();
+        Long taskerId = task.getTasker() != null ? task.getTasker().getId() : null;
+
+        boolean reviewingTasker = reviewerId.equals(requesterId);
+        if (!reviewingTasker && !reviewerId.equals(taskerId)) {
+            throw new IllegalArgumentException("Only the requester or the assigned tasker can review this task.");
+        }
+        Long reviewedId = reviewingTasker ? taskerId : requesterId;
+
+        if (reviewRepository.existsByTaskIdAndReviewerId(taskId, reviewerId)) {
+            throw new IllegalStateException("You have already reviewed this task.");
+        }
+
+        Review review = new Review();
+        review.setRating(dto.getRating());
+        review.setComments(dto.getComments());
+        review.setTask(task);
+        review.setReviewer(userRepository.getReferenceById(reviewerId));
+        review.setReviewed(userRepository.getReferenceById(reviewedId));
+        Review savedReview = reviewRepository.save(review);
+
+        int updated = reviewingTasker
+                ? profileRepository.addTaskerRating(reviewedId, dto.getRating())
+                : profileRepository.addRequesterRating(reviewedId, dto.getRating());
+        if (updated == 0) {
+            throw new ResourceNotFoundException("Profile not found for user with ID: " + reviewedId);
+        }
+        evictProfileAfterCommit(reviewedId);
+        //the rating is part of the reviewed user's representation, so its ETag has to change
+        userRepository.incrementVersion(reviewedId);
+        userVersionCache.evictAfterCommit(reviewedId);
+
+        return savedReview;
+    }
+
+    //the rating UPDATE bypasses the second-level cache, so the cached profile is dropped once the new totals
+    //are committed; evicting earlier would let a reader cache the old ones again
+    private void evictProfileAfterCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            entityManagerFactory.getCache().evict(Profile.class, userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entityManagerFactory.getCache().evict(Profile.class, userId);
+            }
+        });
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.task_connect.service;
+
+import com.example.task_connect.dto.NearbyTaskDTO;
+import com.example.task_connect.dto.TaskSearchDTO;
+import com.example.task_connect.dto.TaskSearchHitDTO;
+import com.example.task_connect.dto.TaskSummaryDTO;
+import com.example.task_connect.model.enums.TaskStatus;
+import com.example.task_connect.repository.TaskRepository;
+import com.example.task_connect.search.NearbyHit;
+import com.example.task_connect.search.SearchHit;
+import com.example.task_connect.search.SearchResult;
+import com.example.task_connect.search.TaskGeoIndex;
+import com.example.task_connect.search.TaskSearchIndex;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Timed(value = "taskconnect.service", description = "Service method latency", histogram = true)
+@Service
+public class TaskSearchService {
+    public static final int MAX_SEARCH_PAGE_SIZE = 100;
+    public static final int MAX_QUERY_LENGTH = 200;
+    //the index keeps offset + size hits in memory to cut a page, so deep pages are capped
+    public static final int MAX_SEARCH_OFFSET = 10_000;
+    public static final double MAX_NEARBY_RADIUS_KM = 100;
+    public static final int MAX_NEARBY_RESULTS = 100;
+
+    private final TaskSearchIndex searchIndex;
+    private final TaskGeoIndex geoIndex;
+    private final TaskRepository taskRepository;
+
+    public TaskSearchService(TaskSearchIndex searchIndex, TaskGeoIndex geoIndex, TaskRepository taskRepository) {
+        this.searchIndex = searchIndex;
+        this.geoIndex = geoIndex;
+        this.taskRepository = taskRepository;
+    }
+
+    //ranking and filtering happen in the index, the database is only asked for
+    //the summaries of the tasks on the requested page (one query by primary key)
+    public TaskSearchDTO search(String query, TaskStatus status, Long categoryId, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query cannot be empty");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query cannot exceed " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("Page cannot be negative");
+        }
+        if (size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+
+        //as a long: page * size overflows int for pages a client can still send
+        long offset = (long) page * size;
+        if (offset > MAX_SEARCH_OFFSET) {
+            throw new IllegalArgumentException("Page * size cannot exceed " + MAX_SEARCH_OFFSET);
+        }
+
+        SearchResult result = searchIndex.search(query, status, categoryId, (int) offset, size);
+        if (result.hits().isEmpty()) {
+            return new TaskSearchDTO(List.of(), page, size, result.totalHits());
+        }
+
+        Map<Long, TaskSummaryDTO> summaries = summariesById(result.hits().stream().map(SearchHit::taskId).toList());
+
+        //a task deleted after it was ranked has no summary, it is simply left out
+        List<TaskSearchHitDTO> items = result.hits().stream()
+                .filter(hit -> summaries.containsKey(hit.taskId()))
+                .map(hit -> new TaskSearchHitDTO(summaries.get(hit.taskId()), hit.score()))
+                .toList();
+        return new TaskSearchDTO(items, page, size, result.totalHits());
+    }
+
+    //OPEN tasks within radiusKm of the point, closest first
+    //the geo index does the distance work, the database only returns the summaries
+    public List<NearbyTaskDTO> findNearby(double latitude, double longitude, double radiusKm, int limit) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Latitude must be between -90 and 90 and longitude between -180 and 180");
+        }
+        if (radiusKm <= 0 || radiusKm > MAX_NEARBY_RADIUS_KM) {
+            throw new IllegalArgumentException("Radius must be greater than 0 and at most " + (int) MAX_NEARBY_RADIUS_KM + " km");
+        }
+        if (limit < 1 || limit > MAX_NEARBY_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_NEARBY_RESULTS);
+        }
+
+        List<NearbyHit> hits = geoIndex.findNearby(latitude, longitude, radiusKm, limit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, TaskSummaryDTO> summaries = summariesById(hits.stream().map(NearbyHit::taskId).toList());
+
+        //the index is updated after commit, so a task assigned a moment ago can still be in it
+        return hits.stream()
+                .filter(hit -> summaries.containsKey(hit.taskId())
+                        && summaries.get(hit.taskId()).status() == TaskStatus.OPEN)
+                .map(hit -> new NearbyTaskDTO(summaries.get(hit.taskId()), hit.distanceKm()))
+                .toList();
+    }
+
+    private Map<Long, TaskSummaryDTO> summariesById(List<Long> ids) {
+        return taskRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(TaskSummaryDTO::id, Function.identity()));
+    }
+}
@@ -1,42 +1,77 @@
 package com.example.task_connect.service;
 
+import com.example.task_connect.dto.TaskFeedDTO;
 import com.example.task_connect.dto.TaskRequestDTO;
+import com.example.task_connect.dto.TaskSummaryDTO;
+import com.example.task_connect.dto.TaskView;
+import com.example.task_connect.event.BidAcceptedEvent;
+import com.example.task_connect.event.BidsRejectedEvent;
+import com.example.task_connect.event.DomainEventOutbox;
+import com.example.task_connect.event.TaskCreatedEvent;
 import com.example.task_connect.exception.ResourceNotFoundException;
 import com.example.task_connect.exception.UserNotFoundException;
 import com.example.task_connect.model.*;
 import com.example.task_connect.model.enums.BidStatus;
 import com.example.task_connect.model.enums.TaskStatus;
 import com.example.task_connect.repository.*;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.transaction.Transactional;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.resilience.annotation.Retryable;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.util.List;
+
+//every public method is timed as taskconnect.service{class, method} with a latency histogram
+@Timed(value = "taskconnect.service", description = "Service method latency", histogram = true)
 @Service
 public class TaskService {
+    public static final int MAX_FEED_PAGE_SIZE = 100;
+
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
     private final AddressRepository addressRepository;
     private final BidRepository bidRepository;
+    private final DomainEventOutbox domainEventOutbox;
 
     public TaskService(TaskRepository taskRepository, UserRepository userRepository,
-                       CategoryRepository categoryRepository, AddressRepository addressRepository, BidRepository bidRepository) {
+                       CategoryRepository categoryRepository, AddressRepository addressRepository, BidRepository bidRepository,
+                       DomainEventOutbox domainEventOutbox) {
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
         this.categoryRepository = categoryRepository;
         this.addressRepository = addressRepository;
         this.bidRepository = bidRepository;
+        this.domainEventOutbox = domainEventOutbox;
     }
 
     @Transactional
     public Task createTask(TaskRequestDTO dto) {
-        User requester = userRepository.findById(dto.getRequesterId())
-                .orElseThrow(() -> new UserNotFoundException("Requester not found with ID: " + dto.getRequesterId()));
+        Long requesterId = dto.getRequesterId();
+        Long addressId = dto.getAddressId();
+
+        //the task only needs the foreign keys of requester and address, so they are checked
+        //for existence and attached as reference proxies instead of being loaded.
+        //an address row can only point to an existing user, so when the requester owns
+        //the address one query proves both exist
+        Long addressOwnerId = addressRepository.findUserIdById(addressId).orElse(null);
+        if (!requesterId.equals(addressOwnerId) && !userRepository.existsById(requesterId)) {
+            throw new UserNotFoundException("Requester not found with ID: " + requesterId);
+        }
+        if (addressOwnerId == null) {
+            throw new ResourceNotFoundException("Address not found with ID: " + addressId);
+        }
 
+        //categories live in the second-level cache, so this is usually not a query at all
         Category category = categoryRepository.findById(dto.getCategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with ID: " + dto.getCategoryId()));
 
-        Address address = addressRepository.findById(dto.getAddressId())
-                .orElseThrow(() -> new ResourceNotFoundException("Address not found with ID: " + dto.getAddressId()));
+        User requester = userRepository.getReferenceById(requesterId);
+        Address address = addressRepository.getReferenceById(addressId);
 
         //create the real entity and move the data from the DTO
         Task task = new Task();
@@ -48,9 +83,15 @@ public class TaskService {
         task.setCategory(category);
         task.setAddress(address);
 
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+        domainEventOutbox.append(new TaskCreatedEvent(savedTask.getId(), requesterId, category.getId()));
+        return savedTask;
     }
 
+    //on a version conflict the whole transaction is retried with a fresh read,
+    //so the loser of a race sees the task as ASSIGNED and fails the OPEN check
+    @Retryable(includes = {OptimisticLockingFailureException.class, OptimisticLockException.class},
+            maxRetries = 3, delay = 50, multiplier = 2, jitter = 25)
     @Transactional
     public void acceptBid(Long taskId, Long bidId) {
         Task task = taskRepository.findById(taskId)
@@ -71,10 +112,55 @@ public class TaskService {
         task.updateStatus(TaskStatus.ASSIGNED);
 
         task.setTasker(winningBid.getTasker());
-        task.getBids().stream()
-                .filter(bid -> !bid.getId().equals(bidId) && bid.getStatus() == BidStatus.PENDING)
-                .forEach(bid -> bid.updateStatus(BidStatus.REJECTED));
+
+        //reject the competing bids with one UPDATE instead of loading and updating them one by one
+        Bid.validateTransition(BidStatus.PENDING, BidStatus.REJECTED);
+        bidRepository.updateStatusOfOtherBids(taskId, bidId, BidStatus.PENDING, BidStatus.REJECTED);
 
         taskRepository.save(task);
+
+        //notifying the winner and the other bidders and opening the payment transaction happen
+        //later in the outbox listeners; here it is always two inserts, however many bids were rejected
+        domainEventOutbox.appendAll(List.of(
+                new BidAcceptedEvent(taskId, bidId, winningBid.getTasker().getId(), winningBid.getAmount()),
+                new BidsRejectedEvent(taskId, bidId)));
+    }
+
+    //the probe is a primary key lookup of one column, cheap enough that there is no cache to keep
+    //in step with the writes of other instances
+    public long findTaskVersion(Long taskId) {
+        return taskRepository.findVersionById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with ID: " + taskId));
+    }
+
+    public TaskView findTaskViewById(Long taskId) {
+        return taskRepository.findById(taskId)
+                .map(TaskView::from)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with ID: " + taskId));
+    }
+
+    public TaskFeedDTO getTaskFeed(TaskStatus status, Long categoryId, BigDecimal minBudget,
+                                   BigDecimal maxBudget, Long cursor, int size) {
+        if (size < 1 || size > MAX_FEED_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_FEED_PAGE_SIZE);
+        }
+        if (minBudget != null && maxBudget != null && minBudget.compareTo(maxBudget) > 0) {
+            throw new IllegalArgumentException("minBudget cannot be greater than maxBudget");
+        }
+
+        //no cursor means first page; a concrete upper bound keeps the seek predicate index-friendly
+        long beforeId = cursor != null ? cursor : Long.MAX_VALUE;
+        TaskStatus feedStatus = status != null ? status : TaskStatus.OPEN;
+
+        //fetch one extra row to know whether another page exists without a COUNT query
+        List<TaskSummaryDTO> rows = taskRepository.findFeedPage(
+                feedStatus, beforeId, categoryId, minBudget, maxBudget, Limit.of(size + 1));
+
+        if (rows.size() <= size) {
+            return new TaskFeedDTO(rows, null);
+        }
+
+        List<TaskSummaryDTO> page = rows.subList(0, size);
+        return new TaskFeedDTO(List.copyOf(page), page.get(size - 1).id());
     }
 }
@@ -0,0 +1,85 @@
+package com.example.task_connect.service;
+
+import com.example.task_connect.dto.RecommendedTaskerDTO;
+import com.example.task_connect.exception.ResourceNotFoundException;
+import com.example.task_connect.model.Profile;
+import com.example.task_connect.recommend.TaskToMatch;
+import com.example.task_connect.recommend.TaskerIndex;
+import com.example.task_connect.recommend.TaskerMatch;
+import com.example.task_connect.repository.ProfileRepository;
+import com.example.task_connect.repository.TaskRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+//a task is scored against the tasker index once, when it is created (TaskRecommendationListener) or first asked
+//for, and its ranking is kept until the index has been rebuilt since. the endpoint only reads the names and
+//current ratings of the taskers on the requested page from the database
+@Timed(value = "taskconnect.service", description = "Service method latency", histogram = true)
+@Service
+public class TaskerRecommendationService {
+    public static final int MAX_RECOMMENDATIONS = 50;
+
+    private final TaskRepository taskRepository;
+    private final ProfileRepository profileRepository;
+    private final TaskerIndex taskerIndex;
+    private final Cache<Long, List<TaskerMatch>> rankings;
+
+    public TaskerRecommendationService(TaskRepository taskRepository, ProfileRepository profileRepository,
+                                       TaskerIndex taskerIndex,
+                                       @Value("${taskconnect.recommendations.cache-size:10000}") long cacheSize,
+                                       @Value("${taskconnect.recommendations.rebuild-interval-ms:600000}") long rebuildIntervalMs) {
+        this.taskRepository = taskRepository;
+        this.profileRepository = profileRepository;
+        this.taskerIndex = taskerIndex;
+        this.rankings = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMillis(rebuildIntervalMs))
+                .build();
+    }
+
+    //the best MAX_RECOMMENDATIONS taskers for the task, best first
+    public List<TaskerMatch> rankTaskers(Long taskId) {
+        return rankings.get(taskId, id -> {
+            TaskToMatch task = taskRepository.findTaskToMatch(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Task not found with ID: " + id));
+            return taskerIndex.match(task, MAX_RECOMMENDATIONS);
+        });
+    }
+
+    public List<RecommendedTaskerDTO> getRecommendedTaskers(Long taskId, int limit) {
+        if (limit < 1 || limit > MAX_RECOMMENDATIONS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_RECOMMENDATIONS);
+        }
+
+        List<TaskerMatch> matches = rankTaskers(taskId);
+        if (matches.size() > limit) {
+            matches = matches.subList(0, limit);
+        }
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Profile> profiles = profileRepository.findAllById(matches.stream().map(TaskerMatch::taskerId).toList())
+                .stream()
+                .collect(Collectors.toMap(Profile::getId, Function.identity()));
+
+        //a tasker deleted since the index was built is skipped
+        return matches.stream()
+                .filter(match -> profiles.containsKey(match.taskerId()))
+                .map(match -> {
+                    Profile profile = profiles.get(match.taskerId());
+                    return new RecommendedTaskerDTO(match.taskerId(), profile.getFirstName(), profile.getLastName(),
+                            profile.getTaskerRating(), match.acceptedBids(), match.distanceKm(), match.score());
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.task_connect.service;
+
+import com.example.task_connect.bloom.RegisteredEmailFilter;
+import com.example.task_connect.dto.UserImportErrorDTO;
+import com.example.task_connect.dto.UserImportReportDTO;
+import com.example.task_connect.metrics.DomainMetrics;
+import com.example.task_connect.model.User;
+import com.example.task_connect.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+//bulk registration from NDJSON, one user per line in the same shape as POST /api/users.
+//the input is read line by line and only one chunk of users is held at a time, so the size of the
+//import does not matter. emails are checked against a set loaded once up front instead of one SELECT
+//per row, and every chunk is saved in its own transaction with JDBC-batched INSERTs (users, profiles and
+//addresses use pooled sequences). rows that cannot be saved are reported with their line number
+@Timed(value = "taskconnect.service", description = "Service method latency", histogram = true)
+@Service
+public class UserImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportService.class);
+    private static final ObjectReader USER_READER = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build()
+            .readerFor(User.class);
+    private static final String DUPLICATE_EMAIL = "Email is already registered or appears earlier in the file.";
+
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final DomainMetrics domainMetrics;
+    private final RegisteredEmailFilter registeredEmails;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+    private final long progressInterval;
+
+    public UserImportService(UserRepository userRepository, EntityManager entityManager, Validator validator,
+                             DomainMetrics domainMetrics, RegisteredEmailFilter registeredEmails,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${taskconnect.users.import.chunk-size:500}") int chunkSize,
+                             @Value("${taskconnect.users.import.max-reported-errors:1000}") int maxReportedErrors,
+                             @Value("${taskconnect.users.import.progress-interval:10000}") long progressInterval) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("taskconnect.users.import.chunk-size must be at least 1");
+        }
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.domainMetrics = domainMetrics;
+        this.registeredEmails = registeredEmails;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.progressInterval = Math.max(1, progressInterval);
+    }
+
+    public UserImportReportDTO importUsers(InputStream ndjson) throws IOException {
+        Set<String> knownEmails = new HashSet<>(userRepository.findAllEmails());
+        Report report = new Report();
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            report.processed++;
+
+            ParsedRow parsed = parse(line);
+            if (parsed.error() != null) {
+                report.reject(lineNumber, parsed.email(), parsed.error());
+            } else if (!knownEmails.add(parsed.email())) {
+                report.reject(lineNumber, parsed.email(), DUPLICATE_EMAIL);
+            } else {
+                chunk.add(new PendingRow(lineNumber, line, parsed.user()));
+                if (chunk.size() == chunkSize) {
+                    save(chunk, report);
+                    chunk.clear();
+                }
+            }
+
+            if (report.processed % progressInterval == 0) {
+                log.info("User import: {} rows read, {} imported, {} rejected",
+                        report.processed, report.imported, report.rejected);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            save(chunk, report);
+        }
+
+        log.info("User import finished: {} rows read, {} imported, {} rejected",
+                report.processed, report.imported, report.rejected);
+        return report.toDTO();
+    }
+
+    private ParsedRow parse(String line) {
+        User user;
+        try {
+            user = USER_READER.readValue(line);
+        } catch (JacksonException e) {
+            return ParsedRow.rejected(null, "Malformed JSON: " + e.getOriginalMessage());
+        }
+
+        Set<ConstraintViolation<?>> violations = new HashSet<>(validator.validate(user));
+        if (user.getProfile() != null) {
+            violations.addAll(validator.validate(user.getProfile()));
+        }
+        if (!violations.isEmpty()) {
+            return ParsedRow.rejected(user.getEmail(), violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+
+        try {
+            UserService.prepareNewUser(user);
+        } catch (IllegalArgumentException e) {
+            return ParsedRow.rejected(user.getEmail(), e.getMessage());
+        }
+        return new ParsedRow(user, user.getEmail(), null);
+    }
+
+    //a chunk only fails as a whole on a constraint the checks above cannot see, e.g. a user registered
+    //through the API since the emails were loaded; its rows are then saved one by one to find the culprits
+    private void save(List<PendingRow> chunk, Report report) {
+        try {
+            persist(chunk.stream().map(PendingRow::user).toList());
+            report.imported(chunk.size());
+        } catch (DataIntegrityViolationException e) {
+            log.warn("User import: chunk ending at line {} was rolled back, retrying its rows one by one",
+                    chunk.get(chunk.size() - 1).line());
+            for (PendingRow row : chunk) {
+                //parsed again: the rolled back users already carry ids and versions
+                User user = parse(row.json()).user();
+                try {
+                    persist(List.of(user));
+                    report.imported(1);
+                } catch (DataIntegrityViolationException rowFailure) {
+                    report.reject(row.line(), user.getEmail(),
+                            "Rejected by the database: " + NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                }
+            }
+        }
+    }
+
+    //the persistence context lives as long as the chunk's transaction, so memory stays flat.
+    //CacheMode.GET keeps the new profiles out of the second-level cache, where they would evict the hot ones
+    private void persist(List<User> users) {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.GET);
+            userRepository.saveAll(users);
+        });
+        users.forEach(user -> registeredEmails.put(user.getEmail()));
+    }
+
+    private record ParsedRow(User user, String email, String error) {
+        static ParsedRow rejected(String email, String error) {
+            return new ParsedRow(null, email, error);
+        }
+    }
+
+    private record PendingRow(long line, String json, User user) {}
+
+    private class Report {
+        private long processed;
+        private long imported;
+        private long rejected;
+        private final List<UserImportErrorDTO> errors = new ArrayList<>();
+
+        void imported(int rows) {
+            imported += rows;
+            domainMetrics.usersImported(rows);
+        }
+
+        void reject(long line, String email, String error) {
+            rejected++;
+            domainMetrics.userImportRowRejected();
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new UserImportErrorDTO(line, email, error));
+            }
+        }
+
+        UserImportReportDTO toDTO() {
+            return new UserImportReportDTO(processed, imported, rejected, List.copyOf(errors), rejected > errors.size());
+        }
+    }
+}
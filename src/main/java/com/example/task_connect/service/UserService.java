@@ -1,40 +1,95 @@
 package com.example.task_connect.service;
 
+import com.example.task_connect.bloom.RegisteredEmailFilter;
+import com.example.task_connect.dto.ProfileView;
+import com.example.task_connect.dto.UserView;
+import com.example.task_connect.etag.UserVersionCache;
 import com.example.task_connect.exception.UserAlreadyExistsException;
 import com.example.task_connect.exception.UserNotFoundException;
+import com.example.task_connect.metrics.DomainMetrics;
 import com.example.task_connect.model.Address;
 import com.example.task_connect.model.Profile;
 import com.example.task_connect.model.User;
 import com.example.task_connect.repository.AddressRepository;
 import com.example.task_connect.repository.ProfileRepository;
 import com.example.task_connect.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.Locale;
 
 
+@Timed(value = "taskconnect.service", description = "Service method latency", histogram = true)
 @Service
 public class UserService {
     private final UserRepository userRepository;
+    private final ProfileRepository profileRepository;
     private final AddressRepository addressRepository;
+    private final DomainMetrics domainMetrics;
+    private final UserVersionCache userVersionCache;
+    private final RegisteredEmailFilter registeredEmails;
 
     @Autowired
     public UserService(UserRepository userRepository,
                        ProfileRepository profileRepository,
-                       AddressRepository addressRepository) {
+                       AddressRepository addressRepository,
+                       DomainMetrics domainMetrics,
+                       UserVersionCache userVersionCache,
+                       RegisteredEmailFilter registeredEmails) {
         this.userRepository = userRepository;
+        this.profileRepository = profileRepository;
         this.addressRepository = addressRepository;
+        this.domainMetrics = domainMetrics;
+        this.userVersionCache = userVersionCache;
+        this.registeredEmails = registeredEmails;
     }
 
     @Transactional
     public User registerUser(User user) {
-        //unique email
-        userRepository.findByEmail(user.getEmail()).ifPresent(u -> {
-            throw new UserAlreadyExistsException("The email " + user.getEmail() + " is already registered.");
-        });
+        //unique email: an email the filter has never seen skips the lookup and is left to the unique constraint
+        if (!registeredEmails.mightBeRegistered(user.getEmail())) {
+            domainMetrics.emailLookupSkipped();
+        } else if (userRepository.findByEmail(user.getEmail()).isPresent()) {
+            throw emailTaken(user.getEmail());
+        } else {
+            domainMetrics.emailFilterFalsePositive();
+        }
 
+        prepareNewUser(user);
+        User saved;
+        try {
+            //flushed here so a duplicate surfaces inside this method, not at commit
+            saved = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailConstraint(e)) {
+                throw emailTaken(user.getEmail());
+            }
+            throw e;
+        }
+        registeredEmails.put(saved.getEmail());
+        return saved;
+    }
+
+    private UserAlreadyExistsException emailTaken(String email) {
+        domainMetrics.duplicateEmail();
+        return new UserAlreadyExistsException("The email " + email + " is already registered.");
+    }
+
+    //drivers report the name qualified and in their own case, e.g. SCHEMA.UK_USERS_EMAIL on Oracle
+    static boolean isEmailConstraint(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(User.EMAIL_CONSTRAINT);
+    }
+
+    //shared with UserImportService: a new user needs a named profile, starts without ratings,
+    //and its profile and addresses have to point back to it before the cascade can save them
+    static void prepareNewUser(User user) {
         if (user.getProfile() == null ||
                 user.getProfile().getFirstName() == null ||
                 user.getProfile().getLastName() == null) {
@@ -51,8 +106,6 @@ public class UserService {
         if(user.getAddresses() != null) {
             user.getAddresses().forEach(a -> a.setUser(user));
         }
-
-        return userRepository.save(user);
     }
 
     public User findUserById(Long id) {
@@ -60,12 +113,32 @@ public class UserService {
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
     }
 
-    @Transactional
-    public User addAddressToUser(Long userId, Address newAddress) {
-        User user = findUserById(userId);
-        user.addAddress(newAddress);
+    //two projection queries (user + profile, then addresses), no entity is loaded
+    //the profile, bio included, comes from the profiles region of the second-level cache, so a user viewed
+    //again within its expiry costs the users row and the address list only
+    public UserView findUserViewById(Long id) {
+        UserView user = userRepository.findViewById(id)
+                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
+        ProfileView profile = profileRepository.findById(id).map(ProfileView::from).orElse(null);
+        return user.withProfile(profile).withAddresses(addressRepository.findViewsByUserId(id));
+    }
+
+    //version of the user's representation, usually answered from the version cache
+    public long findUserVersion(Long id) {
+        return userVersionCache.find(id)
+                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
+    }
 
+    //the UPDATE that bumps the user's version also proves the user exists, so the user is never loaded:
+    //the address only needs a reference to it
+    @Transactional
+    public UserView addAddressToUser(Long userId, Address newAddress) {
+        if (userRepository.incrementVersion(userId) == 0) {
+            throw new UserNotFoundException("User not found with id: " + userId);
+        }
+        newAddress.setUser(userRepository.getReferenceById(userId));
         addressRepository.save(newAddress);
-        return userRepository.save(user);
+        userVersionCache.evictAfterCommit(userId);
+        return findUserViewById(userId);
     }
 }
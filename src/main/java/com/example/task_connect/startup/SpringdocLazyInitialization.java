@@ -0,0 +1,51 @@
+package com.example.task_connect.startup;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.stereotype.Component;
+
+//springdoc's beans only serve /v3/api-docs and /swagger-ui, which no client of a freshly scaled instance calls,
+//so they are created on the first docs request instead of during startup. their endpoints are still mapped at
+//startup, the handler mapping only needs the bean types. the flag is set both ways on purpose: with AOT the
+//lazy-init of every bean is fixed in the generated code at build time, and this runs again at startup.
+//taskconnect.springdoc.lazy-init=false restores eager creation
+@Component
+public class SpringdocLazyInitialization implements BeanFactoryPostProcessor, EnvironmentAware {
+
+    static final String SPRINGDOC_PACKAGE = "org.springdoc.";
+
+    private boolean lazy = true;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        lazy = environment.getProperty("taskconnect.springdoc.lazy-init", Boolean.class, true);
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (isSpringdoc(definition)) {
+                definition.setLazyInit(lazy);
+            }
+        }
+    }
+
+    //@Bean methods of springdoc's auto-configurations carry no bean class name, only the declaring class
+    private static boolean isSpringdoc(BeanDefinition definition) {
+        if (definition.getBeanClassName() != null && definition.getBeanClassName().startsWith(SPRINGDOC_PACKAGE)) {
+            return true;
+        }
+        if (definition instanceof AnnotatedBeanDefinition annotated) {
+            MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+            return factoryMethod != null && factoryMethod.getDeclaringClassName().startsWith(SPRINGDOC_PACKAGE);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.task_connect.stats;
+
+import com.example.task_connect.model.CategoryStats;
+import com.example.task_connect.model.enums.TaskStatus;
+import com.example.task_connect.repository.CategoryStatsRepository;
+import com.example.task_connect.service.CategoryStatsReconciliationService;
+import jakarta.transaction.Transactional;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+//applies every task status change to the category stats in the transaction that saves the task, so the
+//counters commit or roll back together with the task. one relative UPDATE on a random slot of the category:
+//two tasks of the same category only wait for each other when they happen to pick the same slot
+@Component
+public class CategoryStatsUpdater {
+
+    private final CategoryStatsRepository categoryStatsRepository;
+    private final CategoryStatsReconciliationService reconciliationService;
+
+    public CategoryStatsUpdater(CategoryStatsRepository categoryStatsRepository,
+                                CategoryStatsReconciliationService reconciliationService) {
+        this.categoryStatsRepository = categoryStatsRepository;
+        this.reconciliationService = reconciliationService;
+    }
+
+    @EventListener
+    @Transactional
+    public void onStatusChanged(TaskStatusChanged change) {
+        Long categoryId = change.categoryId();
+        if (categoryId == null) {
+            return;
+        }
+        long openDelta = delta(change, TaskStatus.OPEN);
+        long assignedDelta = delta(change, TaskStatus.ASSIGNED);
+        int slot = ThreadLocalRandom.current().nextInt(CategoryStats.SLOTS);
+
+        int updated;
+        if (change.created() && change.budget() != null) {
+            updated = categoryStatsRepository.addPostedTask(categoryId, slot, openDelta, assignedDelta, change.budget());
+        } else if (openDelta != 0 || assignedDelta != 0) {
+            updated = categoryStatsRepository.addToCounts(categoryId, slot, openDelta, assignedDelta);
+        } else {
+            return;
+        }
+
+        //a category created after startup has no rows yet: the reconciliation creates them from the tasks table,
+        //after the commit so it also counts this task
+        if (updated == 0) {
+            afterCommit(() -> reconciliationService.reconcile(categoryId));
+        }
+    }
+
+    static long delta(TaskStatusChanged change, TaskStatus status) {
+        return (change.to() == status ? 1 : 0) - (change.from() == status ? 1 : 0);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
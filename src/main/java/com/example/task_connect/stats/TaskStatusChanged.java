@@ -0,0 +1,14 @@
+package com.example.task_connect.stats;
+
+import com.example.task_connect.model.enums.TaskStatus;
+
+import java.math.BigDecimal;
+
+//recorded by Task when it is first persisted (from is null) and on every Task.updateStatus,
+//published by Spring Data when the task goes through TaskRepository.save, inside the saving transaction
+public record TaskStatusChanged(Long categoryId, TaskStatus from, TaskStatus to, BigDecimal budget) {
+
+    public boolean created() {
+        return from == null;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.task_connect.stream;
+
+import com.example.task_connect.dto.BidView;
+import com.example.task_connect.exception.StreamLimitExceededException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+//in-memory fan-out of new bids to the SSE connections watching a task.
+//the servlet request is async, so an open stream holds no request thread; each connection gets a bounded
+//queue drained by its own virtual thread, so a slow client never blocks the bid request or the other
+//watchers. a client that falls queue-capacity events behind is disconnected (EventSource reconnects
+//by itself) instead of being buffered without limit
+@Component
+public class BidStreamHub {
+
+    private static final Logger log = LoggerFactory.getLogger(BidStreamHub.class);
+
+    private final Map<Long, Set<BidStreamSubscriber>> subscribersByTask = new ConcurrentHashMap<>();
+    private final AtomicInteger openStreams = new AtomicInteger();
+
+    private final int maxStreams;
+    private final int queueCapacity;
+    private final Supplier<SseEmitter> emitterFactory;
+
+    //the timeout bounds the life of a connection, EventSource clients reconnect after it
+    @Autowired
+    public BidStreamHub(@Value("${taskconnect.bids.stream.max-streams:10000}") int maxStreams,
+                        @Value("${taskconnect.bids.stream.queue-capacity:32}") int queueCapacity,
+                        @Value("${taskconnect.bids.stream.timeout:10m}") Duration timeout) {
+        this(maxStreams, queueCapacity, () -> new SseEmitter(timeout.toMillis()));
+    }
+
+    BidStreamHub(int maxStreams, int queueCapacity, Supplier<SseEmitter> emitterFactory) {
+        this.maxStreams = maxStreams;
+        this.queueCapacity = queueCapacity;
+        this.emitterFactory = emitterFactory;
+    }
+
+    public SseEmitter subscribe(Long taskId) {
+        if (openStreams.incrementAndGet() > maxStreams) {
+            openStreams.decrementAndGet();
+            throw new StreamLimitExceededException("Too many open bid streams. Please retry shortly.");
+        }
+
+        SseEmitter emitter = emitterFactory.get();
+        BidStreamSubscriber subscriber = new BidStreamSubscriber(taskId, emitter, queueCapacity, this::remove);
+        //added inside compute, like remove drops the set inside computeIfPresent: otherwise the last watcher leaving
+        //could drop a set this subscriber was just being added to, and it would never hear about a bid
+        subscribersByTask.compute(taskId, (id, subscribers) -> {
+            Set<BidStreamSubscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> remove(subscriber));
+        subscriber.start();
+        return emitter;
+    }
+
+    //called inside the bid transaction, the watchers only hear about the bid once it is committed
+    public void publishAfterCommit(BidView bid) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(bid);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(bid);
+            }
+        });
+    }
+
+    void publish(BidView bid) {
+        Set<BidStreamSubscriber> subscribers = subscribersByTask.get(bid.taskId());
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> event = SseEmitter.event()
+                .id(String.valueOf(bid.id()))
+                .name("bid")
+                .data(bid, MediaType.APPLICATION_JSON)
+                .build();
+        for (BidStreamSubscriber subscriber : subscribers) {
+            if (!subscriber.offer(event)) {
+                log.debug("Bid stream for task {} fell behind, disconnecting", bid.taskId());
+                subscriber.disconnect();
+            }
+        }
+    }
+
+    //comment lines keep proxies from closing quiet streams and reveal clients that are gone
+    @Scheduled(fixedDelayString = "${taskconnect.bids.stream.heartbeat-ms:20000}")
+    public void heartbeat() {
+        Set<DataWithMediaType> ping = SseEmitter.event().comment("keep-alive").build();
+        subscribersByTask.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            if (!subscriber.offer(ping)) {
+                subscriber.disconnect();
+            }
+        }));
+    }
+
+    public int openStreams() {
+        return openStreams.get();
+    }
+
+    public int subscriberCount(Long taskId) {
+        Set<BidStreamSubscriber> subscribers = subscribersByTask.get(taskId);
+        return subscribers != null ? subscribers.size() : 0;
+    }
+
+    private void remove(BidStreamSubscriber subscriber) {
+        if (!subscriber.close()) {
+            return;
+        }
+        openStreams.decrementAndGet();
+        subscribersByTask.computeIfPresent(subscriber.taskId(), (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+}
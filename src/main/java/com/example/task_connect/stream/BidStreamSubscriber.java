@@ -0,0 +1,73 @@
+package com.example.task_connect.stream;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+//one open SSE connection: a bounded queue of pending events and the virtual thread that writes them
+class BidStreamSubscriber {
+
+    private final Long taskId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<Set<DataWithMediaType>> queue;
+    private final Consumer<BidStreamSubscriber> onClose;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private Thread sender;
+
+    BidStreamSubscriber(Long taskId, SseEmitter emitter, int queueCapacity, Consumer<BidStreamSubscriber> onClose) {
+        this.taskId = taskId;
+        this.emitter = emitter;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.onClose = onClose;
+    }
+
+    Long taskId() {
+        return taskId;
+    }
+
+    void start() {
+        sender = Thread.ofVirtual().name("bid-stream-" + taskId).start(this::drain);
+    }
+
+    //never blocks the publisher: false means the client is too far behind
+    boolean offer(Set<DataWithMediaType> event) {
+        return !closed.get() && queue.offer(event);
+    }
+
+    //ends the response; the emitter's completion callback then unregisters this subscriber
+    void disconnect() {
+        onClose.accept(this);
+        emitter.complete();
+    }
+
+    //true only for the first call, so the hub's bookkeeping runs once per connection
+    boolean close() {
+        if (!closed.compareAndSet(false, true)) {
+            return false;
+        }
+        if (sender != null) {
+            sender.interrupt();
+        }
+        return true;
+    }
+
+    private void drain() {
+        try {
+            while (!closed.get()) {
+                emitter.send(queue.take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            //client went away or the response is already completed
+            onClose.accept(this);
+            emitter.completeWithError(e);
+        }
+    }
+}
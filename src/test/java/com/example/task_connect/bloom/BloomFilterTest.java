@@ -0,0 +1,70 @@
+package com.example.task_connect.bloom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("BloomFilter - Sized from the expected insertions and the false positive rate")
+    void sizing() {
+        BloomFilter filter = new BloomFilter(1_000_000, 0.01);
+
+        //9.59 bits per entry and 7 hashes for 1%
+        assertEquals(9_585_088, filter.bitSize());
+        assertEquals(7, filter.hashCount());
+    }
+
+    @Test
+    @DisplayName("mightContain - Never false for a put string")
+    void mightContain_NoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("user" + i + "@test.ro"));
+
+        IntStream.range(0, 10_000).forEach(i -> assertTrue(filter.mightContain("user" + i + "@test.ro")));
+    }
+
+    @Test
+    @DisplayName("mightContain - False positives stay near the configured rate at full capacity")
+    void mightContain_FalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        IntStream.range(0, 100_000).forEach(i -> filter.put("user" + i + "@test.ro"));
+
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain("other" + i + "@test.ro"))
+                .count();
+
+        assertTrue(falsePositives < 1_500, "false positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("put - Concurrent writers lose no bits")
+    void put_Concurrent() throws InterruptedException {
+        BloomFilter filter = new BloomFilter(40_000, 0.01);
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                executor.submit(() -> IntStream.range(0, 10_000).forEach(i -> filter.put(thread + "-" + i + "@test.ro")));
+            }
+        }
+
+        for (int t = 0; t < 4; t++) {
+            for (int i = 0; i < 10_000; i++) {
+                assertTrue(filter.mightContain(t + "-" + i + "@test.ro"));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("BloomFilter - Rejects a false positive rate outside (0, 1)")
+    void invalidRate() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1));
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.task_connect.bloom;
+
+import com.example.task_connect.model.Profile;
+import com.example.task_connect.model.User;
+import com.example.task_connect.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//the warm-up opens its own read-only transaction, as it does at startup
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RegisteredEmailFilterTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("mightBeRegistered - Every email is a maybe until the warm-up has run")
+    void mightBeRegistered_BeforeWarmUp() {
+        RegisteredEmailFilter filter = new RegisteredEmailFilter(userRepository, transactionManager, 1000, 0.01);
+
+        assertTrue(filter.mightBeRegistered("anyone@test.ro"));
+    }
+
+    @Test
+    @DisplayName("warmUp - Streams the registered emails into the filter")
+    void warmUp_LoadsRegisteredEmails() {
+        userRepository.save(newUser("ana@test.ro"));
+        userRepository.save(newUser("dan@test.ro"));
+        RegisteredEmailFilter filter = new RegisteredEmailFilter(userRepository, transactionManager, 1000, 0.01);
+
+        filter.warmUp();
+
+        assertTrue(filter.mightBeRegistered("ana@test.ro"));
+        assertTrue(filter.mightBeRegistered("dan@test.ro"));
+        assertFalse(filter.mightBeRegistered("new@test.ro"));
+    }
+
+    @Test
+    @DisplayName("put - An email registered after the warm-up is a maybe from then on")
+    void put_AfterWarmUp() {
+        RegisteredEmailFilter filter = new RegisteredEmailFilter(userRepository, transactionManager, 1000, 0.01);
+        filter.warmUp();
+
+        filter.put("late@test.ro");
+
+        assertTrue(filter.mightBeRegistered("late@test.ro"));
+    }
+
+    private static User newUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("pw");
+        Profile profile = new Profile();
+        profile.setFirstName("Ana");
+        profile.setLastName("Pop");
+        user.setProfile(profile);
+        return user;
+    }
+}
@@ -1,8 +1,17 @@
 package com.example.task_connect.controller;
 
+import com.example.task_connect.dto.BidBatchItemDTO;
+import com.example.task_connect.dto.BidBatchRequestDTO;
+import com.example.task_connect.dto.BidBatchResponseDTO;
+import com.example.task_connect.dto.BidBatchResultDTO;
+import com.example.task_connect.dto.BidListingDTO;
+import com.example.task_connect.dto.BidPageDTO;
 import com.example.task_connect.dto.BidRequestDTO;
+import com.example.task_connect.dto.BidSort;
 import com.example.task_connect.exception.ResourceNotFoundException;
+import com.example.task_connect.exception.StreamLimitExceededException;
 import com.example.task_connect.model.Bid;
+import com.example.task_connect.model.enums.BidStatus;
 import com.example.task_connect.service.BidService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -14,14 +23,27 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.dataformat.cbor.CBORMapper;
 
 import java.math.BigDecimal;
+import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BidController.class)
@@ -98,6 +120,149 @@ class BidControllerTest {
                 .andExpect(jsonPath("$.message").value("Task not found with ID: 99"));
     }
 
+    @Test
+    @DisplayName("POST /api/tasks/{taskId}/bids - 503 Service Unavailable (no database connection)")
+    void submitBid_DatabaseBusy() throws Exception {
+        BidRequestDTO dto = createValidBidDTO();
+
+        when(bidService.submitBid(eq(1L), any(BidRequestDTO.class)))
+                .thenThrow(new CannotCreateTransactionException("Could not open JPA EntityManager for transaction"));
+
+        mockMvc.perform(post("/api/tasks/1/bids")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.message").value("The service is busy. Please retry shortly."));
+    }
+
+
+    @Test
+    @DisplayName("POST /api/bids/batch - Success (200 OK) with per-bid results")
+    void submitBids_Success() throws Exception {
+        BidBatchRequestDTO batch = createValidBatchDTO();
+
+        BidBatchResponseDTO response = new BidBatchResponseDTO(1, 1, List.of(
+                BidBatchResultDTO.created(0, 1L, 100L),
+                BidBatchResultDTO.rejected(1, 2L, "Bids can only be submitted for OPEN tasks.")));
+        when(bidService.submitBids(any(BidBatchRequestDTO.class))).thenReturn(response);
+
+        mockMvc.perform(post("/api/bids/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[0].outcome").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].bidId").value(100))
+                .andExpect(jsonPath("$.results[1].error").value("Bids can only be submitted for OPEN tasks."));
+    }
+
+    @Test
+    @DisplayName("POST /api/bids/batch - 400 Bad Request (empty batch)")
+    void submitBids_EmptyBatch() throws Exception {
+        BidBatchRequestDTO batch = createValidBatchDTO();
+        batch.setBids(List.of());
+
+        mockMvc.perform(post("/api/bids/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isBadRequest());
+    }
+
+
+    @Test
+    @DisplayName("GET /api/tasks/{taskId}/bids - Success (200 OK) with next cursor")
+    void getBids_Success() throws Exception {
+        BidPageDTO page = new BidPageDTO(List.of(new BidListingDTO(
+                100L, new BigDecimal("150.00"), "Pot repara robinetul rapid.", BidStatus.PENDING, 2L, "Ana Pop",
+                new BigDecimal("4.50"))), "4.50:100");
+        when(bidService.getBids(1L, BidStatus.PENDING, BidSort.TASKER_RATING, null, 1)).thenReturn(page);
+
+        mockMvc.perform(get("/api/tasks/1/bids")
+                        .param("status", "PENDING")
+                        .param("sort", "TASKER_RATING")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(100))
+                .andExpect(jsonPath("$.items[0].taskerName").value("Ana Pop"))
+                .andExpect(jsonPath("$.items[0].taskerRating").value(4.5))
+                .andExpect(jsonPath("$.nextCursor").value("4.50:100"));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/{taskId}/bids - CBOR when the client asks for application/cbor")
+    void getBids_Cbor() throws Exception {
+        BidPageDTO page = new BidPageDTO(List.of(new BidListingDTO(
+                100L, new BigDecimal("150.00"), null, BidStatus.PENDING, 2L, "Ana Pop", new BigDecimal("4.50"))), null);
+        when(bidService.getBids(1L, null, BidSort.AMOUNT, null, 20)).thenReturn(page);
+
+        byte[] body = mockMvc.perform(get("/api/tasks/1/bids").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode bids = new CBORMapper().readTree(body);
+        assertEquals(100, bids.get("items").get(0).get("id").asLong());
+        assertEquals("Ana Pop", bids.get("items").get(0).get("taskerName").asString());
+        assertEquals(0, new BigDecimal("150.00").compareTo(bids.get("items").get(0).get("amount").decimalValue()));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/{taskId}/bids - 400 Bad Request (invalid cursor)")
+    void getBids_InvalidCursor() throws Exception {
+        when(bidService.getBids(1L, null, BidSort.AMOUNT, "abc", 20))
+                .thenThrow(new IllegalArgumentException("Invalid cursor: abc"));
+
+        mockMvc.perform(get("/api/tasks/1/bids").param("cursor", "abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor: abc"));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/{taskId}/bids/stream - Stream opened (200 OK, text/event-stream)")
+    void streamBids_Opened() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        when(bidService.openBidStream(1L)).thenReturn(emitter);
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/1/bids/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        emitter.send(SseEmitter.event().id("100").name("bid").data("{\"id\":100}"));
+        emitter.complete();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string(containsString("id:100\nevent:bid\ndata:{\"id\":100}")));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/{taskId}/bids/stream - 503 Service Unavailable (too many streams)")
+    void streamBids_LimitReached() throws Exception {
+        when(bidService.openBidStream(1L))
+                .thenThrow(new StreamLimitExceededException("Too many open bid streams. Please retry shortly."));
+
+        mockMvc.perform(get("/api/tasks/1/bids/stream"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"))
+                .andExpect(jsonPath("$.message").value("Too many open bid streams. Please retry shortly."));
+    }
+
+
+    private BidBatchRequestDTO createValidBatchDTO() {
+        BidBatchItemDTO first = new BidBatchItemDTO();
+        first.setTaskId(1L);
+        first.setAmount(new BigDecimal("150.0"));
+
+        BidBatchItemDTO second = new BidBatchItemDTO();
+        second.setTaskId(2L);
+        second.setAmount(new BigDecimal("90.0"));
+
+        BidBatchRequestDTO batch = new BidBatchRequestDTO();
+        batch.setTaskerId(2L);
+        batch.setBids(List.of(first, second));
+        return batch;
+    }
 
     private BidRequestDTO createValidBidDTO() {
         BidRequestDTO dto = new BidRequestDTO();
@@ -0,0 +1,47 @@
+package com.example.task_connect.controller;
+
+import com.example.task_connect.dto.CategoryStatsDTO;
+import com.example.task_connect.service.CategoryService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(CategoryController.class)
+class CategoryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CategoryService categoryService;
+
+    @Test
+    @DisplayName("GET /api/categories - Success (200 OK), categories without budgets have null budget figures")
+    void getCategories_Success() throws Exception {
+        when(categoryService.getCategories()).thenReturn(List.of(
+                new CategoryStatsDTO(1L, "Cleaning", "Home cleaning", 3, 1,
+                        new BigDecimal("150.00"), new BigDecimal("100.00"), new BigDecimal("200.00")),
+                new CategoryStatsDTO(2L, "Plumbing", null, 0, 0, null, null, null)));
+
+        mockMvc.perform(get("/api/categories"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].name").value("Cleaning"))
+                .andExpect(jsonPath("$[0].openTasks").value(3))
+                .andExpect(jsonPath("$[0].assignedTasks").value(1))
+                .andExpect(jsonPath("$[0].averageBudget").value(150.00))
+                .andExpect(jsonPath("$[1].openTasks").value(0))
+                .andExpect(jsonPath("$[1].averageBudget").doesNotExist());
+    }
+}
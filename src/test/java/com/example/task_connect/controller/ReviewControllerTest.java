@@ -0,0 +1,86 @@
+package com.example.task_connect.controller;
+
+import com.example.task_connect.dto.ReviewRequestDTO;
+import com.example.task_connect.exception.ResourceNotFoundException;
+import com.example.task_connect.model.Review;
+import com.example.task_connect.service.ReviewService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ReviewController.class)
+class ReviewControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ReviewService reviewService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("POST /api/tasks/{taskId}/reviews - Success (201 Created)")
+    void submitReview_Success() throws Exception {
+        ReviewRequestDTO dto = createValidReviewDTO();
+
+        Review saved = new Review();
+        saved.setRating(5);
+        ReflectionTestUtils.setField(saved, "id", 7L);
+
+        when(reviewService.submitReview(eq(10L), any(ReviewRequestDTO.class))).thenReturn(saved);
+
+        mockMvc.perform(post("/api/tasks/{taskId}/reviews", 10L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.rating").value(5));
+    }
+
+    @Test
+    @DisplayName("POST /api/tasks/{taskId}/reviews - 400 Bad Request (rating out of range)")
+    void submitReview_ValidationError() throws Exception {
+        ReviewRequestDTO dto = createValidReviewDTO();
+        dto.setRating(6);
+
+        mockMvc.perform(post("/api/tasks/{taskId}/reviews", 10L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /api/tasks/{taskId}/reviews - 404 Not Found")
+    void submitReview_NotFound() throws Exception {
+        when(reviewService.submitReview(eq(99L), any(ReviewRequestDTO.class)))
+                .thenThrow(new ResourceNotFoundException("Task not found with ID: 99"));
+
+        mockMvc.perform(post("/api/tasks/{taskId}/reviews", 99L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createValidReviewDTO())))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Task not found with ID: 99"));
+    }
+
+    private ReviewRequestDTO createValidReviewDTO() {
+        ReviewRequestDTO dto = new ReviewRequestDTO();
+        dto.setReviewerId(1L);
+        dto.setRating(5);
+        dto.setComments("Treaba foarte buna");
+        return dto;
+    }
+}
@@ -1,10 +1,20 @@
 package com.example.task_connect.controller;
 
+import com.example.task_connect.dto.NearbyTaskDTO;
+import com.example.task_connect.dto.RecommendedTaskerDTO;
+import com.example.task_connect.dto.TaskFeedDTO;
 import com.example.task_connect.dto.TaskRequestDTO;
+import com.example.task_connect.dto.TaskSearchDTO;
+import com.example.task_connect.dto.TaskSearchHitDTO;
+import com.example.task_connect.dto.TaskSummaryDTO;
+import com.example.task_connect.dto.TaskView;
 import com.example.task_connect.exception.ResourceNotFoundException;
 import com.example.task_connect.exception.UserNotFoundException;
 import com.example.task_connect.model.Task;
+import com.example.task_connect.model.enums.TaskStatus;
+import com.example.task_connect.service.TaskSearchService;
 import com.example.task_connect.service.TaskService;
+import com.example.task_connect.service.TaskerRecommendationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.DisplayName;
@@ -12,15 +22,24 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.dataformat.cbor.CBORMapper;
 
 import java.math.BigDecimal;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -34,6 +53,12 @@ class TaskControllerTest {
     @MockitoBean
     private TaskService taskService;
 
+    @MockitoBean
+    private TaskSearchService taskSearchService;
+
+    @MockitoBean
+    private TaskerRecommendationService recommendationService;
+
     private final ObjectMapper objectMapper = new ObjectMapper()
             .registerModule(new JavaTimeModule());
 
@@ -99,6 +124,163 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.message").value("Category or Address not found"));
     }
 
+    //GET feed
+
+    @Test
+    @DisplayName("GET /api/tasks - Success (200 OK) with default OPEN status")
+    void getTaskFeed_Success() throws Exception {
+        TaskSummaryDTO item = new TaskSummaryDTO(7L, "Reparatie Robinet", new BigDecimal("150.00"), TaskStatus.OPEN, 1L, 1L);
+        when(taskService.getTaskFeed(eq(TaskStatus.OPEN), eq(1L), isNull(), isNull(), isNull(), eq(20)))
+                .thenReturn(new TaskFeedDTO(List.of(item), 7L));
+
+        mockMvc.perform(get("/api/tasks").param("categoryId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(7))
+                .andExpect(jsonPath("$.items[0].title").value("Reparatie Robinet"))
+                .andExpect(jsonPath("$.nextCursor").value(7));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks - CBOR when the client asks for application/cbor")
+    void getTaskFeed_Cbor() throws Exception {
+        TaskSummaryDTO item = new TaskSummaryDTO(7L, "Reparatie Robinet", new BigDecimal("150.00"), TaskStatus.OPEN, 1L, 1L);
+        when(taskService.getTaskFeed(eq(TaskStatus.OPEN), isNull(), isNull(), isNull(), isNull(), eq(20)))
+                .thenReturn(new TaskFeedDTO(List.of(item), 7L));
+
+        byte[] body = mockMvc.perform(get("/api/tasks").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode feed = new CBORMapper().readTree(body);
+        assertEquals(7, feed.get("items").get(0).get("id").asLong());
+        assertEquals("Reparatie Robinet", feed.get("items").get(0).get("title").asString());
+        assertEquals(7, feed.get("nextCursor").asLong());
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks - Bad Request (400) when page size is out of range")
+    void getTaskFeed_BadRequest() throws Exception {
+        when(taskService.getTaskFeed(any(), any(), any(), any(), any(), eq(500)))
+                .thenThrow(new IllegalArgumentException("Page size must be between 1 and 100"));
+
+        mockMvc.perform(get("/api/tasks").param("size", "500"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Page size must be between 1 and 100"));
+    }
+
+    //GET search
+
+    @Test
+    @DisplayName("GET /api/tasks/search - Success (200 OK) with ranked hits")
+    void searchTasks_Success() throws Exception {
+        TaskSummaryDTO item = new TaskSummaryDTO(7L, "Reparatie Robinet", new BigDecimal("150.00"), TaskStatus.OPEN, 1L, 1L);
+        when(taskSearchService.search("robinet", TaskStatus.OPEN, null, 0, 20))
+                .thenReturn(new TaskSearchDTO(List.of(new TaskSearchHitDTO(item, 2.5)), 0, 20, 1));
+
+        mockMvc.perform(get("/api/tasks/search").param("q", "robinet").param("status", "OPEN"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].task.id").value(7))
+                .andExpect(jsonPath("$.items[0].score").value(2.5))
+                .andExpect(jsonPath("$.totalHits").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/search - Bad Request (400) when query is blank")
+    void searchTasks_BadRequest() throws Exception {
+        when(taskSearchService.search(eq(" "), any(), any(), anyInt(), anyInt()))
+                .thenThrow(new IllegalArgumentException("Search query cannot be empty"));
+
+        mockMvc.perform(get("/api/tasks/search").param("q", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Search query cannot be empty"));
+    }
+
+    //GET nearby
+
+    @Test
+    @DisplayName("GET /api/tasks/nearby - Success (200 OK) sorted by distance")
+    void findNearbyTasks_Success() throws Exception {
+        TaskSummaryDTO item = new TaskSummaryDTO(7L, "Reparatie Robinet", new BigDecimal("150.00"), TaskStatus.OPEN, 1L, 1L);
+        when(taskSearchService.findNearby(44.43, 26.1, 5, 20)).thenReturn(List.of(new NearbyTaskDTO(item, 1.2)));
+
+        mockMvc.perform(get("/api/tasks/nearby").param("lat", "44.43").param("lon", "26.1").param("radiusKm", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].task.id").value(7))
+                .andExpect(jsonPath("$[0].distanceKm").value(1.2));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/nearby - Bad Request (400) when coordinates are missing")
+    void findNearbyTasks_MissingCoordinates() throws Exception {
+        mockMvc.perform(get("/api/tasks/nearby").param("lat", "44.43"))
+                .andExpect(status().isBadRequest());
+    }
+
+    //GET recommended taskers
+
+    @Test
+    @DisplayName("GET /api/tasks/{taskId}/recommended-taskers - Success (200 OK) best match first")
+    void getRecommendedTaskers_Success() throws Exception {
+        when(recommendationService.getRecommendedTaskers(7L, 10)).thenReturn(List.of(
+                new RecommendedTaskerDTO(3L, "Ana", "Pop", new BigDecimal("4.80"), 12, 1.5, 0.91),
+                new RecommendedTaskerDTO(4L, "Dan", "Ionescu", new BigDecimal("4.10"), 2, null, 0.55)));
+
+        mockMvc.perform(get("/api/tasks/{taskId}/recommended-taskers", 7L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].taskerId").value(3))
+                .andExpect(jsonPath("$[0].acceptedBidsInCategory").value(12))
+                .andExpect(jsonPath("$[0].distanceKm").value(1.5))
+                .andExpect(jsonPath("$[1].taskerId").value(4));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/{taskId}/recommended-taskers - Not Found (404) for an unknown task")
+    void getRecommendedTaskers_TaskNotFound() throws Exception {
+        when(recommendationService.getRecommendedTaskers(99L, 10))
+                .thenThrow(new ResourceNotFoundException("Task not found with ID: 99"));
+
+        mockMvc.perform(get("/api/tasks/{taskId}/recommended-taskers", 99L))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/{taskId} - Success (200 OK) with the version as ETag")
+    void getTaskById_Success() throws Exception {
+        when(taskService.findTaskVersion(7L)).thenReturn(2L);
+        when(taskService.findTaskViewById(7L)).thenReturn(new TaskView(7L, "Fix the sink", null,
+                new BigDecimal("100.00"), TaskStatus.OPEN, 1L, null, 3L, 4L));
+
+        mockMvc.perform(get("/api/tasks/7"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"2\""))
+                .andExpect(jsonPath("$.title").value("Fix the sink"))
+                .andExpect(jsonPath("$.status").value("OPEN"));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/{taskId} - Not Modified (304) without loading the task")
+    void getTaskById_NotModified() throws Exception {
+        when(taskService.findTaskVersion(7L)).thenReturn(2L);
+
+        mockMvc.perform(get("/api/tasks/7").header("If-None-Match", "W/\"2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "W/\"2\""))
+                .andExpect(content().string(""));
+
+        verify(taskService, never()).findTaskViewById(anyLong());
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/{taskId} - 404 Not Found")
+    void getTaskById_NotFound() throws Exception {
+        when(taskService.findTaskVersion(99L)).thenThrow(new ResourceNotFoundException("Task not found with ID: 99"));
+
+        mockMvc.perform(get("/api/tasks/99"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Task not found with ID: 99"));
+    }
+
     //PATCH
 
     @Test
@@ -122,6 +304,17 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.message").value("Task is ASSIGNED. Only OPEN tasks can accept bids."));
     }
 
+    @Test
+    @DisplayName("PATCH /api/tasks/{taskId}/bids/{bidId} - 409 Conflict (concurrent modification)")
+    void acceptBid_ConcurrentModification() throws Exception {
+        doThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L))
+                .when(taskService).acceptBid(anyLong(), anyLong());
+
+        mockMvc.perform(patch("/api/tasks/1/bids/5"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+    }
+
     @Test
     @DisplayName("PATCH /api/tasks/{taskId}/bids/{bidId} - 404 Not Found")
     void acceptBid_NotFound() throws Exception {
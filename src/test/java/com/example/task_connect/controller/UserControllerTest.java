@@ -1,10 +1,16 @@
 package com.example.task_connect.controller;
 
+import com.example.task_connect.dto.AddressView;
+import com.example.task_connect.dto.ProfileView;
+import com.example.task_connect.dto.UserImportErrorDTO;
+import com.example.task_connect.dto.UserImportReportDTO;
+import com.example.task_connect.dto.UserView;
 import com.example.task_connect.exception.UserAlreadyExistsException;
 import com.example.task_connect.exception.UserNotFoundException;
 import com.example.task_connect.model.Address;
 import com.example.task_connect.model.Profile;
 import com.example.task_connect.model.User;
+import com.example.task_connect.service.UserImportService;
 import com.example.task_connect.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -16,13 +22,19 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -35,6 +47,9 @@ class UserControllerTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private UserImportService userImportService;
+
     private final ObjectMapper objectMapper = new ObjectMapper()
             .registerModule(new JavaTimeModule());
 
@@ -57,19 +72,62 @@ class UserControllerTest {
                 .content(objectMapper.writeValueAsString(user)))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.email").value("test@example.ro"))
-                .andExpect(jsonPath("$.profile.firstName").value("Ionut"));
+                .andExpect(jsonPath("$.profile.firstName").value("Ionut"))
+                .andExpect(jsonPath("$.password").doesNotExist());
     }
 
     @Test
     @DisplayName("GET /api/users/{id} - Success (200 OK)")
     void getUserById_Success() throws Exception {
-        User user = new User();
-        user.setEmail("find@test.ro");
+        UserView user = new UserView(1L, "find@test.ro", null,
+                new ProfileView("Ionut", "Ionescu", null, BigDecimal.ZERO, BigDecimal.ZERO),
+                List.of(new AddressView(3L, "Strada Florilor 10", "Bucuresti", null, null, null)));
 
-        when(userService.findUserById(1L)).thenReturn(user);
+        when(userService.findUserVersion(1L)).thenReturn(3L);
+        when(userService.findUserViewById(1L)).thenReturn(user);
 
         mockMvc.perform(get("/api/users/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"3\""))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(jsonPath("$.email").value("find@test.ro"))
+                .andExpect(jsonPath("$.profile.lastName").value("Ionescu"))
+                .andExpect(jsonPath("$.addresses[0].city").value("Bucuresti"));
+    }
+
+    @Test
+    @DisplayName("GET /api/users/{id} - Not Modified (304) when If-None-Match has the current version")
+    void getUserById_NotModified() throws Exception {
+        when(userService.findUserVersion(1L)).thenReturn(3L);
+
+        mockMvc.perform(get("/api/users/1").header("If-None-Match", "W/\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "W/\"3\""))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(content().string(""));
+
+        verify(userService, never()).findUserViewById(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/users/{id} - If-None-Match compares weakly, the quoted version alone matches (304)")
+    void getUserById_NotModifiedWeakComparison() throws Exception {
+        when(userService.findUserVersion(1L)).thenReturn(3L);
+
+        mockMvc.perform(get("/api/users/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("GET /api/users/{id} - Stale If-None-Match gets the full user (200 OK)")
+    void getUserById_Changed() throws Exception {
+        UserView user = new UserView(1L, "find@test.ro", null, null, List.of());
+        when(userService.findUserVersion(1L)).thenReturn(4L);
+        when(userService.findUserViewById(1L)).thenReturn(user);
+
+        mockMvc.perform(get("/api/users/1").header("If-None-Match", "W/\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"4\""))
                 .andExpect(jsonPath("$.email").value("find@test.ro"));
     }
 
@@ -80,15 +138,9 @@ class UserControllerTest {
         addr.setStreet("Strada Florilor 10");
         addr.setCity("Bucuresti");
 
-        User user = new User();
-        org.springframework.test.util.ReflectionTestUtils.setField(user, "id", 1L);
-        user.setEmail("test@example.ro");
-        user.setPassword("password");
-
-        Profile profile = new Profile();
-        profile.setFirstName("Ionut");
-        profile.setLastName("Ionescu");
-        user.setProfile(profile);
+        UserView user = new UserView(1L, "test@example.ro", null,
+                new ProfileView("Ionut", "Ionescu", null, BigDecimal.ZERO, BigDecimal.ZERO),
+                List.of(new AddressView(3L, "Strada Florilor 10", "Bucuresti", null, null, null)));
 
         when(userService.addAddressToUser(eq(1L), any(Address.class))).thenReturn(user);
 
@@ -111,7 +163,7 @@ class UserControllerTest {
     @Test
     @DisplayName("GET /api/users/{id} - Not Found (404)")
     void getUserById_NotFound() throws Exception {
-        when(userService.findUserById(99L)).thenThrow(new UserNotFoundException("User not found"));
+        when(userService.findUserVersion(99L)).thenThrow(new UserNotFoundException("User not found"));
 
         mockMvc.perform(get("/api/users/99"))
                 .andExpect(status().isNotFound())
@@ -158,5 +210,27 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.message").value("Names are mandatory"));
     }
 
+    @Test
+    @DisplayName("POST /api/users/import - Success (200 OK) with the import report")
+    void importUsers_Success() throws Exception {
+        when(userImportService.importUsers(any())).thenReturn(new UserImportReportDTO(2, 1, 1,
+                List.of(new UserImportErrorDTO(2, "taken@test.ro", "Email is already registered")), false));
+
+        mockMvc.perform(post("/api/users/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"email\":\"a@test.ro\"}\n{\"email\":\"taken@test.ro\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errors[0].email").value("taken@test.ro"));
+    }
 
+    @Test
+    @DisplayName("POST /api/users/import - Unsupported Media Type (415) for a JSON array body")
+    void importUsers_WrongContentType() throws Exception {
+        mockMvc.perform(post("/api/users/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
 }
@@ -0,0 +1,109 @@
+package com.example.task_connect.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdmissionControlledDataSourceTest {
+
+    @Mock
+    private DataSource pool;
+
+    @Mock
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        lenient().when(pool.getConnection()).thenReturn(connection);
+    }
+
+    @Test
+    @DisplayName("getConnection - Permit is held until the connection is closed")
+    void getConnection_PermitReleasedOnClose() throws SQLException {
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(pool, 2, 10, Duration.ofMillis(50));
+
+        Connection borrowed = dataSource.getConnection();
+        assertEquals(1, dataSource.availablePermits());
+
+        borrowed.close();
+        assertEquals(2, dataSource.availablePermits());
+        verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("getConnection - Closing twice releases the permit only once")
+    void getConnection_CloseIsIdempotent() throws SQLException {
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(pool, 1, 10, Duration.ofMillis(50));
+
+        Connection borrowed = dataSource.getConnection();
+        borrowed.close();
+        borrowed.close();
+
+        assertEquals(1, dataSource.availablePermits());
+    }
+
+    @Test
+    @DisplayName("getConnection - Times out when every permit is taken")
+    void getConnection_TimesOut() throws SQLException {
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(pool, 1, 10, Duration.ofMillis(50));
+        dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertEquals(1, dataSource.rejectedCount());
+        verify(pool, times(1)).getConnection();
+    }
+
+    @Test
+    @DisplayName("getConnection - Rejects at once when the wait queue is full")
+    void getConnection_QueueFull() throws Exception {
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(pool, 1, 1, Duration.ofSeconds(5));
+        Connection held = dataSource.getConnection();
+
+        CountDownLatch admitted = new CountDownLatch(1);
+        Thread waiter = Thread.ofVirtual().start(() -> {
+            try (Connection ignored = dataSource.getConnection()) {
+                admitted.countDown();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (dataSource.waitingThreads() < 1) {
+            Thread.onSpinWait();
+        }
+
+        long start = System.nanoTime();
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+
+        held.close();
+        assertTrue(admitted.await(5, TimeUnit.SECONDS));
+        waiter.join();
+        assertEquals(1, dataSource.availablePermits());
+    }
+
+    @Test
+    @DisplayName("getConnection - Permit is returned when the pool fails")
+    void getConnection_PoolFailure() throws SQLException {
+        when(pool.getConnection()).thenThrow(new SQLTransientConnectionException("pool timeout"));
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(pool, 1, 10, Duration.ofMillis(50));
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertEquals(1, dataSource.availablePermits());
+        assertEquals(0, dataSource.rejectedCount());
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.task_connect.etag;
+
+import com.example.task_connect.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserVersionCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserVersionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserVersionCache(userRepository, 100, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("find - Version is read once and then served from memory")
+    void find_Cached() {
+        when(userRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        assertEquals(Optional.of(3L), cache.find(1L));
+        assertEquals(Optional.of(3L), cache.find(1L));
+
+        verify(userRepository, times(1)).findVersionById(1L);
+    }
+
+    @Test
+    @DisplayName("find - Missing user is not cached")
+    void find_MissingNotCached() {
+        when(userRepository.findVersionById(9L)).thenReturn(Optional.empty());
+
+        assertTrue(cache.find(9L).isEmpty());
+        assertTrue(cache.find(9L).isEmpty());
+
+        verify(userRepository, times(2)).findVersionById(9L);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("evictAfterCommit - Evicts at once outside a transaction")
+    void evictAfterCommit_NoTransaction() {
+        when(userRepository.findVersionById(1L)).thenReturn(Optional.of(3L), Optional.of(4L));
+        cache.find(1L);
+
+        cache.evictAfterCommit(1L);
+
+        assertEquals(Optional.of(4L), cache.find(1L));
+    }
+
+    @Test
+    @DisplayName("evictAfterCommit - Old version stays until the transaction commits")
+    void evictAfterCommit_WaitsForCommit() {
+        when(userRepository.findVersionById(1L)).thenReturn(Optional.of(3L), Optional.of(4L));
+        cache.find(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.evictAfterCommit(1L);
+        assertEquals(Optional.of(3L), cache.find(1L));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(Optional.of(4L), cache.find(1L));
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.task_connect.event;
+
+import com.example.task_connect.model.OutboxEvent;
+import com.example.task_connect.model.enums.OutboxStatus;
+import com.example.task_connect.repository.OutboxEventRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {"taskconnect.outbox.max-attempts=3", "taskconnect.outbox.retry-backoff=1m",
+        "taskconnect.outbox.max-retry-backoff=90s"})
+@Import({OutboxDispatcher.class, DomainEventOutbox.class, OutboxDispatcherTest.RecordingListener.class})
+class OutboxDispatcherTest {
+
+    static class RecordingListener {
+        final List<DomainEvent> received = new ArrayList<>();
+        boolean failing;
+
+        @EventListener
+        void on(DomainEvent event) {
+            if (failing) {
+                throw new IllegalStateException("listener down");
+            }
+            received.add(event);
+        }
+    }
+
+    @Autowired
+    private OutboxDispatcher dispatcher;
+
+    @Autowired
+    private DomainEventOutbox outbox;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private RecordingListener listener;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        listener.received.clear();
+        listener.failing = false;
+    }
+
+    @Test
+    @DisplayName("poll should deliver pending events oldest first and mark them DISPATCHED")
+    void poll_DispatchesInOrder() {
+        List<DomainEvent> events = List.of(
+                new TaskCreatedEvent(1L, 7L, 3L),
+                new BidSubmittedEvent(1L, 20L, 8L, new BigDecimal("75.00")),
+                new BidAcceptedEvent(1L, 20L, 8L, new BigDecimal("75.00")),
+                new BidsRejectedEvent(1L, 20L));
+        outbox.appendAll(events);
+
+        dispatcher.poll();
+
+        assertEquals(events, listener.received);
+        assertTrue(outboxEventRepository.findAll().stream()
+                .allMatch(e -> e.getStatus() == OutboxStatus.DISPATCHED && e.getDispatchedAt() != null));
+    }
+
+    @Test
+    @DisplayName("poll should deliver by creation time, not by id, since instances take ids from their own blocks")
+    void poll_OrdersByCreationTime() {
+        outbox.append(new BidAcceptedEvent(1L, 20L, 8L, new BigDecimal("75.00")));
+        outbox.append(new BidSubmittedEvent(1L, 20L, 8L, new BigDecimal("75.00")));
+        //the acceptance got the lower id on one instance, the bid was written earlier on another
+        List<OutboxEvent> stored = outboxEventRepository.findAll().stream()
+                .sorted(Comparator.comparing(OutboxEvent::getId))
+                .toList();
+        entityManager.createNativeQuery("UPDATE outbox_events SET created_at = :createdAt WHERE id = :id")
+                .setParameter("createdAt", stored.get(0).getCreatedAt().minusSeconds(5))
+                .setParameter("id", stored.get(1).getId())
+                .executeUpdate();
+
+        dispatcher.poll();
+
+        assertEquals(List.of(new BidSubmittedEvent(1L, 20L, 8L, new BigDecimal("75.00")),
+                new BidAcceptedEvent(1L, 20L, 8L, new BigDecimal("75.00"))), listener.received);
+    }
+
+    @Test
+    @DisplayName("poll should not deliver an event again once it was dispatched")
+    void poll_DoesNotRedeliver() {
+        outbox.append(new TaskCreatedEvent(1L, 7L, 3L));
+
+        dispatcher.poll();
+        dispatcher.poll();
+
+        assertEquals(1, listener.received.size());
+    }
+
+    @Test
+    @DisplayName("poll should keep a failing event PENDING, back off between attempts and give up after the maximum attempts")
+    void poll_FailingListener() {
+        listener.failing = true;
+        outbox.append(new BidsRejectedEvent(1L, 20L));
+
+        LocalDateTime start = LocalDateTime.now();
+        dispatcher.poll();
+        OutboxEvent event = outboxEventRepository.findAll().get(0);
+        assertEquals(OutboxStatus.PENDING, event.getStatus());
+        assertEquals(1, event.getAttempts());
+        assertTrue(event.getLastError().contains("listener down"));
+        assertWaitsAbout(Duration.ofMinutes(1), start, event);
+
+        //still backing off: the next poll leaves it alone
+        dispatcher.poll();
+        assertEquals(1, event.getAttempts());
+
+        makeDue(event);
+        start = LocalDateTime.now();
+        dispatcher.poll();
+        assertEquals(2, event.getAttempts());
+        //twice the backoff would be 2 minutes, capped at max-retry-backoff
+        assertWaitsAbout(Duration.ofSeconds(90), start, event);
+
+        makeDue(event);
+        dispatcher.poll();
+        assertEquals(OutboxStatus.FAILED, event.getStatus());
+        assertNull(event.getNextAttemptAt());
+
+        dispatcher.poll();
+        assertEquals(3, event.getAttempts());
+    }
+
+    @Test
+    @DisplayName("dispatchBatch should count only the events that were delivered")
+    void dispatchBatch_CountsDelivered() {
+        listener.failing = true;
+        outbox.append(new BidsRejectedEvent(1L, 20L));
+        assertEquals(0, dispatcher.dispatchBatch());
+
+        listener.failing = false;
+        outbox.append(new TaskCreatedEvent(1L, 7L, 3L));
+        assertEquals(1, dispatcher.dispatchBatch());
+    }
+
+    private static void assertWaitsAbout(Duration expected, LocalDateTime attemptedAfter, OutboxEvent event) {
+        Duration wait = Duration.between(attemptedAfter, event.getNextAttemptAt());
+        assertTrue(wait.compareTo(expected) >= 0 && wait.compareTo(expected.plusSeconds(5)) < 0,
+                "waits " + wait + ", expected about " + expected);
+    }
+
+    private static void makeDue(OutboxEvent event) {
+        ReflectionTestUtils.setField(event, "nextAttemptAt", LocalDateTime.now().minusSeconds(1));
+    }
+}
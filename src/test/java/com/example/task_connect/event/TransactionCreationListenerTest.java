@@ -0,0 +1,57 @@
+package com.example.task_connect.event;
+
+import com.example.task_connect.model.Task;
+import com.example.task_connect.model.Transaction;
+import com.example.task_connect.repository.TaskRepository;
+import com.example.task_connect.repository.TransactionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionCreationListenerTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @InjectMocks
+    private TransactionCreationListener listener;
+
+    @Test
+    @DisplayName("Should open a PENDING transaction for the accepted bid amount")
+    void onBidAccepted_CreatesTransaction() {
+        Task task = new Task();
+        when(transactionRepository.existsByTaskId(10L)).thenReturn(false);
+        when(taskRepository.getReferenceById(10L)).thenReturn(task);
+
+        listener.onBidAccepted(new BidAcceptedEvent(10L, 5L, 2L, new BigDecimal("150.00")));
+
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+        verify(transactionRepository).save(captor.capture());
+        assertEquals(new BigDecimal("150.00"), captor.getValue().getAmount());
+        assertSame(task, captor.getValue().getTask());
+    }
+
+    @Test
+    @DisplayName("Should do nothing when the event is delivered again")
+    void onBidAccepted_Redelivered() {
+        when(transactionRepository.existsByTaskId(10L)).thenReturn(true);
+
+        listener.onBidAccepted(new BidAcceptedEvent(10L, 5L, 2L, new BigDecimal("150.00")));
+
+        verify(transactionRepository, never()).save(any());
+    }
+}
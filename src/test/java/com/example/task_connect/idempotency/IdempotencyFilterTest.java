@@ -0,0 +1,245 @@
+package com.example.task_connect.idempotency;
+
+import com.example.task_connect.exception.IdempotencyKeyReusedException;
+import com.example.task_connect.exception.RequestInProgressException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+
+    @Mock
+    private IdempotencyStore store;
+
+    @Mock
+    private HandlerExceptionResolver exceptionResolver;
+
+    private IdempotencyFilter filter;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    //stands in for the controller: echoes the body it read with the given status
+    private int controllerStatus = 201;
+    private final FilterChain controller = (req, res) -> {
+        executions.incrementAndGet();
+        String body = new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        ((HttpServletResponse) res).setStatus(controllerStatus);
+        res.setContentType("application/json");
+        res.getWriter().write("{\"echo\":" + body + "}");
+    };
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(store, exceptionResolver, List.of("/api/tasks", "/api/tasks/{taskId}/bids"));
+    }
+
+    @Test
+    @DisplayName("First request with a key runs and its response is stored")
+    void doFilter_StoresSuccessfulResponse() throws Exception {
+        when(store.reserve(eq("key-1"), anyString())).thenReturn(new Reservation.Acquired());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("/api/tasks/5/bids", "key-1", "{\"amount\":10}"), response, controller);
+
+        assertEquals(1, executions.get());
+        assertEquals(201, response.getStatus());
+        assertEquals("{\"echo\":{\"amount\":10}}", response.getContentAsString());
+        verify(store).complete(eq("key-1"), anyString(), eq(201), eq("application/json"),
+                aryEq("{\"echo\":{\"amount\":10}}".getBytes(StandardCharsets.UTF_8)));
+        verify(store, never()).release(any());
+    }
+
+    @Test
+    @DisplayName("Retry with the same key gets the stored response without running again")
+    void doFilter_ReplaysStoredResponse() throws Exception {
+        when(store.reserve(eq("key-1"), anyString())).thenReturn(
+                new Reservation.Completed(new StoredResponse("abc", 201, "application/json",
+                        "{\"id\":7}".getBytes(StandardCharsets.UTF_8))));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("/api/tasks", "key-1", "{}"), response, controller);
+
+        assertEquals(0, executions.get());
+        assertEquals(201, response.getStatus());
+        assertEquals("{\"id\":7}", response.getContentAsString());
+        assertEquals("true", response.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    @DisplayName("A CBOR response is stored and replayed byte for byte")
+    void doFilter_ReplaysCborResponse() throws Exception {
+        //{"id": 7, "b": -7.0} in CBOR: bytes that are not valid UTF-8
+        byte[] cbor = {(byte) 0xA2, 0x62, 0x69, 0x64, 0x07, 0x61, 0x62, (byte) 0xFA, (byte) 0xC0, (byte) 0xE0, 0x00, 0x00};
+        FilterChain cborController = (req, res) -> {
+            ((HttpServletResponse) res).setStatus(201);
+            res.setContentType("application/cbor");
+            res.getOutputStream().write(cbor);
+        };
+        when(store.reserve(eq("key-1"), anyString())).thenReturn(new Reservation.Acquired());
+
+        filter.doFilter(cborRequest(), new MockHttpServletResponse(), cborController);
+
+        ArgumentCaptor<byte[]> storedBody = ArgumentCaptor.forClass(byte[].class);
+        verify(store).complete(eq("key-1"), anyString(), eq(201), eq("application/cbor"), storedBody.capture());
+        assertArrayEquals(cbor, storedBody.getValue());
+
+        when(store.reserve(eq("key-1"), anyString())).thenReturn(
+                new Reservation.Completed(new StoredResponse("abc", 201, "application/cbor", storedBody.getValue())));
+        MockHttpServletResponse replayed = new MockHttpServletResponse();
+
+        filter.doFilter(cborRequest(), replayed, cborController);
+
+        assertEquals("application/cbor", replayed.getContentType());
+        assertArrayEquals(cbor, replayed.getContentAsByteArray());
+        assertEquals(cbor.length, replayed.getContentLength());
+        assertEquals("true", replayed.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    @DisplayName("Failed request releases its key so a retry runs again")
+    void doFilter_ReleasesKeyOnFailure() throws Exception {
+        controllerStatus = 409;
+        when(store.reserve(eq("key-1"), anyString())).thenReturn(new Reservation.Acquired());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("/api/tasks/5/bids", "key-1", "{}"), response, controller);
+
+        assertEquals(409, response.getStatus());
+        verify(store).release("key-1");
+        verify(store, never()).complete(any(), any(), anyInt(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Concurrent duplicate and reused key are answered through the exception handler")
+    void doFilter_RejectsInProgressAndReusedKeys() throws Exception {
+        when(store.reserve(eq("key-1"), anyString()))
+                .thenReturn(new Reservation.InProgress(), new Reservation.KeyReused());
+
+        filter.doFilter(request("/api/tasks", "key-1", "{}"), new MockHttpServletResponse(), controller);
+        filter.doFilter(request("/api/tasks", "key-1", "{}"), new MockHttpServletResponse(), controller);
+
+        assertEquals(0, executions.get());
+        verify(exceptionResolver).resolveException(any(), any(), isNull(), isA(RequestInProgressException.class));
+        verify(exceptionResolver).resolveException(any(), any(), isNull(), isA(IdempotencyKeyReusedException.class));
+    }
+
+    @Test
+    @DisplayName("Same key with a different body, path or Accept header produces a different fingerprint")
+    void doFilter_FingerprintCoversPathAcceptAndBody() throws Exception {
+        when(store.reserve(eq("key-1"), anyString())).thenReturn(new Reservation.Acquired());
+
+        filter.doFilter(request("/api/tasks/5/bids", "key-1", "{\"amount\":10}"), new MockHttpServletResponse(), controller);
+        filter.doFilter(request("/api/tasks/5/bids", "key-1", "{\"amount\":10}"), new MockHttpServletResponse(), controller);
+        filter.doFilter(request("/api/tasks/5/bids", "key-1", "{\"amount\":11}"), new MockHttpServletResponse(), controller);
+        filter.doFilter(request("/api/tasks/6/bids", "key-1", "{\"amount\":10}"), new MockHttpServletResponse(), controller);
+        MockHttpServletRequest cbor = request("/api/tasks/5/bids", "key-1", "{\"amount\":10}");
+        cbor.addHeader("Accept", "application/cbor");
+        filter.doFilter(cbor, new MockHttpServletResponse(), controller);
+
+        var fingerprints = mockingDetails(store).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("reserve"))
+                .map(invocation -> (String) invocation.getArgument(1))
+                .toList();
+        assertEquals(fingerprints.get(0), fingerprints.get(1));
+        assertEquals(4, fingerprints.stream().distinct().count());
+    }
+
+    @Test
+    @DisplayName("Requests without a key, other methods and other paths pass straight through")
+    void doFilter_IgnoresOtherRequests() throws Exception {
+        filter.doFilter(request("/api/tasks", null, "{}"), new MockHttpServletResponse(), controller);
+
+        MockHttpServletRequest get = request("/api/tasks/5/bids", "key-1", "");
+        get.setMethod("GET");
+        filter.doFilter(get, new MockHttpServletResponse(), controller);
+
+        filter.doFilter(request("/api/tasks/5/reviews", "key-1", "{}"), new MockHttpServletResponse(), controller);
+
+        assertEquals(3, executions.get());
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    @DisplayName("An over-long key is rejected")
+    void doFilter_RejectsInvalidKey() throws Exception {
+        filter.doFilter(request("/api/tasks", "k".repeat(101), "{}"), new MockHttpServletResponse(), controller);
+
+        assertEquals(0, executions.get());
+        verify(exceptionResolver).resolveException(any(), any(), isNull(), isA(IllegalArgumentException.class));
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    @DisplayName("A body read through a ReadListener is delivered whole and then reported as all read")
+    void cachedBody_ReadListenerGetsWholeBody() throws Exception {
+        ServletInputStream in = new CachedBodyRequest(request("/api/tasks", "key-1", "{\"amount\":10}")).getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        List<String> events = new ArrayList<>();
+
+        in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                events.add("data");
+                byte[] buffer = new byte[4];
+                while (in.isReady() && !in.isFinished()) {
+                    int count = in.read(buffer);
+                    if (count > 0) {
+                        read.write(buffer, 0, count);
+                    }
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                events.add("done");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                events.add("error");
+            }
+        });
+
+        assertEquals(List.of("data", "done"), events);
+        assertEquals("{\"amount\":10}", read.toString(StandardCharsets.UTF_8));
+    }
+
+    private static MockHttpServletRequest cborRequest() {
+        MockHttpServletRequest request = request("/api/tasks", "key-1", "{\"title\":\"Fix the sink\"}");
+        request.addHeader("Accept", "application/cbor");
+        return request;
+    }
+
+    private static MockHttpServletRequest request(String path, String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.task_connect.idempotency;
+
+import com.example.task_connect.model.IdempotencyRecord;
+import com.example.task_connect.model.enums.IdempotencyStatus;
+import com.example.task_connect.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//runs without a test transaction: a duplicate-key insert would otherwise mark it rollback-only
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdempotencyStoreTest {
+
+    private static final byte[] JSON = "{\"id\":7}".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private IdempotencyRecordRepository repository;
+
+    private IdempotencyStore store;
+
+    //a new store per test, so no completed response is left in the in-memory tier
+    @BeforeEach
+    void setUp() {
+        store = newStore();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("reserve - Only the first request with a key runs, the retry gets the stored response")
+    void reserve_ReplaysCompletedResponse() {
+        assertInstanceOf(Reservation.Acquired.class, store.reserve("key-1", "abc"));
+        assertInstanceOf(Reservation.InProgress.class, store.reserve("key-1", "abc"));
+
+        store.complete("key-1", "abc", 201, "application/json", JSON);
+
+        Reservation.Completed replay = assertInstanceOf(Reservation.Completed.class, store.reserve("key-1", "abc"));
+        assertEquals(201, replay.response().status());
+        assertArrayEquals(JSON, replay.response().body());
+        assertEquals(IdempotencyStatus.COMPLETED, repository.findById("key-1").orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("reserve - A stored response survives the in-memory tier, e.g. when another instance served it")
+    void reserve_ReadsCompletedResponseFromDatabase() {
+        store.reserve("key-1", "abc");
+        store.complete("key-1", "abc", 201, "application/json", JSON);
+
+        IdempotencyStore otherInstance = newStore();
+
+        Reservation.Completed replay = assertInstanceOf(Reservation.Completed.class, otherInstance.reserve("key-1", "abc"));
+        assertArrayEquals(JSON, replay.response().body());
+    }
+
+    @Test
+    @DisplayName("reserve - A binary (CBOR) response comes back from the database unchanged")
+    void reserve_KeepsBinaryResponse() {
+        byte[] cbor = {(byte) 0xA1, 0x62, 0x69, 0x64, (byte) 0xFA, (byte) 0xC0, (byte) 0xE0, 0x00, 0x00};
+        store.reserve("key-1", "abc");
+        store.complete("key-1", "abc", 201, "application/cbor", cbor);
+
+        Reservation.Completed replay = assertInstanceOf(Reservation.Completed.class, newStore().reserve("key-1", "abc"));
+        assertEquals("application/cbor", replay.response().contentType());
+        assertArrayEquals(cbor, replay.response().body());
+    }
+
+    @Test
+    @DisplayName("reserve - The same key with a different request is refused")
+    void reserve_KeyReused() {
+        store.reserve("key-1", "abc");
+        assertInstanceOf(Reservation.KeyReused.class, store.reserve("key-1", "def"));
+
+        store.complete("key-1", "abc", 201, "application/json", JSON);
+        assertInstanceOf(Reservation.KeyReused.class, store.reserve("key-1", "def"));
+    }
+
+    @Test
+    @DisplayName("release - A failed request frees its key for the retry")
+    void release_FreesKey() {
+        store.reserve("key-1", "abc");
+        store.release("key-1");
+
+        assertInstanceOf(Reservation.Acquired.class, store.reserve("key-1", "abc"));
+    }
+
+    @Test
+    @DisplayName("reserve - A reservation abandoned past the timeout is taken over")
+    void reserve_TakesOverAbandonedReservation() {
+        IdempotencyRecord abandoned = new IdempotencyRecord("key-1", "abc", LocalDateTime.now().plusHours(1));
+        ReflectionTestUtils.setField(abandoned, "createdAt", LocalDateTime.now().minusMinutes(5));
+        repository.saveAndFlush(abandoned);
+
+        assertInstanceOf(Reservation.Acquired.class, store.reserve("key-1", "abc"));
+    }
+
+    @Test
+    @DisplayName("purgeExpired - Deletes records past their expiry only")
+    void purgeExpired_DeletesExpiredRecords() {
+        repository.saveAndFlush(new IdempotencyRecord("old", "abc", LocalDateTime.now().minusMinutes(1)));
+        repository.saveAndFlush(new IdempotencyRecord("fresh", "abc", LocalDateTime.now().plusHours(1)));
+
+        store.purgeExpired();
+
+        assertFalse(repository.existsById("old"));
+        assertTrue(repository.existsById("fresh"));
+    }
+
+    private IdempotencyStore newStore() {
+        return new IdempotencyStore(repository, Duration.ofHours(1), 10, Duration.ofSeconds(10));
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.task_connect.metrics;
+
+import com.example.task_connect.model.Category;
+import com.example.task_connect.repository.CategoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//the regions are filled on commit, so the reads here run in transactions of their own
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.uri=hibernate-cache.conf",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=fail"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(SecondLevelCacheMetrics.class)
+class SecondLevelCacheMetricsTest {
+
+    @Autowired
+    private SecondLevelCacheMetrics metrics;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("bindTo should publish hits and misses of every second-level cache region")
+    void bindTo_PublishesRegionStatistics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        metrics.bindTo(registry);
+
+        Category category = new Category();
+        category.setName("Plumbing");
+        Long id = categoryRepository.save(category).getId();
+        entityManagerFactory.getCache().evictAll();
+        double hitsBefore = gets(registry, "categories", "hit");
+        double missesBefore = gets(registry, "categories", "miss");
+
+        categoryRepository.findById(id);
+        categoryRepository.findById(id);
+
+        //the first read misses (READ_WRITE looks the entry up again before putting it), the second one hits
+        assertTrue(gets(registry, "categories", "miss") > missesBefore);
+        assertEquals(1, gets(registry, "categories", "hit") - hitsBefore);
+        assertNotNull(registry.find("cache.gets").tag("cache", "profiles").tag("result", "hit").functionCounter());
+    }
+
+    private static double gets(SimpleMeterRegistry registry, String region, String result) {
+        return registry.get("cache.gets").tag("cache", region).tag("result", result).functionCounter().count();
+    }
+}
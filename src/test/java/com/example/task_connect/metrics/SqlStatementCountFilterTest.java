@@ -0,0 +1,55 @@
+package com.example.task_connect.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementCountFilterTest {
+
+    private final SqlStatementCounter counter = new SqlStatementCounter();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SqlStatementCountFilter filter = new SqlStatementCountFilter(counter, registry);
+
+    @Test
+    @DisplayName("Should record the statements of each request under its route template")
+    void doFilter_RecordsStatementsPerRoute() throws Exception {
+        //statements from before the request must not be counted
+        counter.inspect("select 1");
+
+        filter.doFilter(request("/api/tasks/{taskId}/bids"), new MockHttpServletResponse(), (req, res) -> {
+            counter.inspect("select t from tasks");
+            counter.inspect("insert into bids");
+            counter.inspect("update tasks");
+        });
+        filter.doFilter(request("/api/tasks/{taskId}/bids"), new MockHttpServletResponse(), (req, res) -> {
+            counter.inspect("select t from tasks");
+        });
+
+        DistributionSummary summary = registry.get("taskconnect.http.sql.statements")
+                .tag("method", "POST")
+                .tag("uri", "/api/tasks/{taskId}/bids")
+                .summary();
+        assertEquals(2, summary.count());
+        assertEquals(4, summary.totalAmount());
+        assertEquals(3, summary.max());
+        assertEquals("statements", summary.getId().getBaseUnit());
+    }
+
+    @Test
+    @DisplayName("Should return the SQL unchanged")
+    void inspect_DoesNotChangeSql() {
+        assertEquals("select 1", counter.inspect("select 1"));
+    }
+
+    private static MockHttpServletRequest request(String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/tasks/7/bids");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+}
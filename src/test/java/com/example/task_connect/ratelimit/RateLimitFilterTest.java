@@ -0,0 +1,90 @@
+package com.example.task_connect.ratelimit;
+
+import com.example.task_connect.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitFilterTest {
+
+    @Mock
+    private HandlerExceptionResolver exceptionResolver;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger executions = new AtomicInteger();
+    private final FilterChain controller = (req, res) -> executions.incrementAndGet();
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitRule bids = new RateLimitRule("submit-bid", "POST",
+                PathPatternParser.defaultInstance.parse("/api/tasks/{taskId}/bids"),
+                new TokenBucketRateLimiter(2, Duration.ofMinutes(1)));
+        filter = new RateLimitFilter(List.of(bids), exceptionResolver, registry);
+    }
+
+    @Test
+    @DisplayName("Should answer 429 through the exception handler once a client is over its budget")
+    void doFilter_RejectsOverBudget() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            filter.doFilter(request("POST", "/api/tasks/5/bids", "10.0.0.1"), new MockHttpServletResponse(), controller);
+        }
+
+        assertEquals(2, executions.get());
+        ArgumentCaptor<Exception> error = ArgumentCaptor.forClass(Exception.class);
+        verify(exceptionResolver).resolveException(any(), any(), isNull(), error.capture());
+        RateLimitExceededException rejected = assertInstanceOf(RateLimitExceededException.class, error.getValue());
+        assertEquals(30, rejected.getRetryAfterSeconds());
+        assertEquals(1.0, registry.get("taskconnect.ratelimit.rejected").tag("rule", "submit-bid").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should keep a separate budget per client and share it across the endpoint's path variables")
+    void doFilter_BudgetPerClient() throws Exception {
+        filter.doFilter(request("POST", "/api/tasks/5/bids", "10.0.0.1"), new MockHttpServletResponse(), controller);
+        filter.doFilter(request("POST", "/api/tasks/6/bids", "10.0.0.1"), new MockHttpServletResponse(), controller);
+        filter.doFilter(request("POST", "/api/tasks/7/bids", "10.0.0.1"), new MockHttpServletResponse(), controller);
+        filter.doFilter(request("POST", "/api/tasks/5/bids", "10.0.0.2"), new MockHttpServletResponse(), controller);
+
+        assertEquals(3, executions.get());
+        verify(exceptionResolver, times(1)).resolveException(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not limit other methods or paths")
+    void doFilter_IgnoresUnlimitedEndpoints() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            filter.doFilter(request("GET", "/api/tasks/5/bids", "10.0.0.1"), new MockHttpServletResponse(), controller);
+            filter.doFilter(request("POST", "/api/tasks/5/reviews", "10.0.0.1"), new MockHttpServletResponse(), controller);
+        }
+
+        assertEquals(10, executions.get());
+        verifyNoInteractions(exceptionResolver);
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String ip) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(ip);
+        return request;
+    }
+}
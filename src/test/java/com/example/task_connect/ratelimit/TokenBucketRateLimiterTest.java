@@ -0,0 +1,101 @@
+package com.example.task_connect.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    //3 requests per 3 seconds: one token every second, bursts of up to 3
+    private final TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, Duration.ofSeconds(3), clock::get);
+
+    @Test
+    @DisplayName("tryAcquire - Admits a full burst, then reports the wait for the next token")
+    void tryAcquire_BurstThenWait() {
+        assertEquals(0, limiter.tryAcquire("ip:1"));
+        assertEquals(0, limiter.tryAcquire("ip:1"));
+        assertEquals(0, limiter.tryAcquire("ip:1"));
+
+        assertEquals(TimeUnit.SECONDS.toNanos(1), limiter.tryAcquire("ip:1"));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(400));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(600), limiter.tryAcquire("ip:1"));
+    }
+
+    @Test
+    @DisplayName("tryAcquire - Tokens come back one interval at a time, up to the capacity")
+    void tryAcquire_Refills() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("ip:1");
+        }
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(0, limiter.tryAcquire("ip:1"));
+        assertTrue(limiter.tryAcquire("ip:1") > 0);
+
+        //a long pause refills the bucket, but never beyond its capacity
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(10));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("ip:1"));
+        }
+        assertTrue(limiter.tryAcquire("ip:1") > 0);
+    }
+
+    @Test
+    @DisplayName("tryAcquire - Every client has its own bucket")
+    void tryAcquire_KeysAreIndependent() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("ip:1");
+        }
+
+        assertTrue(limiter.tryAcquire("ip:1") > 0);
+        assertEquals(0, limiter.tryAcquire("ip:2"));
+    }
+
+    @Test
+    @DisplayName("tryAcquire - Concurrent callers never get more than the capacity")
+    void tryAcquire_ConcurrentCallers() throws Exception {
+        TokenBucketRateLimiter slow = new TokenBucketRateLimiter(100, Duration.ofHours(1));
+        AtomicInteger admitted = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 1000; i++) {
+                executor.submit(() -> {
+                    if (slow.tryAcquire("ip:1") == 0) {
+                        admitted.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        assertEquals(100, admitted.get());
+    }
+
+    @Test
+    @DisplayName("evictIdle - Drops the buckets that have refilled completely")
+    void evictIdle_DropsFullBuckets() {
+        limiter.tryAcquire("ip:1");
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("ip:2");
+        }
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        //ip:1 is full again, ip:2 has got two of its three tokens back
+        assertEquals(1, limiter.evictIdle());
+        assertEquals(1, limiter.size());
+        assertEquals(0, limiter.tryAcquire("ip:2"));
+        assertEquals(0, limiter.tryAcquire("ip:2"));
+        assertTrue(limiter.tryAcquire("ip:2") > 0);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.task_connect.recommend;
+
+import com.example.task_connect.model.*;
+import com.example.task_connect.model.enums.BidStatus;
+import com.example.task_connect.model.enums.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//runs the two streamed index queries against H2
+@DataJpaTest
+@Import({TaskerIndex.class, TaskerIndexLoader.class})
+class TaskerIndexLoaderTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskerIndexLoader loader;
+
+    @Autowired
+    private TaskerIndex index;
+
+    private User requester;
+    private Address requesterAddress;
+    private Category plumbing;
+
+    @BeforeEach
+    void setUp() {
+        requester = user("requester@test.ro");
+        requesterAddress = address(requester, "Calea Victoriei 100", 44.4268, 26.1025);
+        plumbing = new Category();
+        plumbing.setName("Plumbing");
+        entityManager.persist(plumbing);
+    }
+
+    @Test
+    @DisplayName("rebuild - Loads taskers with accepted bids, their first located address and their category history")
+    void rebuild_LoadsTaskers() {
+        User tasker = user("tasker@test.ro");
+        address(tasker, "Fara coordonate 1", null, null);
+        address(tasker, "Strada Lipscani 10", 44.4310, 26.1000);
+        address(tasker, "Bulevardul Unirii 5", 45.0, 27.0);
+        User bidder = user("bidder@test.ro");
+
+        acceptedBid(tasker);
+        acceptedBid(tasker);
+        Task open = task();
+        entityManager.persist(bid(open, bidder));
+        entityManager.flush();
+        entityManager.clear();
+
+        loader.rebuild();
+
+        assertEquals(1, index.size());
+        List<TaskerMatch> matches = index.match(
+                new TaskToMatch(999L, requester.getId(), plumbing.getId(), 44.4268, 26.1025), 10);
+        assertEquals(1, matches.size());
+        assertEquals(tasker.getId(), matches.get(0).taskerId());
+        assertEquals(2, matches.get(0).acceptedBids());
+        assertEquals(0.5, matches.get(0).distanceKm(), 0.1);
+    }
+
+    private void acceptedBid(User tasker) {
+        Task task = task();
+        task.setTasker(tasker);
+        task.updateStatus(TaskStatus.ASSIGNED);
+        Bid bid = bid(task, tasker);
+        bid.updateStatus(BidStatus.ACCEPTED);
+        entityManager.persist(bid);
+    }
+
+    private Task task() {
+        Task task = new Task();
+        task.setTitle("Fix the sink");
+        task.setBudget(new BigDecimal("100.00"));
+        task.setRequester(requester);
+        task.setCategory(plumbing);
+        task.setAddress(requesterAddress);
+        return entityManager.persist(task);
+    }
+
+    private static Bid bid(Task task, User tasker) {
+        Bid bid = new Bid();
+        bid.setTask(task);
+        bid.setTasker(tasker);
+        bid.setAmount(new BigDecimal("90.00"));
+        return bid;
+    }
+
+    private Address address(User user, String street, Double latitude, Double longitude) {
+        Address address = new Address();
+        address.setStreet(street);
+        address.setCity("Bucuresti");
+        address.setLatitude(latitude);
+        address.setLongitude(longitude);
+        address.setUser(user);
+        return entityManager.persist(address);
+    }
+
+    private User user(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("password");
+        Profile profile = new Profile();
+        profile.setFirstName("Ion");
+        profile.setLastName("Popescu");
+        user.setProfile(profile);
+        return entityManager.persist(user);
+    }
+}
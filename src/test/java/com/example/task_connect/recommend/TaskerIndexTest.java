@@ -0,0 +1,114 @@
+package com.example.task_connect.recommend;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskerIndexTest {
+
+    //Piata Unirii, Bucuresti
+    private static final double LAT = 44.4268;
+    private static final double LON = 26.1025;
+    private static final long PLUMBING = 1L;
+    private static final long CLEANING = 2L;
+
+    private TaskerIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskerIndex(50);
+        index.replace(Stream.of(
+                        tasker(1L, "4.00", 44.4355, 26.1025),   //~1 km north
+                        tasker(2L, "4.00", 44.4268, 26.1650),   //~5 km east
+                        tasker(3L, "5.00", 44.3302, 23.7949),   //Craiova, ~180 km away
+                        tasker(4L, "5.00", null, null),         //no coordinates
+                        tasker(5L, "2.00", 44.4268, 26.1025)),  //next door, poorly rated, no plumbing history
+                Stream.of(
+                        new TaskerHistory(1L, PLUMBING, 10),
+                        new TaskerHistory(2L, PLUMBING, 10),
+                        new TaskerHistory(3L, PLUMBING, 50),
+                        new TaskerHistory(4L, PLUMBING, 1),
+                        new TaskerHistory(5L, CLEANING, 20),
+                        new TaskerHistory(99L, PLUMBING, 100)));  //not a known tasker, ignored
+    }
+
+    @Test
+    @DisplayName("match - Ranks by history, rating and proximity and leaves out taskers beyond the maximum distance")
+    void match_RanksCandidates() {
+        List<TaskerMatch> matches = index.match(new TaskToMatch(100L, 50L, PLUMBING, LAT, LON), 10);
+
+        assertEquals(List.of(1L, 2L, 5L, 4L), ids(matches));
+        assertEquals(10, matches.get(0).acceptedBids());
+        assertEquals(0.97, matches.get(0).distanceKm(), 0.05);
+        assertEquals(0, matches.get(2).acceptedBids());
+        assertNull(matches.get(3).distanceKm());
+        assertTrue(matches.get(0).score() > matches.get(1).score());
+    }
+
+    @Test
+    @DisplayName("match - Without task coordinates only history and rating count, and nobody is too far")
+    void match_TaskWithoutCoordinates() {
+        List<TaskerMatch> matches = index.match(new TaskToMatch(100L, 50L, PLUMBING, null, null), 10);
+
+        assertEquals(List.of(3L, 1L, 2L, 4L, 5L), ids(matches));
+        assertTrue(matches.stream().allMatch(match -> match.distanceKm() == null));
+    }
+
+    @Test
+    @DisplayName("match - Never recommends the requester and honours the limit")
+    void match_ExcludesRequester() {
+        List<TaskerMatch> matches = index.match(new TaskToMatch(100L, 1L, PLUMBING, LAT, LON), 2);
+
+        assertEquals(List.of(2L, 5L), ids(matches));
+    }
+
+    @Test
+    @DisplayName("match - A category nobody has worked in yet falls back to rating and proximity")
+    void match_UnknownCategory() {
+        List<TaskerMatch> matches = index.match(new TaskToMatch(100L, 50L, 77L, LAT, LON), 10);
+
+        //next door outweighs the better rating of a tasker whose location is unknown
+        assertEquals(List.of(1L, 2L, 5L, 4L), ids(matches));
+        assertTrue(matches.stream().allMatch(match -> match.acceptedBids() == 0));
+    }
+
+    @Test
+    @DisplayName("match - Stopping the scan early returns the same ranking as scoring every candidate")
+    void match_EarlyStopMatchesFullScan() {
+        Random random = new Random(42);
+        List<TaskerSnapshot> taskers = new ArrayList<>();
+        List<TaskerHistory> history = new ArrayList<>();
+        for (long id = 1; id <= 5000; id++) {
+            boolean rated = random.nextInt(4) > 0;
+            taskers.add(new TaskerSnapshot(id, rated ? BigDecimal.valueOf(100 + random.nextInt(401), 2) : BigDecimal.ZERO,
+                    rated ? 1 : 0, 44 + random.nextDouble(), 26 + random.nextDouble()));
+            if (random.nextBoolean()) {
+                history.add(new TaskerHistory(id, (long) random.nextInt(5), 1 + random.nextInt(30)));
+            }
+        }
+        TaskerIndex large = new TaskerIndex(50);
+        large.replace(taskers.stream(), history.stream());
+
+        for (long categoryId = 0; categoryId < 6; categoryId++) {
+            TaskToMatch task = new TaskToMatch(100L, 7L, categoryId, 44.5, 26.5);
+            List<TaskerMatch> everyone = large.match(task, taskers.size());
+            assertEquals(everyone.subList(0, 20), large.match(task, 20));
+        }
+    }
+
+    private static TaskerSnapshot tasker(Long id, String rating, Double latitude, Double longitude) {
+        return new TaskerSnapshot(id, new BigDecimal(rating), 3, latitude, longitude);
+    }
+
+    private static List<Long> ids(List<TaskerMatch> matches) {
+        return matches.stream().map(TaskerMatch::taskerId).toList();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.task_connect.repository;
+
+import com.example.task_connect.model.Category;
+import com.example.task_connect.model.Profile;
+import com.example.task_connect.model.User;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//the second-level cache is only filled and invalidated around commits, so every step commits for real
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.uri=hibernate-cache.conf",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=fail"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProfileRepositoryTest {
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Cache cache;
+    private User reviewed;
+    private User other;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        cache = entityManagerFactory.getCache();
+        reviewed = user("reviewed@test.ro");
+        other = user("other@test.ro");
+        Category newCategory = new Category();
+        newCategory.setName("Plumbing");
+        category = categoryRepository.save(newCategory);
+        cache.evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        categoryRepository.deleteAll();
+        cache.evictAll();
+    }
+
+    @Test
+    @DisplayName("addTaskerRating and addRequesterRating should update the running totals in the database")
+    void addRating_UpdatesTotals() {
+        transactionTemplate.executeWithoutResult(status -> {
+            assertEquals(1, profileRepository.addTaskerRating(reviewed.getId(), 5));
+            assertEquals(1, profileRepository.addTaskerRating(reviewed.getId(), 4));
+            assertEquals(1, profileRepository.addRequesterRating(reviewed.getId(), 3));
+            assertEquals(0, profileRepository.addTaskerRating(-1L, 5));
+        });
+
+        Profile profile = profileRepository.findById(reviewed.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("4.50").compareTo(profile.getTaskerRating()));
+        assertEquals(2, profile.getTaskerRatingCount());
+        assertEquals(0, new BigDecimal("3.00").compareTo(profile.getRequesterRating()));
+        assertEquals(1, profile.getRequesterRatingCount());
+    }
+
+    @Test
+    @DisplayName("A rating update should leave the rest of the second-level cache alone")
+    void addRating_KeepsOtherCachedEntities() {
+        profileRepository.findById(reviewed.getId());
+        profileRepository.findById(other.getId());
+        categoryRepository.findById(category.getId());
+        assertTrue(cache.contains(Profile.class, other.getId()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            profileRepository.addTaskerRating(reviewed.getId(), 5);
+            profileRepository.addRequesterRating(reviewed.getId(), 4);
+        });
+
+        assertTrue(cache.contains(Profile.class, other.getId()));
+        assertTrue(cache.contains(Category.class, category.getId()));
+    }
+
+    private User user(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("password");
+        Profile profile = new Profile();
+        profile.setFirstName("Ion");
+        profile.setLastName("Popescu");
+        user.setProfile(profile);
+        return userRepository.save(user);
+    }
+}
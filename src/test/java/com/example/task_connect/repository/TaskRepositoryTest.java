@@ -0,0 +1,101 @@
+package com.example.task_connect.repository;
+
+import com.example.task_connect.dto.TaskSummaryDTO;
+import com.example.task_connect.model.*;
+import com.example.task_connect.model.enums.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class TaskRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private User requester;
+    private Category plumbing;
+    private Category cleaning;
+    private Address address;
+
+    @BeforeEach
+    void setUp() {
+        requester = new User();
+        requester.setEmail("feed@test.ro");
+        requester.setPassword("password");
+        entityManager.persist(requester);
+
+        address = new Address();
+        address.setStreet("Calea Victoriei 100");
+        address.setCity("Bucuresti");
+        address.setUser(requester);
+        entityManager.persist(address);
+
+        plumbing = category("Plumbing");
+        cleaning = category("Cleaning");
+    }
+
+    @Test
+    @DisplayName("Should page through OPEN tasks newest first using the id cursor")
+    void findFeedPage_SeeksByCursor() {
+        Task t1 = task("Task 1", plumbing, "50.00");
+        Task t2 = task("Task 2", plumbing, "60.00");
+        Task t3 = task("Task 3", plumbing, "70.00");
+        entityManager.flush();
+
+        List<TaskSummaryDTO> first = taskRepository.findFeedPage(
+                TaskStatus.OPEN, Long.MAX_VALUE, null, null, null, Limit.of(2));
+        assertEquals(List.of(t3.getId(), t2.getId()), first.stream().map(TaskSummaryDTO::id).toList());
+
+        List<TaskSummaryDTO> second = taskRepository.findFeedPage(
+                TaskStatus.OPEN, t2.getId(), null, null, null, Limit.of(2));
+        assertEquals(List.of(t1.getId()), second.stream().map(TaskSummaryDTO::id).toList());
+        assertEquals(plumbing.getId(), second.get(0).categoryId());
+        assertEquals(requester.getId(), second.get(0).requesterId());
+    }
+
+    @Test
+    @DisplayName("Should filter the feed by status, category and budget range")
+    void findFeedPage_Filters() {
+        task("Cheap plumbing", plumbing, "20.00");
+        Task match = task("Mid plumbing", plumbing, "80.00");
+        task("Cleaning", cleaning, "80.00");
+        task("Cancelled plumbing", plumbing, "80.00").cancel();
+        entityManager.flush();
+
+        List<TaskSummaryDTO> rows = taskRepository.findFeedPage(TaskStatus.OPEN, Long.MAX_VALUE,
+                plumbing.getId(), new BigDecimal("50"), new BigDecimal("100"), Limit.of(10));
+
+        assertEquals(1, rows.size());
+        assertEquals(match.getId(), rows.get(0).id());
+        assertEquals("Mid plumbing", rows.get(0).title());
+    }
+
+    private Category category(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return entityManager.persist(category);
+    }
+
+    private Task task(String title, Category category, String budget) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setBudget(new BigDecimal(budget));
+        task.setRequester(requester);
+        task.setCategory(category);
+        task.setAddress(address);
+        return entityManager.persist(task);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.task_connect.repository;
+
+import com.example.task_connect.dto.AddressView;
+import com.example.task_connect.dto.UserView;
+import com.example.task_connect.model.Address;
+import com.example.task_connect.model.Profile;
+import com.example.task_connect.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class UserRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Test
+    @DisplayName("Should project the user row and its addresses without exposing the password")
+    void findViewById_ProjectsUserAndAddresses() {
+        User user = new User();
+        user.setEmail("view@test.ro");
+        user.setPassword("secret");
+        Profile profile = new Profile();
+        profile.setFirstName("Ionut");
+        profile.setLastName("Ionescu");
+        user.setProfile(profile);
+        entityManager.persist(user);
+
+        Address address = new Address();
+        address.setStreet("Calea Victoriei 100");
+        address.setCity("Bucuresti");
+        address.setUser(user);
+        entityManager.persist(address);
+        entityManager.flush();
+        entityManager.clear();
+
+        UserView view = userRepository.findViewById(user.getId()).orElseThrow();
+        List<AddressView> addresses = addressRepository.findViewsByUserId(user.getId());
+
+        assertEquals("view@test.ro", view.email());
+        //the profile is read through the second-level cache by UserService, not by this projection
+        assertNull(view.profile());
+        assertEquals(List.of(new AddressView(address.getId(), "Calea Victoriei 100", "Bucuresti", null, null, null)), addresses);
+    }
+
+    @Test
+    @DisplayName("Should return empty for an unknown user")
+    void findViewById_Unknown() {
+        assertTrue(userRepository.findViewById(404L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("A user row written without a version, like those that predate the column, starts at version 0")
+    void findVersionById_RowWithoutVersion() {
+        entityManager.getEntityManager()
+                .createNativeQuery("insert into users (id, email, password) values (9000, 'legacy@test.ro', 'secret')")
+                .executeUpdate();
+
+        assertEquals(Optional.of(0L), userRepository.findVersionById(9000L));
+        assertEquals(1, userRepository.incrementVersion(9000L));
+        assertEquals(Optional.of(1L), userRepository.findVersionById(9000L));
+
+        //entity writes increment it too, which a null version would break
+        entityManager.clear();
+        User user = userRepository.findById(9000L).orElseThrow();
+        user.setEmail("renamed@test.ro");
+        entityManager.flush();
+        assertEquals(2L, user.getVersion());
+    }
+}
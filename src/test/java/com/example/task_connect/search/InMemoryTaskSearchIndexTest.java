@@ -0,0 +1,85 @@
+package com.example.task_connect.search;
+
+import com.example.task_connect.model.enums.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryTaskSearchIndexTest {
+
+    private InMemoryTaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InMemoryTaskSearchIndex();
+        index.index(new TaskDocument(1L, "Reparatie robinet", "Robinetul din bucatarie picura", TaskStatus.OPEN, 1L));
+        index.index(new TaskDocument(2L, "Montaj mobila", "Dulap nou, are nevoie si de un robinet mutat", TaskStatus.OPEN, 2L));
+        index.index(new TaskDocument(3L, "Zugravit apartament", "Doua camere, culori deschise", TaskStatus.ASSIGNED, 3L));
+    }
+
+    @Test
+    @DisplayName("Should rank a title match above a description match")
+    void search_TitleMatchRanksFirst() {
+        SearchResult result = index.search("robinet", null, null, 0, 10);
+
+        assertEquals(List.of(1L, 2L), ids(result));
+        assertTrue(result.hits().get(0).score() > result.hits().get(1).score());
+        assertEquals(2, result.totalHits());
+    }
+
+    @Test
+    @DisplayName("Should match regardless of case and diacritics")
+    void search_IgnoresCaseAndDiacritics() {
+        SearchResult result = index.search("ZUGRĂVIT", null, null, 0, 10);
+
+        assertEquals(List.of(3L), ids(result));
+    }
+
+    @Test
+    @DisplayName("Should apply status and category filters")
+    void search_AppliesFilters() {
+        assertEquals(List.of(2L), ids(index.search("robinet", TaskStatus.OPEN, 2L, 0, 10)));
+        assertTrue(index.search("zugravit", TaskStatus.OPEN, null, 0, 10).hits().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should page through hits and report the total")
+    void search_Paginates() {
+        SearchResult secondPage = index.search("robinet", null, null, 1, 1);
+
+        assertEquals(List.of(2L), ids(secondPage));
+        assertEquals(2, secondPage.totalHits());
+        assertTrue(index.search("robinet", null, null, 5, 1).hits().isEmpty());
+        //offset + limit past Integer.MAX_VALUE must not wrap around
+        assertTrue(index.search("robinet", null, null, Integer.MAX_VALUE - 1, 10).hits().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> index.search("robinet", null, null, -1, 10));
+    }
+
+    @Test
+    @DisplayName("Should replace the old text when a task is indexed again and forget removed tasks")
+    void index_UpdateAndRemove() {
+        index.index(new TaskDocument(1L, "Schimbat bec", "Bec ars pe hol", TaskStatus.OPEN, 1L));
+        assertEquals(List.of(2L), ids(index.search("robinet", null, null, 0, 10)));
+        assertEquals(List.of(1L), ids(index.search("bec", null, null, 0, 10)));
+
+        index.remove(1L);
+        assertTrue(index.search("bec", null, null, 0, 10).hits().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return nothing for a query made only of stop words")
+    void search_StopWordsOnly() {
+        SearchResult result = index.search("si de la", null, null, 0, 10);
+
+        assertTrue(result.hits().isEmpty());
+        assertEquals(0, result.totalHits());
+    }
+
+    private static List<Long> ids(SearchResult result) {
+        return result.hits().stream().map(SearchHit::taskId).toList();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.task_connect.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskGeoIndexTest {
+
+    //Piata Unirii, Bucuresti
+    private static final double LAT = 44.4268;
+    private static final double LON = 26.1025;
+
+    private TaskGeoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskGeoIndex();
+        index.putAddress(1L, 44.4355, 26.1025);   //~1 km north
+        index.putAddress(2L, 44.4268, 26.1650);   //~5 km east
+        index.putAddress(3L, 44.3302, 23.7949);   //Craiova, ~180 km away
+        index.putOpenTask(10L, 1L);
+        index.putOpenTask(20L, 2L);
+        index.putOpenTask(21L, 2L);
+        index.putOpenTask(30L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should return only tasks inside the radius, closest first")
+    void findNearby_SortedByDistance() {
+        List<NearbyHit> hits = index.findNearby(LAT, LON, 10, 20);
+
+        assertEquals(List.of(10L, 20L, 21L), ids(hits));
+        assertEquals(0.97, hits.get(0).distanceKm(), 0.05);
+        assertEquals(5.0, hits.get(1).distanceKm(), 0.2);
+    }
+
+    @Test
+    @DisplayName("Should stop at the limit")
+    void findNearby_Limit() {
+        assertEquals(List.of(10L, 20L), ids(index.findNearby(LAT, LON, 10, 2)));
+    }
+
+    @Test
+    @DisplayName("Should drop a task once it leaves OPEN")
+    void removeTask_NoLongerFound() {
+        index.removeTask(10L);
+        index.removeTask(20L);
+
+        assertEquals(List.of(21L), ids(index.findNearby(LAT, LON, 10, 20)));
+    }
+
+    @Test
+    @DisplayName("Should follow an address that moves and ignore addresses without coordinates")
+    void putAddress_MoveAndClear() {
+        index.putAddress(3L, 44.4270, 26.1030);
+        assertEquals(30L, index.findNearby(LAT, LON, 10, 20).get(0).taskId());
+
+        index.putAddress(3L, null, null);
+        assertFalse(ids(index.findNearby(LAT, LON, 10, 20)).contains(30L));
+    }
+
+    @Test
+    @DisplayName("Should find tasks on the other side of the antimeridian")
+    void findNearby_AcrossAntimeridian() {
+        index.putAddress(4L, -16.5, -179.95);
+        index.putOpenTask(40L, 4L);
+
+        assertEquals(List.of(40L), ids(index.findNearby(-16.5, 179.95, 20, 20)));
+    }
+
+    private static List<Long> ids(List<NearbyHit> hits) {
+        return hits.stream().map(NearbyHit::taskId).toList();
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.task_connect.service;
+
+import com.example.task_connect.dto.BidRequestDTO;
+import com.example.task_connect.event.DomainEventOutbox;
+import com.example.task_connect.metrics.DomainMetrics;
+import com.example.task_connect.model.*;
+import com.example.task_connect.model.enums.TaskStatus;
+import com.example.task_connect.repository.*;
+import com.example.task_connect.stream.BidStreamHub;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//many clients bidding on one popular task, each bid in its own committed transaction as in the application.
+//@Retryable is not active in this slice, so a single version conflict between bidders would fail a bid here
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({BidService.class, DomainMetrics.class, DomainEventOutbox.class, BidStreamHub.class, SimpleMeterRegistry.class})
+class BidServiceConcurrencyTest {
+
+    private static final int BIDDERS = 40;
+
+    @Autowired
+    private BidService bidService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private User requester;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        requester = user("requester@test.ro");
+
+        Category category = new Category();
+        category.setName("Plumbing");
+        categoryRepository.save(category);
+
+        Address address = new Address();
+        address.setStreet("Calea Victoriei 100");
+        address.setCity("Bucuresti");
+        address.setUser(requester);
+        addressRepository.save(address);
+
+        Task newTask = new Task();
+        newTask.setTitle("Fix the sink");
+        newTask.setBudget(new BigDecimal("100.00"));
+        newTask.setRequester(requester);
+        newTask.setCategory(category);
+        newTask.setAddress(address);
+        task = taskRepository.save(newTask);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+        bidRepository.deleteAll();
+        taskRepository.deleteAll();
+        addressRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Concurrent bids on one task all commit without version conflicts and leave the task version alone")
+    void submitBid_ConcurrentBiddersDoNotConflict() throws Exception {
+        List<User> taskers = new ArrayList<>();
+        for (int i = 0; i < BIDDERS; i++) {
+            taskers.add(user("tasker" + i + "@test.ro"));
+        }
+        long versionBefore = taskRepository.findVersionById(task.getId()).orElseThrow();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Bid>> futures = new ArrayList<>();
+            for (User tasker : taskers) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return bidService.submitBid(task.getId(), bid(tasker));
+                }));
+            }
+            start.countDown();
+            for (Future<Bid> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(BIDDERS, bidRepository.count());
+        assertEquals(versionBefore, taskRepository.findVersionById(task.getId()).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("A bid whose task is assigned before it commits fails its version check")
+    void submitBid_TaskAssignedBeforeCommit() {
+        User tasker = user("tasker@test.ro");
+        User winner = user("winner@test.ro");
+
+        assertThrows(OptimisticLockingFailureException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            bidService.submitBid(task.getId(), bid(tasker));
+            //acceptBid commits on another connection while this bid is still open
+            CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(other -> {
+                Task assigned = taskRepository.findById(task.getId()).orElseThrow();
+                assigned.setTasker(winner);
+                assigned.updateStatus(TaskStatus.ASSIGNED);
+            })).join();
+        }));
+
+        assertEquals(0, bidRepository.count());
+        assertEquals(TaskStatus.ASSIGNED, taskRepository.findById(task.getId()).orElseThrow().getStatus());
+    }
+
+    private static BidRequestDTO bid(User tasker) {
+        BidRequestDTO request = new BidRequestDTO();
+        request.setTaskerId(tasker.getId());
+        request.setAmount(new BigDecimal("75.00"));
+        return request;
+    }
+
+    private User user(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("password");
+        return userRepository.save(user);
+    }
+}
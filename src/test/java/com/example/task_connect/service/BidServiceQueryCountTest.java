@@ -0,0 +1,229 @@
+package com.example.task_connect.service;
+
+import com.example.task_connect.dto.BidBatchItemDTO;
+import com.example.task_connect.dto.BidBatchRequestDTO;
+import com.example.task_connect.dto.BidBatchResponseDTO;
+import com.example.task_connect.dto.BidListingDTO;
+import com.example.task_connect.dto.BidPageDTO;
+import com.example.task_connect.dto.BidRequestDTO;
+import com.example.task_connect.dto.BidSort;
+import com.example.task_connect.event.DomainEventOutbox;
+import com.example.task_connect.model.*;
+import com.example.task_connect.model.enums.BidStatus;
+import com.example.task_connect.metrics.DomainMetrics;
+import com.example.task_connect.stream.BidStreamHub;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.order_updates=true"
+})
+@Import({BidService.class, DomainMetrics.class, DomainEventOutbox.class, BidStreamHub.class, SimpleMeterRegistry.class})
+class BidServiceQueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BidService bidService;
+
+    private Statistics statistics;
+    private User requester;
+    private User tasker;
+    private Category category;
+    private Address address;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        requester = user("requester@test.ro");
+        tasker = user("tasker@test.ro");
+
+        category = new Category();
+        category.setName("Plumbing");
+        entityManager.persist(category);
+
+        address = new Address();
+        address.setStreet("Calea Victoriei 100");
+        address.setCity("Bucuresti");
+        address.setUser(requester);
+        entityManager.persist(address);
+    }
+
+    @Test
+    @DisplayName("submitBids should insert the whole batch with the same number of statements for 2 or 40 bids")
+    void submitBids_InsertsAreBatched() {
+        //warm up the pooled sequence so both measured runs draw ids from memory
+        submitBatchAndCountStatements(2);
+
+        long smallBatch = submitBatchAndCountStatements(2);
+        long largeBatch = submitBatchAndCountStatements(40);
+
+        assertEquals(smallBatch, largeBatch);
+    }
+
+    @Test
+    @DisplayName("submitBid should read only the task and check the tasker without loading it")
+    void submitBid_ExactStatementCount() {
+        //the pooled optimizer hits each sequence (bids, outbox events) on its first two calls,
+        //so two warm-up bids make the measured inserts draw their ids from memory
+        submitBidAndCountStatements();
+        submitBidAndCountStatements();
+
+        //task with its transaction + tasker existence check + bid insert + outbox insert
+        //(the version check of the task runs at commit, after this measurement)
+        assertEquals(4, submitBidAndCountStatements());
+        assertEquals(0, statistics.getEntityStatistics(User.class.getName()).getLoadCount());
+    }
+
+    @Test
+    @DisplayName("getBids should return a page of a task with a thousand bids in one query, without loading entities")
+    void getBids_OneQueryPerPage() {
+        Task task = openTask();
+        for (int i = 0; i < 1000; i++) {
+            entityManager.persist(bid(task, tasker, new BigDecimal(10 + i % 90)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics.clear();
+        BidPageDTO page = bidService.getBids(task.getId(), BidStatus.PENDING, BidSort.TASKER_RATING, null, 20);
+
+        assertEquals(20, page.items().size());
+        assertNotNull(page.nextCursor());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("getBids should walk every bid exactly once in sort order, with ties broken by id")
+    void getBids_CursorWalk() {
+        User rated = user("rated@test.ro");
+        profile(rated, "Ana", "Pop", "4.50");
+        User newcomer = user("newcomer@test.ro");
+        profile(newcomer, "Ion", "Ionescu", "0.00");
+
+        Task task = openTask();
+        Bid cheap = entityManager.persist(bid(task, newcomer, new BigDecimal("40.00")));
+        Bid tieFirst = entityManager.persist(bid(task, rated, new BigDecimal("60.00")));
+        Bid tieSecond = entityManager.persist(bid(task, newcomer, new BigDecimal("60.00")));
+        Bid unprofiled = entityManager.persist(bid(task, tasker, new BigDecimal("90.00")));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(List.of(cheap.getId(), tieFirst.getId(), tieSecond.getId(), unprofiled.getId()),
+                walk(task.getId(), BidSort.AMOUNT));
+        assertEquals(List.of(tieFirst.getId(), cheap.getId(), tieSecond.getId(), unprofiled.getId()),
+                walk(task.getId(), BidSort.TASKER_RATING));
+
+        BidListingDTO first = bidService.getBids(task.getId(), null, BidSort.TASKER_RATING, null, 1).items().get(0);
+        assertEquals("Ana Pop", first.taskerName());
+        assertEquals(0, new BigDecimal("4.50").compareTo(first.taskerRating()));
+    }
+
+    //pages of one so every boundary between rows goes through the cursor
+    private List<Long> walk(Long taskId, BidSort sort) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            BidPageDTO page = bidService.getBids(taskId, null, sort, cursor, 1);
+            page.items().forEach(item -> ids.add(item.id()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private Bid bid(Task task, User bidder, BigDecimal amount) {
+        Bid bid = new Bid();
+        bid.setTask(task);
+        bid.setTasker(bidder);
+        bid.setAmount(amount);
+        return bid;
+    }
+
+    private void profile(User user, String firstName, String lastName, String rating) {
+        Profile profile = new Profile();
+        profile.setFirstName(firstName);
+        profile.setLastName(lastName);
+        profile.updateTaskerRating(new BigDecimal(rating));
+        profile.setUser(user);
+        entityManager.persist(profile);
+    }
+
+    private long submitBidAndCountStatements() {
+        Long taskId = openTask().getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        BidRequestDTO request = new BidRequestDTO();
+        request.setTaskerId(tasker.getId());
+        request.setAmount(new BigDecimal("75.00"));
+
+        statistics.clear();
+        bidService.submitBid(taskId, request);
+        entityManager.flush();
+        long statements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        return statements;
+    }
+
+    private long submitBatchAndCountStatements(int bidCount) {
+        BidBatchRequestDTO request = new BidBatchRequestDTO();
+        request.setTaskerId(tasker.getId());
+        List<BidBatchItemDTO> items = new ArrayList<>();
+        for (int i = 0; i < bidCount; i++) {
+            BidBatchItemDTO item = new BidBatchItemDTO();
+            item.setTaskId(openTask().getId());
+            item.setAmount(new BigDecimal("75.00"));
+            items.add(item);
+        }
+        request.setBids(items);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics.clear();
+        BidBatchResponseDTO response = bidService.submitBids(request);
+        entityManager.flush();
+        long statements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+
+        assertEquals(bidCount, response.created());
+        return statements;
+    }
+
+    private Task openTask() {
+        Task task = new Task();
+        task.setTitle("Fix the sink");
+        task.setBudget(new BigDecimal("100.00"));
+        task.setRequester(requester);
+        task.setCategory(category);
+        task.setAddress(address);
+        return entityManager.persist(task);
+    }
+
+    private User user(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("password");
+        return entityManager.persist(user);
+    }
+}
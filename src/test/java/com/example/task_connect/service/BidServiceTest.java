@@ -1,13 +1,26 @@
 package com.example.task_connect.service;
 
+import com.example.task_connect.dto.BidBatchItemDTO;
+import com.example.task_connect.dto.BidBatchRequestDTO;
+import com.example.task_connect.dto.BidBatchResponseDTO;
+import com.example.task_connect.dto.BidBatchResultDTO;
+import com.example.task_connect.dto.BidListingDTO;
+import com.example.task_connect.dto.BidPageDTO;
 import com.example.task_connect.dto.BidRequestDTO;
+import com.example.task_connect.dto.BidSort;
+import com.example.task_connect.dto.BidView;
+import com.example.task_connect.event.BidSubmittedEvent;
+import com.example.task_connect.event.DomainEventOutbox;
 import com.example.task_connect.exception.ResourceNotFoundException;
 import com.example.task_connect.exception.UserNotFoundException;
+import com.example.task_connect.metrics.DomainMetrics;
 import com.example.task_connect.model.*;
+import com.example.task_connect.model.enums.BidStatus;
 import com.example.task_connect.model.enums.TaskStatus;
 import com.example.task_connect.repository.BidRepository;
 import com.example.task_connect.repository.TaskRepository;
 import com.example.task_connect.repository.UserRepository;
+import com.example.task_connect.stream.BidStreamHub;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,13 +28,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +56,15 @@ class BidServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private DomainMetrics domainMetrics;
+
+    @Mock
+    private DomainEventOutbox domainEventOutbox;
+
+    @Mock
+    private BidStreamHub bidStreamHub;
+
     @InjectMocks
     private BidService bidService;
 
@@ -65,8 +94,9 @@ class BidServiceTest {
     @Test
     @DisplayName("Should successfully save bid when all conditions are met")
     void submitBid_Success() {
-        when(taskRepository.findById(10L)).thenReturn(Optional.of(task));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(tasker));
+        when(taskRepository.findForBiddingById(10L)).thenReturn(Optional.of(task));
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(userRepository.getReferenceById(2L)).thenReturn(tasker);
         when(bidRepository.save(any(Bid.class))).thenAnswer(i -> i.getArgument(0));
 
         Bid result = bidService.submitBid(10L, bidDto);
@@ -76,12 +106,14 @@ class BidServiceTest {
         assertEquals(task, result.getTask());
         assertEquals(tasker, result.getTasker());
         verify(bidRepository, times(1)).save(any(Bid.class));
+        verify(domainEventOutbox).append(new BidSubmittedEvent(10L, null, 2L, bidDto.getAmount()));
+        verify(bidStreamHub).publishAfterCommit(BidView.from(result));
     }
 
     @Test
     @DisplayName("Should throw ResourceNotFoundException when task is missing")
     void submitBid_TaskNotFound() {
-        when(taskRepository.findById(10L)).thenReturn(Optional.empty());
+        when(taskRepository.findForBiddingById(10L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> bidService.submitBid(10L, bidDto));
         verify(bidRepository, never()).save(any());
@@ -91,18 +123,19 @@ class BidServiceTest {
     @DisplayName("Should throw IllegalStateException when task status is not OPEN")
     void submitBid_TaskNotOpen() {
         task.updateStatus(TaskStatus.CANCELLED);
-        when(taskRepository.findById(10L)).thenReturn(Optional.of(task));
+        when(taskRepository.findForBiddingById(10L)).thenReturn(Optional.of(task));
 
         IllegalStateException ex = assertThrows(IllegalStateException.class, () -> bidService.submitBid(10L, bidDto));
         assertEquals("Bids can only be submitted for OPEN tasks.", ex.getMessage());
         verify(bidRepository, never()).save(any());
+        verify(domainMetrics).bidRejectedTaskNotOpen();
     }
 
     @Test
     @DisplayName("Should throw UserNotFoundException when tasker is missing")
     void submitBid_TaskerNotFound() {
-        when(taskRepository.findById(10L)).thenReturn(Optional.of(task));
-        when(userRepository.findById(2L)).thenReturn(Optional.empty());
+        when(taskRepository.findForBiddingById(10L)).thenReturn(Optional.of(task));
+        when(userRepository.existsById(2L)).thenReturn(false);
 
         assertThrows(UserNotFoundException.class, () -> bidService.submitBid(10L, bidDto));
         verify(bidRepository, never()).save(any());
@@ -113,11 +146,155 @@ class BidServiceTest {
     void submitBid_SelfBidding() {
         bidDto.setTaskerId(1L);
 
-        when(taskRepository.findById(10L)).thenReturn(Optional.of(task));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(requester));
+        when(taskRepository.findForBiddingById(10L)).thenReturn(Optional.of(task));
 
         IllegalStateException ex = assertThrows(IllegalStateException.class, () -> bidService.submitBid(10L, bidDto));
         assertEquals("You cannot bid on your own task.", ex.getMessage());
         verify(bidRepository, never()).save(any());
+        verify(domainMetrics).selfBidAttempt();
+        verify(userRepository, never()).existsById(any());
+    }
+
+
+    //submitBids tests
+
+    @Test
+    @DisplayName("Should save valid bids and report a result for every bid in the batch")
+    void submitBids_MixedResults() {
+        Task ownTask = new Task();
+        ReflectionTestUtils.setField(ownTask, "id", 11L);
+        ownTask.setRequester(tasker);
+
+        Task closedTask = new Task();
+        ReflectionTestUtils.setField(closedTask, "id", 12L);
+        closedTask.setRequester(requester);
+        closedTask.cancel();
+
+        BidBatchRequestDTO batch = new BidBatchRequestDTO();
+        batch.setTaskerId(2L);
+        batch.setBids(List.of(batchItem(10L), batchItem(11L), batchItem(12L), batchItem(13L), batchItem(10L)));
+
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(userRepository.getReferenceById(2L)).thenReturn(tasker);
+        when(taskRepository.findAllWithTransactionByIdIn(anyCollection())).thenReturn(List.of(task, ownTask, closedTask));
+        when(taskRepository.countByIdInAndStatus(Set.of(10L), TaskStatus.OPEN)).thenReturn(1L);
+        when(bidRepository.saveAll(anyCollection())).thenAnswer(i -> {
+            Iterable<Bid> bids = i.getArgument(0);
+            bids.forEach(b -> ReflectionTestUtils.setField(b, "id", 500L));
+            return bids;
+        });
+
+        BidBatchResponseDTO response = bidService.submitBids(batch);
+
+        assertEquals(1, response.created());
+        assertEquals(4, response.rejected());
+        List<BidBatchResultDTO> results = response.results();
+        assertEquals(BidBatchResultDTO.Outcome.CREATED, results.get(0).outcome());
+        assertEquals(500L, results.get(0).bidId());
+        assertEquals("You cannot bid on your own task.", results.get(1).error());
+        assertEquals("Bids can only be submitted for OPEN tasks.", results.get(2).error());
+        assertEquals("Task not found with ID: 13", results.get(3).error());
+        assertEquals("Only one bid per task is allowed in a batch.", results.get(4).error());
+        verify(domainEventOutbox).appendAll(List.of(new BidSubmittedEvent(10L, 500L, 2L, new BigDecimal("120.00"))));
+        verify(bidStreamHub, times(1)).publishAfterCommit(any(BidView.class));
+    }
+
+    @Test
+    @DisplayName("Should signal a conflict when a task leaves OPEN while the batch is processed")
+    void submitBids_TaskChangedConcurrently() {
+        BidBatchRequestDTO batch = new BidBatchRequestDTO();
+        batch.setTaskerId(2L);
+        batch.setBids(List.of(batchItem(10L)));
+
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(userRepository.getReferenceById(2L)).thenReturn(tasker);
+        when(taskRepository.findAllWithTransactionByIdIn(anyCollection())).thenReturn(List.of(task));
+        when(taskRepository.countByIdInAndStatus(Set.of(10L), TaskStatus.OPEN)).thenReturn(0L);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> bidService.submitBids(batch));
+        verify(bidRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should throw UserNotFoundException when the batch tasker is missing")
+    void submitBids_TaskerNotFound() {
+        BidBatchRequestDTO batch = new BidBatchRequestDTO();
+        batch.setTaskerId(2L);
+        batch.setBids(List.of(batchItem(10L)));
+
+        when(userRepository.existsById(2L)).thenReturn(false);
+
+        assertThrows(UserNotFoundException.class, () -> bidService.submitBids(batch));
+        verify(bidRepository, never()).saveAll(any());
+    }
+
+    private BidListingDTO listing(Long id, String amount) {
+        return new BidListingDTO(id, new BigDecimal(amount), null, BidStatus.PENDING, 2L, "Ana Pop", new BigDecimal("4.50"));
+    }
+
+    private BidBatchItemDTO batchItem(Long taskId) {
+        BidBatchItemDTO item = new BidBatchItemDTO();
+        item.setTaskId(taskId);
+        item.setAmount(new BigDecimal("120.00"));
+        return item;
+    }
+
+
+    //getBids tests
+
+    @Test
+    @DisplayName("Should return a cursor built from the last row when another page exists")
+    void getBids_HasNextPage() {
+        List<BidListingDTO> rows = List.of(listing(5L, "40.00"), listing(7L, "55.50"), listing(9L, "60.00"));
+        when(bidRepository.findPageByAmount(eq(10L), isNull(), eq(BigDecimal.ZERO), eq(0L), any(Limit.class)))
+                .thenReturn(rows);
+
+        BidPageDTO page = bidService.getBids(10L, null, BidSort.AMOUNT, null, 2);
+
+        assertEquals(2, page.items().size());
+        assertEquals("55.50:7", page.nextCursor());
+        verify(taskRepository, never()).existsById(any());
+    }
+
+    @Test
+    @DisplayName("Should continue the rating sort from the cursor and stop on the last page")
+    void getBids_LastPage() {
+        when(bidRepository.findPageByTaskerRating(eq(10L), eq(BidStatus.PENDING), eq(new BigDecimal("4.50")), eq(7L),
+                any(Limit.class))).thenReturn(List.of(listing(9L, "60.00")));
+
+        BidPageDTO page = bidService.getBids(10L, BidStatus.PENDING, BidSort.TASKER_RATING, "4.50:7", 2);
+
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should report a missing task only when the first page is empty")
+    void getBids_TaskNotFound() {
+        when(bidRepository.findPageByAmount(eq(99L), any(), any(), any(), any(Limit.class))).thenReturn(List.of());
+        when(taskRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> bidService.getBids(99L, null, BidSort.AMOUNT, null, 20));
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid page size or cursor")
+    void getBids_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> bidService.getBids(10L, null, BidSort.AMOUNT, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> bidService.getBids(10L, null, BidSort.AMOUNT, "abc", 20));
+        assertThrows(IllegalArgumentException.class, () -> bidService.getBids(10L, null, BidSort.AMOUNT, "4.50:x", 20));
+        verifyNoInteractions(bidRepository);
+    }
+
+
+    //openBidStream tests
+
+    @Test
+    @DisplayName("Should refuse a bid stream for a task that does not exist")
+    void openBidStream_TaskNotFound() {
+        when(taskRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> bidService.openBidStream(99L));
+        verify(bidStreamHub, never()).subscribe(any());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,35 @@
+package com.example.task_connect.service;
+
+import com.example.task_connect.dto.CategoryStatsDTO;
+import com.example.task_connect.repository.CategoryStatsRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryServiceTest {
+
+    @Mock
+    private CategoryStatsRepository categoryStatsRepository;
+
+    @Test
+    @DisplayName("getCategories - Serves repeated requests from the snapshot without querying again")
+    void getCategories_ServedFromSnapshot() {
+        List<CategoryStatsDTO> categories = List.of(new CategoryStatsDTO(1L, "Plumbing", null, 2, 1, null, null, null));
+        when(categoryStatsRepository.findAllWithStats()).thenReturn(categories);
+        CategoryService categoryService = new CategoryService(categoryStatsRepository, Duration.ofMinutes(1));
+
+        assertEquals(categories, categoryService.getCategories());
+        assertEquals(categories, categoryService.getCategories());
+
+        verify(categoryStatsRepository, times(1)).findAllWithStats();
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.task_connect.service;
+
+import com.example.task_connect.dto.ReviewRequestDTO;
+import com.example.task_connect.etag.UserVersionCache;
+import com.example.task_connect.metrics.DomainMetrics;
+import com.example.task_connect.model.*;
+import com.example.task_connect.model.enums.TaskStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//runs the rating UPDATEs and the reconciliation queries against H2
+@DataJpaTest
+@Import({ReviewService.class, RatingReconciliationService.class, UserVersionCache.class, DomainMetrics.class,
+        SimpleMeterRegistry.class})
+class RatingReconciliationServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private RatingReconciliationService reconciliationService;
+
+    private User requester;
+    private User tasker;
+    private Category category;
+    private Address address;
+
+    @BeforeEach
+    void setUp() {
+        requester = user("requester@test.ro");
+        tasker = user("tasker@test.ro");
+
+        category = new Category();
+        category.setName("Plumbing");
+        entityManager.persist(category);
+
+        address = new Address();
+        address.setStreet("Calea Victoriei 100");
+        address.setCity("Bucuresti");
+        address.setUser(requester);
+        entityManager.persist(address);
+    }
+
+    @Test
+    @DisplayName("submitReview should keep running totals and the rounded average on the reviewed profile")
+    void submitReview_UpdatesRunningTotals() {
+        review(completedTask(), requester, 5);
+        review(completedTask(), requester, 4);
+        review(completedTask(), requester, 4);
+        Task last = completedTask();
+        review(last, tasker, 2);
+
+        Profile taskerProfile = reloadProfile(tasker);
+        assertEquals(13, taskerProfile.getTaskerRatingSum());
+        assertEquals(3, taskerProfile.getTaskerRatingCount());
+        assertEquals(0, new BigDecimal("4.33").compareTo(taskerProfile.getTaskerRating()));
+
+        Profile requesterProfile = reloadProfile(requester);
+        assertEquals(1, requesterProfile.getRequesterRatingCount());
+        assertEquals(0, new BigDecimal("2.00").compareTo(requesterProfile.getRequesterRating()));
+        assertEquals(0, requesterProfile.getTaskerRatingCount());
+
+        //every review changes the reviewed user's representation, and with it the ETag
+        assertEquals(3L, reloadVersion(tasker));
+        assertEquals(1L, reloadVersion(requester));
+    }
+
+    @Test
+    @DisplayName("reconcile should leave consistent profiles alone and repair drifted totals from the reviews")
+    void reconcile_RepairsDrift() {
+        review(completedTask(), requester, 5);
+        review(completedTask(), requester, 3);
+
+        assertEquals(0, reconciliationService.reconcile());
+
+        entityManager.getEntityManager()
+                .createQuery("update Profile p set p.taskerRatingSum = 1, p.taskerRatingCount = 7, p.taskerRating = 0.14 where p.id = :id")
+                .setParameter("id", tasker.getId())
+                .executeUpdate();
+
+        long versionBefore = reloadVersion(tasker);
+        assertEquals(1, reconciliationService.reconcile());
+
+        Profile repaired = reloadProfile(tasker);
+        assertEquals(versionBefore + 1, reloadVersion(tasker));
+        assertEquals(8, repaired.getTaskerRatingSum());
+        assertEquals(2, repaired.getTaskerRatingCount());
+        assertEquals(0, new BigDecimal("4.00").compareTo(repaired.getTaskerRating()));
+        assertEquals(0, reconciliationService.reconcile());
+    }
+
+    private void review(Task task, User reviewer, int rating) {
+        ReviewRequestDTO dto = new ReviewRequestDTO();
+        dto.setReviewerId(reviewer.getId());
+        dto.setRating(rating);
+        reviewService.submitReview(task.getId(), dto);
+    }
+
+    private Profile reloadProfile(User user) {
+        entityManager.flush();
+        entityManager.clear();
+        return entityManager.find(Profile.class, user.getId());
+    }
+
+    private long reloadVersion(User user) {
+        entityManager.flush();
+        entityManager.clear();
+        return entityManager.find(User.class, user.getId()).getVersion();
+    }
+
+    private Task completedTask() {
+        Task task = new Task();
+        task.setTitle("Fix the sink");
+        task.setBudget(new BigDecimal("100.00"));
+        task.setRequester(entityManager.find(User.class, requester.getId()));
+        task.setCategory(entityManager.find(Category.class, category.getId()));
+        task.setAddress(entityManager.find(Address.class, address.getId()));
+        task.setTasker(entityManager.find(User.class, tasker.getId()));
+        task.updateStatus(TaskStatus.ASSIGNED);
+        task.updateStatus(TaskStatus.COMPLETED);
+        return entityManager.persistAndFlush(task);
+    }
+
+    private User user(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("password");
+        Profile profile = new Profile();
+        profile.setFirstName("Ion");
+        profile.setLastName("Popescu");
+        user.setProfile(profile);
+        return entityManager.persist(user);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.task_connect.service;
+
+import com.example.task_connect.dto.ReviewRequestDTO;
+import com.example.task_connect.etag.UserVersionCache;
+import com.example.task_connect.exception.ResourceNotFoundException;
+import com.example.task_connect.model.Profile;
+import com.example.task_connect.model.Review;
+import com.example.task_connect.model.Task;
+import com.example.task_connect.model.User;
+import com.example.task_connect.model.enums.TaskStatus;
+import com.example.task_connect.repository.ProfileRepository;
+import com.example.task_connect.repository.ReviewRepository;
+import com.example.task_connect.repository.TaskRepository;
+import com.example.task_connect.repository.UserRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewServiceTest {
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ProfileRepository profileRepository;
+
+    @Mock
+    private UserVersionCache userVersionCache;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache cache;
+
+    @InjectMocks
+    private ReviewService reviewService;
+
+    private Task task;
+    private User requester;
+    private User tasker;
+    private ReviewRequestDTO reviewDto;
+
+    @BeforeEach
+    void setUp() {
+        requester = new User();
+        ReflectionTestUtils.setField(requester, "id", 1L);
+
+        tasker = new User();
+        ReflectionTestUtils.setField(tasker, "id", 2L);
+
+        task = new Task();
+        ReflectionTestUtils.setField(task, "id", 10L);
+        task.setRequester(requester);
+        task.setTasker(tasker);
+        task.updateStatus(TaskStatus.ASSIGNED);
+        task.updateStatus(TaskStatus.COMPLETED);
+
+        reviewDto = new ReviewRequestDTO();
+        reviewDto.setReviewerId(1L);
+        reviewDto.setRating(5);
+        reviewDto.setComments("Treaba foarte buna");
+    }
+
+    @Test
+    @DisplayName("Should save the requester's review and add the rating to the tasker's totals")
+    void submitReview_RequesterReviewsTasker() {
+        when(taskRepository.findById(10L)).thenReturn(Optional.of(task));
+        when(userRepository.getReferenceById(1L)).thenReturn(requester);
+        when(userRepository.getReferenceById(2L)).thenReturn(tasker);
+        when(reviewRepository.save(any(Review.class))).thenAnswer(i -> i.getArgument(0));
+        when(profileRepository.addTaskerRating(2L, 5)).thenReturn(1);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+
+        Review review = reviewService.submitReview(10L, reviewDto);
+
+        assertEquals(requester, review.getReviewer());
+        assertEquals(tasker, review.getReviewed());
+        assertEquals(5, review.getRating());
+        verify(profileRepository, never()).addRequesterRating(any(), anyInt());
+        verify(userRepository).incrementVersion(2L);
+        verify(userVersionCache).evictAfterCommit(2L);
+        verify(cache).evict(Profile.class, 2L);
+    }
+
+    @Test
+    @DisplayName("Should add the tasker's review to the requester's totals")
+    void submitReview_TaskerReviewsRequester() {
+        reviewDto.setReviewerId(2L);
+        reviewDto.setRating(3);
+        when(taskRepository.findById(10L)).thenReturn(Optional.of(task));
+        when(userRepository.getReferenceById(2L)).thenReturn(tasker);
+        when(userRepository.getReferenceById(1L)).thenReturn(requester);
+        when(reviewRepository.save(any(Review.class))).thenAnswer(i -> i.getArgument(0));
+        when(profileRepository.addRequesterRating(1L, 3)).thenReturn(1);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+
+        Review review = reviewService.submitReview(10L, reviewDto);
+
+        assertEquals(requester, review.getReviewed());
+        verify(profileRepository, never()).addTaskerRating(any(), anyInt());
+        verify(cache).evict(Profile.class, 1L);
+    }
+
+    @Test
+    @DisplayName("Should reject reviews of tasks that are not COMPLETED")
+    void submitReview_TaskNotCompleted() {
+        Task assigned = new Task();
+        assigned.setRequester(requester);
+        assigned.updateStatus(TaskStatus.ASSIGNED);
+        when(taskRepository.findById(10L)).thenReturn(Optional.of(assigned));
+
+        assertThrows(IllegalStateException.class, () -> reviewService.submitReview(10L, reviewDto));
+        verify(reviewRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should reject reviews from users who are not part of the task")
+    void submitReview_Outsider() {
+        reviewDto.setReviewerId(99L);
+        when(taskRepository.findById(10L)).thenReturn(Optional.of(task));
+
+        assertThrows(IllegalArgumentException.class, () -> reviewService.submitReview(10L, reviewDto));
+        verify(reviewRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a second review of the same task by the same user")
+    void submitReview_AlreadyReviewed() {
+        when(taskRepository.findById(10L)).thenReturn(Optional.of(task));
+        when(reviewRepository.existsByTaskIdAndReviewerId(10L, 1L)).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> reviewService.submitReview(10L, reviewDto));
+        verify(profileRepository, never()).addTaskerRating(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException when the task is missing")
+    void submitReview_TaskNotFound() {
+        when(taskRepository.findById(10L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> reviewService.submitReview(10L, reviewDto));
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.task_connect.service;
+
+import com.example.task_connect.dto.NearbyTaskDTO;
+import com.example.task_connect.dto.TaskSearchDTO;
+import com.example.task_connect.dto.TaskSummaryDTO;
+import com.example.task_connect.model.enums.TaskStatus;
+import com.example.task_connect.repository.TaskRepository;
+import com.example.task_connect.search.NearbyHit;
+import com.example.task_connect.search.SearchHit;
+import com.example.task_connect.search.SearchResult;
+import com.example.task_connect.search.TaskGeoIndex;
+import com.example.task_connect.search.TaskSearchIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSearchServiceTest {
+
+    @Mock
+    private TaskSearchIndex searchIndex;
+
+    @Mock
+    private TaskGeoIndex geoIndex;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @InjectMocks
+    private TaskSearchService taskSearchService;
+
+    @Test
+    @DisplayName("Should return summaries in rank order, not in database order")
+    void search_KeepsRankOrder() {
+        when(searchIndex.search("robinet", TaskStatus.OPEN, null, 20, 10))
+                .thenReturn(new SearchResult(List.of(new SearchHit(5L, 3.0), new SearchHit(2L, 1.0)), 22));
+        when(taskRepository.findSummariesByIdIn(List.of(5L, 2L)))
+                .thenReturn(List.of(summary(2L), summary(5L)));
+
+        TaskSearchDTO result = taskSearchService.search("robinet", TaskStatus.OPEN, null, 2, 10);
+
+        assertEquals(5L, result.items().get(0).task().id());
+        assertEquals(2L, result.items().get(1).task().id());
+        assertEquals(3.0, result.items().get(0).score());
+        assertEquals(22, result.totalHits());
+    }
+
+    @Test
+    @DisplayName("Should not query the database when nothing matches")
+    void search_NoHits() {
+        when(searchIndex.search("xyz", null, null, 0, 20)).thenReturn(new SearchResult(List.of(), 0));
+
+        TaskSearchDTO result = taskSearchService.search("xyz", null, null, 0, 20);
+
+        assertTrue(result.items().isEmpty());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException for a blank query or an invalid page")
+    void search_InvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> taskSearchService.search(" ", null, null, 0, 20));
+        assertThrows(IllegalArgumentException.class, () -> taskSearchService.search("robinet", null, null, -1, 20));
+        assertThrows(IllegalArgumentException.class, () -> taskSearchService.search("robinet", null, null, 0, 500));
+        verify(searchIndex, never()).search(any(), any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException for a page past the maximum offset instead of overflowing")
+    void search_HugePage() {
+        assertThrows(IllegalArgumentException.class, () -> taskSearchService.search("robinet", null, null, 21474837, 100));
+        assertThrows(IllegalArgumentException.class, () -> taskSearchService.search("robinet", null, null, 101, 100));
+        verify(searchIndex, never()).search(any(), any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should return nearby tasks closest first and skip tasks that are no longer OPEN")
+    void findNearby_SkipsTasksThatLeftOpen() {
+        when(geoIndex.findNearby(44.43, 26.10, 10, 20))
+                .thenReturn(List.of(new NearbyHit(5L, 0.8), new NearbyHit(2L, 1.5), new NearbyHit(9L, 3.0)));
+        TaskSummaryDTO assigned = new TaskSummaryDTO(2L, "Task 2", new BigDecimal("100.00"), TaskStatus.ASSIGNED, 1L, 1L);
+        when(taskRepository.findSummariesByIdIn(List.of(5L, 2L, 9L)))
+                .thenReturn(List.of(summary(9L), assigned, summary(5L)));
+
+        List<NearbyTaskDTO> result = taskSearchService.findNearby(44.43, 26.10, 10, 20);
+
+        assertEquals(List.of(5L, 9L), result.stream().map(n -> n.task().id()).toList());
+        assertEquals(0.8, result.get(0).distanceKm());
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException for invalid coordinates or radius")
+    void findNearby_InvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> taskSearchService.findNearby(91, 26.10, 10, 20));
+        assertThrows(IllegalArgumentException.class, () -> taskSearchService.findNearby(44.43, 26.10, 0, 20));
+        assertThrows(IllegalArgumentException.class, () -> taskSearchService.findNearby(44.43, 26.10, 500, 20));
+        verifyNoInteractions(geoIndex);
+    }
+
+    private static TaskSummaryDTO summary(Long id) {
+        return new TaskSummaryDTO(id, "Task " + id, new BigDecimal("100.00"), TaskStatus.OPEN, 1L, 1L);
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.task_connect.service;
+
+import com.example.task_connect.dto.TaskRequestDTO;
+import com.example.task_connect.event.DomainEventOutbox;
+import com.example.task_connect.model.*;
+import com.example.task_connect.model.enums.BidStatus;
+import com.example.task_connect.model.enums.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//runs the service against H2 and counts the JDBC statements Hibernate prepares,
+//so regressions like N+1 loads show up as failing assertions instead of slow production requests
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.uri=hibernate-cache.conf",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=fail"
+})
+@Import({TaskService.class, DomainEventOutbox.class})
+class TaskServiceQueryCountTest {
+
+    private static final String CACHE_TEST_EMAIL = "cache@test.ro";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager sharedEntityManager;
+
+    private Statistics statistics;
+    private User requester;
+    private Category category;
+    private Address address;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        requester = user("requester@test.ro");
+
+        category = new Category();
+        category.setName("Plumbing");
+        entityManager.persist(category);
+
+        address = new Address();
+        address.setStreet("Calea Victoriei 100");
+        address.setCity("Bucuresti");
+        address.setUser(requester);
+        entityManager.persist(address);
+    }
+
+    @Test
+    @DisplayName("acceptBid should issue the same number of statements for 3 or 150 competing bids")
+    void acceptBid_StatementCountIndependentOfBidCount() {
+        warmUpSequences();
+        long fewBids = acceptBidStatementCount(3);
+        long manyBids = acceptBidStatementCount(150);
+
+        assertEquals(fewBids, manyBids);
+    }
+
+    @Test
+    @DisplayName("acceptBid should reject every other PENDING bid and leave non-pending bids untouched")
+    void acceptBid_RejectsOnlyPendingBids() {
+        Task task = taskWithBids(3);
+        Bid winner = task.getBids().get(0);
+        Bid cancelled = task.getBids().get(1);
+        cancelled.updateStatus(BidStatus.CANCELLED);
+        entityManager.flush();
+        entityManager.clear();
+
+        taskService.acceptBid(task.getId(), winner.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(TaskStatus.ASSIGNED, entityManager.find(Task.class, task.getId()).getStatus());
+        assertEquals(BidStatus.ACCEPTED, entityManager.find(Bid.class, winner.getId()).getStatus());
+        assertEquals(BidStatus.CANCELLED, entityManager.find(Bid.class, cancelled.getId()).getStatus());
+        assertEquals(BidStatus.REJECTED, entityManager.find(Bid.class, task.getBids().get(2).getId()).getStatus());
+    }
+
+    @Test
+    @DisplayName("createTask should read the category from the second-level cache after the first load")
+    void createTask_CategoryServedFromSecondLevelCache() {
+        //hibernate never serves cache entries newer than the session, and never caches rows
+        //inserted by the running transaction, so this test commits its own data and
+        //runs each createTask in a fresh transaction, like two separate requests would
+        TaskRequestDTO request = inNewTransaction(em -> {
+            Category c = new Category();
+            c.setName("Electrical");
+            em.persist(c);
+
+            User u = new User();
+            u.setEmail(CACHE_TEST_EMAIL);
+            u.setPassword("password");
+            em.persist(u);
+
+            Address a = new Address();
+            a.setStreet("Strada Lipscani 5");
+            a.setCity("Bucuresti");
+            a.setUser(u);
+            em.persist(a);
+
+            return taskRequest(u.getId(), c.getId(), a.getId());
+        });
+        entityManager.getEntityManager().getEntityManagerFactory().getCache().evict(Category.class);
+        warmUpSequences();
+
+        inNewTransaction(em -> taskService.createTask(request));
+
+        statistics.clear();
+        inNewTransaction(em -> taskService.createTask(request));
+
+        assertEquals(0, statistics.getEntityStatistics(Category.class.getName()).getLoadCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("categories").getHitCount());
+        //address owner lookup + task insert + outbox insert
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("createTask should load only the category and attach requester and address as references")
+    void createTask_ExactStatementCount() {
+        warmUpSequences();
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics.clear();
+        Task task = taskService.createTask(taskRequest(requester.getId(), category.getId(), address.getId()));
+        entityManager.flush();
+
+        //address owner lookup + category (inserted by this transaction, so never cached) + task insert + outbox insert
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityStatistics(User.class.getName()).getLoadCount());
+        assertEquals(0, statistics.getEntityStatistics(Address.class.getName()).getLoadCount());
+        assertFalse(Hibernate.isInitialized(task.getRequester()));
+    }
+
+    @AfterTransaction
+    void removeCommittedData() {
+        inNewTransaction(em -> {
+            em.createQuery("delete from OutboxEvent e where e.eventType = 'TaskCreatedEvent'").executeUpdate();
+            em.createQuery("delete from Task t where t.requester.email = :email")
+                    .setParameter("email", CACHE_TEST_EMAIL).executeUpdate();
+            em.createQuery("delete from Address a where a.user.email = :email")
+                    .setParameter("email", CACHE_TEST_EMAIL).executeUpdate();
+            em.createQuery("delete from User u where u.email = :email")
+                    .setParameter("email", CACHE_TEST_EMAIL).executeUpdate();
+            return em.createQuery("delete from Category c where c.name = 'Electrical'").executeUpdate();
+        });
+    }
+
+    private <T> T inNewTransaction(Function<EntityManager, T> work) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template.execute(status -> work.apply(sharedEntityManager));
+    }
+
+    //the pooled optimizer hits a sequence twice before it can hand out ids from memory,
+    //so those calls are made here (for tasks and outbox events) and kept out of the measured statements
+    private void warmUpSequences() {
+        taskWithBids(0);
+        taskWithBids(0);
+        entityManager.persist(new OutboxEvent("TaskCreatedEvent", 0L, "{}"));
+        entityManager.persist(new OutboxEvent("TaskCreatedEvent", 0L, "{}"));
+    }
+
+    private TaskRequestDTO taskRequest(Long requesterId, Long categoryId, Long addressId) {
+        TaskRequestDTO dto = new TaskRequestDTO();
+        dto.setTitle("Fix the sink");
+        dto.setBudget(new BigDecimal("100.00"));
+        dto.setRequesterId(requesterId);
+        dto.setCategoryId(categoryId);
+        dto.setAddressId(addressId);
+        return dto;
+    }
+
+    private long acceptBidStatementCount(int bidCount) {
+        Task task = taskWithBids(bidCount);
+        Long winnerId = task.getBids().get(0).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics.clear();
+        taskService.acceptBid(task.getId(), winnerId);
+        entityManager.flush();
+        long statements = statistics.getPrepareStatementCount();
+
+        entityManager.clear();
+        return statements;
+    }
+
+    private Task taskWithBids(int bidCount) {
+        Task task = new Task();
+        task.setTitle("Fix the sink");
+        task.setBudget(new BigDecimal("100.00"));
+        task.setRequester(requester);
+        task.setCategory(category);
+        task.setAddress(address);
+        entityManager.persist(task);
+
+        List<Bid> bids = new ArrayList<>();
+        for (int i = 0; i < bidCount; i++) {
+            Bid bid = new Bid();
+            bid.setAmount(new BigDecimal("50.00").add(BigDecimal.valueOf(i)));
+            bid.setTask(task);
+            bid.setTasker(user("tasker" + task.hashCode() + "-" + i + "@test.ro"));
+            bids.add(entityManager.persist(bid));
+        }
+        task.setBids(bids);
+        return task;
+    }
+
+    private User user(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("password");
+        return entityManager.persist(user);
+    }
+}
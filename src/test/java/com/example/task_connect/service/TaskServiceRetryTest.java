@@ -0,0 +1,104 @@
+package com.example.task_connect.service;
+
+import com.example.task_connect.event.DomainEventOutbox;
+import com.example.task_connect.model.Bid;
+import com.example.task_connect.model.Task;
+import com.example.task_connect.model.User;
+import com.example.task_connect.model.enums.TaskStatus;
+import com.example.task_connect.repository.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.resilience.annotation.EnableResilientMethods;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+//checks the @Retryable wiring around acceptBid, which plain Mockito tests cannot see
+@SpringJUnitConfig(TaskServiceRetryTest.RetryConfig.class)
+class TaskServiceRetryTest {
+
+    @Configuration
+    @EnableResilientMethods
+    @Import(TaskService.class)
+    static class RetryConfig {}
+
+    @MockitoBean
+    private TaskRepository taskRepository;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private CategoryRepository categoryRepository;
+
+    @MockitoBean
+    private AddressRepository addressRepository;
+
+    @MockitoBean
+    private BidRepository bidRepository;
+
+    @MockitoBean
+    private DomainEventOutbox domainEventOutbox;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    @DisplayName("Should retry acceptBid after an optimistic lock conflict and succeed")
+    void acceptBid_RetriesOnOptimisticLockConflict() {
+        Task task = openTaskWithBid(10L, 5L);
+        when(taskRepository.findById(10L))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 10L))
+                .thenReturn(Optional.of(task));
+        when(bidRepository.findById(5L)).thenReturn(Optional.of(task.getBids().get(0)));
+
+        taskService.acceptBid(10L, 5L);
+
+        assertEquals(TaskStatus.ASSIGNED, task.getStatus());
+        verify(taskRepository, times(2)).findById(10L);
+    }
+
+    @Test
+    @DisplayName("Should give up after the retry budget and surface the conflict")
+    void acceptBid_GivesUpAfterMaxRetries() {
+        when(taskRepository.findById(10L))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 10L));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> taskService.acceptBid(10L, 5L));
+        verify(taskRepository, times(4)).findById(10L);
+    }
+
+    @Test
+    @DisplayName("Should not retry business rule violations")
+    void acceptBid_DoesNotRetryIllegalState() {
+        Task task = openTaskWithBid(10L, 5L);
+        task.cancel();
+        when(taskRepository.findById(10L)).thenReturn(Optional.of(task));
+
+        assertThrows(IllegalStateException.class, () -> taskService.acceptBid(10L, 5L));
+        verify(taskRepository, times(1)).findById(10L);
+    }
+
+    private Task openTaskWithBid(Long taskId, Long bidId) {
+        Task task = new Task();
+        ReflectionTestUtils.setField(task, "id", taskId);
+
+        User tasker = new User();
+        ReflectionTestUtils.setField(tasker, "id", 2L);
+
+        Bid bid = new Bid();
+        ReflectionTestUtils.setField(bid, "id", bidId);
+        bid.setTask(task);
+        bid.setTasker(tasker);
+        return task;
+    }
+}
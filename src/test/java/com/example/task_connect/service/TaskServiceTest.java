@@ -1,6 +1,12 @@
 package com.example.task_connect.service;
 
+import com.example.task_connect.dto.TaskFeedDTO;
 import com.example.task_connect.dto.TaskRequestDTO;
+import com.example.task_connect.dto.TaskSummaryDTO;
+import com.example.task_connect.event.BidAcceptedEvent;
+import com.example.task_connect.event.BidsRejectedEvent;
+import com.example.task_connect.event.DomainEventOutbox;
+import com.example.task_connect.event.TaskCreatedEvent;
 import com.example.task_connect.exception.ResourceNotFoundException;
 import com.example.task_connect.exception.UserNotFoundException;
 import com.example.task_connect.model.*;
@@ -14,6 +20,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
@@ -23,6 +30,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +51,9 @@ class TaskServiceTest {
     @Mock
     private BidRepository bidRepository;
 
+    @Mock
+    private DomainEventOutbox domainEventOutbox;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -102,9 +114,10 @@ class TaskServiceTest {
     @Test
     @DisplayName("Should successfully create a task when all IDs are valid")
     void createTask_Success() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(requester));
+        when(addressRepository.findUserIdById(1L)).thenReturn(Optional.of(1L));
         when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
-        when(addressRepository.findById(1L)).thenReturn(Optional.of(address));
+        when(userRepository.getReferenceById(1L)).thenReturn(requester);
+        when(addressRepository.getReferenceById(1L)).thenReturn(address);
 
         when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -115,12 +128,34 @@ class TaskServiceTest {
         assertEquals(TaskStatus.OPEN, createdTask.getStatus());
         assertEquals(requester, createdTask.getRequester());
         verify(taskRepository, times(1)).save(any(Task.class));
+        //the requester owns the address, so no separate existence check and no full loads
+        verify(userRepository, never()).existsById(anyLong());
+        verify(userRepository, never()).findById(anyLong());
+        verify(addressRepository, never()).findById(anyLong());
+        verify(domainEventOutbox).append(any(TaskCreatedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should check the requester separately when the address belongs to another user")
+    void createTask_AddressOfAnotherUser() {
+        when(addressRepository.findUserIdById(1L)).thenReturn(Optional.of(7L));
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        when(userRepository.getReferenceById(1L)).thenReturn(requester);
+        when(addressRepository.getReferenceById(1L)).thenReturn(address);
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        taskService.createTask(taskDto);
+
+        verify(userRepository).existsById(1L);
+        verify(taskRepository, times(1)).save(any(Task.class));
     }
 
     @Test
     @DisplayName("Should throw UserNotFoundException when requester does not exist")
     void createTask_UserNotFound() {
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(addressRepository.findUserIdById(1L)).thenReturn(Optional.of(7L));
+        when(userRepository.existsById(1L)).thenReturn(false);
 
         assertThrows(UserNotFoundException.class, () -> taskService.createTask(taskDto));
         verify(taskRepository, never()).save(any());
@@ -129,7 +164,7 @@ class TaskServiceTest {
     @Test
     @DisplayName("Should throw ResourceNotFoundException when category does not exist")
     void createTask_CategoryNotFound() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(requester));
+        when(addressRepository.findUserIdById(1L)).thenReturn(Optional.of(1L));
         when(categoryRepository.findById(1L)).thenReturn(Optional.empty());
 
         ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
@@ -142,9 +177,8 @@ class TaskServiceTest {
     @Test
     @DisplayName("Should throw ResourceNotFoundException when address does not exist")
     void createTask_AddressNotFound() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(requester));
-        when(categoryRepository.findById(anyLong())).thenReturn(Optional.of(category));
-        when(addressRepository.findById(1L)).thenReturn(Optional.empty());
+        when(addressRepository.findUserIdById(1L)).thenReturn(Optional.empty());
+        when(userRepository.existsById(1L)).thenReturn(true);
 
         ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
                 () -> taskService.createTask(taskDto));
@@ -166,10 +200,17 @@ class TaskServiceTest {
 
         assertEquals(TaskStatus.ASSIGNED, existingTask.getStatus());
         assertEquals(BidStatus.ACCEPTED, winningBid.getStatus());
-        assertEquals(BidStatus.REJECTED, otherBid.getStatus());
         assertEquals(tasker, existingTask.getTasker());
 
+        //competing bids are rejected in bulk, never walked one by one
+        verify(bidRepository, times(1)).updateStatusOfOtherBids(10L, 5L, BidStatus.PENDING, BidStatus.REJECTED);
+        assertEquals(BidStatus.PENDING, otherBid.getStatus());
         verify(taskRepository, times(1)).save(existingTask);
+
+        //the follow-up work is recorded in the outbox, not done in the request
+        verify(domainEventOutbox).appendAll(List.of(
+                new BidAcceptedEvent(10L, 5L, 2L, winningBid.getAmount()),
+                new BidsRejectedEvent(10L, 5L)));
     }
 
     @Test
@@ -196,6 +237,7 @@ class TaskServiceTest {
         when(bidRepository.findById(5L)).thenReturn(Optional.of(winningBid));
 
         assertThrows(IllegalArgumentException.class, () -> taskService.acceptBid(10L, 5L));
+        verify(bidRepository, never()).updateStatusOfOtherBids(any(), any(), any(), any());
         verify(taskRepository, never()).save(any());
     }
 
@@ -208,4 +250,45 @@ class TaskServiceTest {
         assertThrows(ResourceNotFoundException.class, () -> taskService.acceptBid(10L, 5L));
     }
 
+
+    //getTaskFeed tests
+
+    @Test
+    @DisplayName("Should return a full page with nextCursor when more tasks exist")
+    void getTaskFeed_HasNextPage() {
+        List<TaskSummaryDTO> rows = List.of(summary(30L), summary(29L), summary(28L));
+        when(taskRepository.findFeedPage(eq(TaskStatus.OPEN), eq(Long.MAX_VALUE), isNull(), isNull(), isNull(), eq(Limit.of(3))))
+                .thenReturn(rows);
+
+        TaskFeedDTO feed = taskService.getTaskFeed(TaskStatus.OPEN, null, null, null, null, 2);
+
+        assertEquals(2, feed.items().size());
+        assertEquals(29L, feed.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should return last page without nextCursor and seek from the given cursor")
+    void getTaskFeed_LastPage() {
+        when(taskRepository.findFeedPage(eq(TaskStatus.OPEN), eq(29L), eq(1L), any(), any(), eq(Limit.of(3))))
+                .thenReturn(List.of(summary(12L)));
+
+        TaskFeedDTO feed = taskService.getTaskFeed(TaskStatus.OPEN, 1L, null, null, 29L, 2);
+
+        assertEquals(1, feed.items().size());
+        assertNull(feed.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid page size or budget range")
+    void getTaskFeed_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.getTaskFeed(TaskStatus.OPEN, null, null, null, null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.getTaskFeed(TaskStatus.OPEN, null, new BigDecimal("50"), new BigDecimal("10"), null, 20));
+        verifyNoInteractions(taskRepository);
+    }
+
+    private TaskSummaryDTO summary(Long id) {
+        return new TaskSummaryDTO(id, "Task " + id, new BigDecimal("100.00"), TaskStatus.OPEN, 1L, 1L);
+    }
 }
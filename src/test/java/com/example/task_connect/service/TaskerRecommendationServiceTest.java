@@ -0,0 +1,110 @@
+package com.example.task_connect.service;
+
+import com.example.task_connect.dto.RecommendedTaskerDTO;
+import com.example.task_connect.exception.ResourceNotFoundException;
+import com.example.task_connect.model.Profile;
+import com.example.task_connect.recommend.TaskToMatch;
+import com.example.task_connect.recommend.TaskerIndex;
+import com.example.task_connect.recommend.TaskerMatch;
+import com.example.task_connect.repository.ProfileRepository;
+import com.example.task_connect.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskerRecommendationServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ProfileRepository profileRepository;
+
+    @Mock
+    private TaskerIndex taskerIndex;
+
+    private TaskerRecommendationService recommendationService;
+
+    private final TaskToMatch task = new TaskToMatch(7L, 1L, 2L, 44.43, 26.10);
+
+    @BeforeEach
+    void setUp() {
+        recommendationService = new TaskerRecommendationService(taskRepository, profileRepository, taskerIndex, 100, 60_000);
+    }
+
+    @Test
+    @DisplayName("getRecommendedTaskers - Returns the best matches with their profiles, scoring the task only once")
+    void getRecommendedTaskers_Success() {
+        when(taskRepository.findTaskToMatch(7L)).thenReturn(Optional.of(task));
+        when(taskerIndex.match(task, TaskerRecommendationService.MAX_RECOMMENDATIONS)).thenReturn(List.of(
+                new TaskerMatch(3L, 12, 1.5, 0.9),
+                new TaskerMatch(4L, 0, null, 0.6),
+                new TaskerMatch(5L, 1, 3.0, 0.5)));
+        when(profileRepository.findAllById(List.of(3L, 4L))).thenReturn(List.of(profile(4L, "Dan"), profile(3L, "Ana")));
+
+        List<RecommendedTaskerDTO> first = recommendationService.getRecommendedTaskers(7L, 2);
+        recommendationService.getRecommendedTaskers(7L, 2);
+
+        assertEquals(List.of(3L, 4L), first.stream().map(RecommendedTaskerDTO::taskerId).toList());
+        assertEquals("Ana", first.get(0).firstName());
+        assertEquals(12, first.get(0).acceptedBidsInCategory());
+        assertEquals(0, new BigDecimal("4.50").compareTo(first.get(0).taskerRating()));
+        verify(taskRepository, times(1)).findTaskToMatch(7L);
+        verify(taskerIndex, times(1)).match(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("getRecommendedTaskers - Skips taskers whose profile no longer exists")
+    void getRecommendedTaskers_DeletedTasker() {
+        when(taskRepository.findTaskToMatch(7L)).thenReturn(Optional.of(task));
+        when(taskerIndex.match(task, TaskerRecommendationService.MAX_RECOMMENDATIONS)).thenReturn(List.of(
+                new TaskerMatch(3L, 12, 1.5, 0.9),
+                new TaskerMatch(4L, 0, null, 0.6)));
+        when(profileRepository.findAllById(List.of(3L, 4L))).thenReturn(List.of(profile(4L, "Dan")));
+
+        List<RecommendedTaskerDTO> result = recommendationService.getRecommendedTaskers(7L, 10);
+
+        assertEquals(List.of(4L), result.stream().map(RecommendedTaskerDTO::taskerId).toList());
+    }
+
+    @Test
+    @DisplayName("getRecommendedTaskers - Throws ResourceNotFoundException for an unknown task")
+    void getRecommendedTaskers_TaskNotFound() {
+        when(taskRepository.findTaskToMatch(99L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> recommendationService.getRecommendedTaskers(99L, 10));
+        verifyNoInteractions(taskerIndex, profileRepository);
+    }
+
+    @Test
+    @DisplayName("getRecommendedTaskers - Throws IllegalArgumentException for a limit out of range")
+    void getRecommendedTaskers_InvalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> recommendationService.getRecommendedTaskers(7L, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> recommendationService.getRecommendedTaskers(7L, TaskerRecommendationService.MAX_RECOMMENDATIONS + 1));
+        verifyNoInteractions(taskRepository);
+    }
+
+    private static Profile profile(Long id, String firstName) {
+        Profile profile = new Profile();
+        ReflectionTestUtils.setField(profile, "id", id);
+        profile.setFirstName(firstName);
+        profile.setLastName("Pop");
+        ReflectionTestUtils.setField(profile, "taskerRating", new BigDecimal("4.50"));
+        return profile;
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.task_connect.service;
+
+import com.example.task_connect.bloom.RegisteredEmailFilter;
+import com.example.task_connect.dto.UserImportErrorDTO;
+import com.example.task_connect.dto.UserImportReportDTO;
+import com.example.task_connect.metrics.DomainMetrics;
+import com.example.task_connect.model.Profile;
+import com.example.task_connect.model.User;
+import com.example.task_connect.repository.AddressRepository;
+import com.example.task_connect.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validation;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//runs without a test transaction: every chunk commits on its own, like in production
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserImportServiceTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private RegisteredEmailFilter registeredEmails;
+
+    @BeforeEach
+    void setUp() {
+        registeredEmails = new RegisteredEmailFilter(userRepository, transactionManager, 1000, 0.01);
+        registeredEmails.warmUp();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("importUsers - Saves every valid row with its profile and addresses, across several chunks")
+    void importUsers_Success() throws IOException {
+        UserImportReportDTO report = importer(2).importUsers(ndjson(
+                row("ana@test.ro", "Ana", "Pop", "{\"street\":\"Calea Victoriei 100\",\"city\":\"Bucuresti\"}"),
+                row("dan@test.ro", "Dan", "Ene"),
+                "",
+                row("ion@test.ro", "Ion", "Popescu", "{\"street\":\"Strada Florilor 10\",\"city\":\"Cluj-Napoca\"}")));
+
+        assertEquals(3, report.processed());
+        assertEquals(3, report.imported());
+        assertEquals(0, report.rejected());
+        assertTrue(report.errors().isEmpty());
+
+        User ana = userRepository.findByEmail("ana@test.ro").orElseThrow();
+        Profile profile = entityManager.find(Profile.class, ana.getId());
+        assertEquals("Ana", profile.getFirstName());
+        assertEquals("Bucuresti", addressRepository.findViewsByUserId(ana.getId()).get(0).city());
+        assertTrue(addressRepository.findViewsByUserId(userRepository.findByEmail("dan@test.ro").orElseThrow().getId()).isEmpty());
+        assertEquals(3, userRepository.count());
+        assertTrue(registeredEmails.mightBeRegistered("ion@test.ro"));
+    }
+
+    @Test
+    @DisplayName("importUsers - Skips bad rows and reports each with its line number")
+    void importUsers_ReportsRejectedRows() throws IOException {
+        userRepository.save(newUser("taken@test.ro"));
+
+        UserImportReportDTO report = importer(10).importUsers(ndjson(
+                row("ok@test.ro", "Ana", "Pop"),
+                "{not json",
+                row("taken@test.ro", "Dan", "Ene"),
+                row("not-an-email", "Ion", "Pop"),
+                "{\"email\":\"noprofile@test.ro\",\"password\":\"pw\"}",
+                row("ok@test.ro", "Ana", "Pop")));
+
+        assertEquals(6, report.processed());
+        assertEquals(1, report.imported());
+        assertEquals(5, report.rejected());
+        assertFalse(report.errorsTruncated());
+
+        List<Long> lines = report.errors().stream().map(UserImportErrorDTO::line).toList();
+        assertEquals(List.of(2L, 3L, 4L, 5L, 6L), lines);
+        assertTrue(report.errors().get(0).error().startsWith("Malformed JSON"));
+        assertEquals("taken@test.ro", report.errors().get(1).email());
+        assertTrue(report.errors().get(2).error().startsWith("email:"));
+        assertTrue(report.errors().get(3).error().contains("Profile information"));
+        assertEquals("ok@test.ro", report.errors().get(4).email());
+        assertEquals(2, userRepository.count());
+    }
+
+    @Test
+    @DisplayName("importUsers - A chunk that hits the unique email constraint is retried row by row")
+    void importUsers_ChunkRolledBackRetriesRows() throws IOException {
+        //late@test.ro registers through the API after the import has loaded the known emails
+        InputStream input = new SequenceInputStream(new Enumeration<>() {
+            private int part;
+
+            @Override
+            public boolean hasMoreElements() {
+                return part < 2;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                if (part++ == 0) {
+                    return ndjson(row("first@test.ro", "Ana", "Pop"));
+                }
+                userRepository.save(newUser("late@test.ro"));
+                return ndjson(row("late@test.ro", "Dan", "Ene"), row("last@test.ro", "Ion", "Pop"));
+            }
+        });
+
+        UserImportReportDTO report = importer(3).importUsers(input);
+
+        assertEquals(2, report.imported());
+        assertEquals(1, report.rejected());
+        assertEquals(2L, report.errors().get(0).line());
+        assertTrue(report.errors().get(0).error().startsWith("Rejected by the database"));
+        assertTrue(userRepository.findByEmail("first@test.ro").isPresent());
+        assertTrue(userRepository.findByEmail("last@test.ro").isPresent());
+    }
+
+    @Test
+    @DisplayName("importUsers - The error list is capped, the counts are not")
+    void importUsers_ErrorListCapped() throws IOException {
+        UserImportReportDTO report = importer(10, 2).importUsers(ndjson("{", "{", "{"));
+
+        assertEquals(3, report.rejected());
+        assertEquals(2, report.errors().size());
+        assertTrue(report.errorsTruncated());
+    }
+
+    @Test
+    @DisplayName("importUsers - Users, profiles and addresses go out in JDBC batches: 40 rows cost what 2 rows cost")
+    void importUsers_InsertsAreBatched() throws IOException {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        UserImportService importer = importer(50);
+
+        //warm up the pooled sequences so both measured runs draw ids from memory
+        importer.importUsers(rows("warmup", 2));
+
+        statistics.clear();
+        importer.importUsers(rows("small", 2));
+        long small = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        importer.importUsers(rows("large", 40));
+        long large = statistics.getPrepareStatementCount();
+
+        assertEquals(small, large);
+        assertEquals(44, userRepository.count());
+    }
+
+    private UserImportService importer(int chunkSize) {
+        return importer(chunkSize, 100);
+    }
+
+    private UserImportService importer(int chunkSize, int maxReportedErrors) {
+        return new UserImportService(userRepository, entityManager,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new DomainMetrics(new SimpleMeterRegistry()), registeredEmails, transactionManager,
+                chunkSize, maxReportedErrors, 1000);
+    }
+
+    private static InputStream rows(String prefix, int count) {
+        return ndjson(IntStream.range(0, count)
+                .mapToObj(i -> row(prefix + i + "@test.ro", "Ana", "Pop",
+                        "{\"street\":\"Calea Victoriei " + i + "\",\"city\":\"Bucuresti\"}"))
+                .toArray(String[]::new));
+    }
+
+    private static String row(String email, String firstName, String lastName, String... addresses) {
+        return "{\"email\":\"" + email + "\",\"password\":\"pw\",\"profile\":{\"firstName\":\"" + firstName +
+                "\",\"lastName\":\"" + lastName + "\"},\"addresses\":[" + String.join(",", addresses) + "]}";
+    }
+
+    private static InputStream ndjson(String... lines) {
+        return new ByteArrayInputStream((String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static User newUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("pw");
+        Profile profile = new Profile();
+        profile.setFirstName("Ana");
+        profile.setLastName("Pop");
+        user.setProfile(profile);
+        return user;
+    }
+}
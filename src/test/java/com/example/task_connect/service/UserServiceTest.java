@@ -1,22 +1,32 @@
 package com.example.task_connect.service;
 
+import com.example.task_connect.bloom.RegisteredEmailFilter;
+import com.example.task_connect.dto.AddressView;
+import com.example.task_connect.dto.UserView;
+import com.example.task_connect.etag.UserVersionCache;
 import com.example.task_connect.exception.UserAlreadyExistsException;
 import com.example.task_connect.exception.UserNotFoundException;
+import com.example.task_connect.metrics.DomainMetrics;
 import com.example.task_connect.model.Address;
 import com.example.task_connect.model.Profile;
 import com.example.task_connect.model.User;
 import com.example.task_connect.repository.AddressRepository;
+import com.example.task_connect.repository.ProfileRepository;
 import com.example.task_connect.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -29,9 +39,21 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ProfileRepository profileRepository;
+
     @Mock
     private AddressRepository addressRepository;
 
+    @Mock
+    private DomainMetrics domainMetrics;
+
+    @Mock
+    private UserVersionCache userVersionCache;
+
+    @Mock
+    private RegisteredEmailFilter registeredEmails;
+
     @InjectMocks
     private UserService userService;
 
@@ -58,8 +80,9 @@ class UserServiceTest {
 
         user.setAddresses(Arrays.asList(addr1, addr2));
 
+        when(registeredEmails.mightBeRegistered("test@example.ro")).thenReturn(true);
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         User savedUser = userService.registerUser(user);
 
@@ -73,11 +96,13 @@ class UserServiceTest {
         assertEquals(savedUser, addr1.getUser());
         assertEquals(savedUser, addr2.getUser());
 
-        verify(userRepository, times(1)).save(user);
+        verify(userRepository, times(1)).saveAndFlush(user);
+        verify(registeredEmails).put("test@example.ro");
+        verify(domainMetrics).emailFilterFalsePositive();
     }
 
     @Test
-    @DisplayName("Should register user successfully even if addresses are null (optional)")
+    @DisplayName("Should register user successfully even if addresses are null (optional), skipping the email lookup")
     void registerUser_NoAddresses_Success() {
         User user = new User();
         user.setEmail("minimal@test.ro");
@@ -89,8 +114,8 @@ class UserServiceTest {
         profile.setLastName("Popa");
         user.setProfile(profile);
 
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        //the filter has never seen the email
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         User savedUser = userService.registerUser(user);
 
@@ -102,7 +127,9 @@ class UserServiceTest {
 
         assertNull(savedUser.getAddresses());
 
-        verify(userRepository, times(1)).save(user);
+        verify(userRepository, times(1)).saveAndFlush(user);
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(domainMetrics).emailLookupSkipped();
     }
 
     @Test
@@ -111,10 +138,36 @@ class UserServiceTest {
         User user = new User();
         user.setEmail("existent@example.ro");
 
+        when(registeredEmails.mightBeRegistered("existent@example.ro")).thenReturn(true);
         when(userRepository.findByEmail("existent@example.ro")).thenReturn(Optional.of(user));
 
         assertThrows(UserAlreadyExistsException.class, () -> userService.registerUser(user));
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+        verify(domainMetrics).duplicateEmail();
+    }
+
+    @Test
+    @DisplayName("Should map the unique email constraint to UserAlreadyExistsException when the lookup was skipped")
+    void registerUser_Failure_EmailConstraint() {
+        User user = newUser("raced@example.ro");
+        when(userRepository.saveAndFlush(user)).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException(), "PUBLIC.UK_USERS_EMAIL_INDEX_4")));
+
+        assertThrows(UserAlreadyExistsException.class, () -> userService.registerUser(user));
+        verify(domainMetrics).duplicateEmail();
+        verify(registeredEmails, never()).put(anyString());
+    }
+
+    @Test
+    @DisplayName("Should let other integrity violations through unchanged")
+    void registerUser_Failure_OtherConstraint() {
+        User user = newUser("new@example.ro");
+        DataIntegrityViolationException failure = new DataIntegrityViolationException("not null",
+                new ConstraintViolationException("not null", new SQLException(), "PUBLIC.CONSTRAINT_8"));
+        when(userRepository.saveAndFlush(user)).thenThrow(failure);
+
+        assertSame(failure, assertThrows(DataIntegrityViolationException.class, () -> userService.registerUser(user)));
+        verify(domainMetrics, never()).duplicateEmail();
     }
 
     @Test
@@ -154,7 +207,7 @@ class UserServiceTest {
     }
 
     @Test
-    @DisplayName("Should link and save a new address to an existing user")
+    @DisplayName("Should link and save a new address to an existing user and bump its version")
     void addAddressToUser_Success() {
         User user = new User();
         ReflectionTestUtils.setField(user, "id", 1L);
@@ -162,17 +215,91 @@ class UserServiceTest {
         Address newAddress = new Address();
         newAddress.setStreet("New Street");
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.incrementVersion(1L)).thenReturn(1);
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
         when(addressRepository.save(any(Address.class))).thenReturn(newAddress);
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.findViewById(1L)).thenReturn(Optional.of(userView(1L)));
+        when(addressRepository.findViewsByUserId(1L))
+                .thenReturn(List.of(new AddressView(3L, "New Street", null, null, null, null)));
 
-        User result = userService.addAddressToUser(1L, newAddress);
+        UserView result = userService.addAddressToUser(1L, newAddress);
 
         assertNotNull(result);
-        assertEquals(1L, result.getId());
+        assertEquals(1L, result.id());
+        assertEquals("New Street", result.addresses().get(0).street());
         assertEquals(user, newAddress.getUser());
 
         verify(addressRepository, times(1)).save(newAddress);
-        verify(userRepository, times(1)).save(user);
+        verify(userVersionCache).evictAfterCommit(1L);
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should throw UserNotFoundException when adding an address to a missing user")
+    void addAddressToUser_NotFound() {
+        when(userRepository.incrementVersion(99L)).thenReturn(0);
+
+        assertThrows(UserNotFoundException.class, () -> userService.addAddressToUser(99L, new Address()));
+        verify(addressRepository, never()).save(any());
+        verify(userVersionCache, never()).evictAfterCommit(any());
+    }
+
+    @Test
+    @DisplayName("Should return the user's version from the version cache")
+    void findUserVersion_Success() {
+        when(userVersionCache.find(10L)).thenReturn(Optional.of(4L));
+
+        assertEquals(4L, userService.findUserVersion(10L));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Should throw UserNotFoundException when there is no version for the ID")
+    void findUserVersion_NotFound() {
+        when(userVersionCache.find(99L)).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, () -> userService.findUserVersion(99L));
+    }
+
+    @Test
+    @DisplayName("Should build the user view from the user projection, the cached profile and the address projection")
+    void findUserViewById_Success() {
+        Profile profile = new Profile();
+        profile.setFirstName("Ionut");
+        profile.setLastName("Ionescu");
+        when(userRepository.findViewById(10L)).thenReturn(Optional.of(userView(10L)));
+        when(profileRepository.findById(10L)).thenReturn(Optional.of(profile));
+        when(addressRepository.findViewsByUserId(10L))
+                .thenReturn(List.of(new AddressView(1L, "Calea Victoriei 100", "Bucuresti", null, null, null)));
+
+        UserView view = userService.findUserViewById(10L);
+
+        assertEquals("Ionut", view.profile().firstName());
+        assertEquals(1, view.addresses().size());
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should throw UserNotFoundException when the user view does not exist")
+    void findUserViewById_NotFound() {
+        when(userRepository.findViewById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, () -> userService.findUserViewById(99L));
+        verify(addressRepository, never()).findViewsByUserId(any());
+    }
+
+    private UserView userView(Long id) {
+        return new UserView(id, "view@test.ro", null);
+    }
+
+    private static User newUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("pw");
+        Profile profile = new Profile();
+        profile.setFirstName("Ana");
+        profile.setLastName("Pop");
+        user.setProfile(profile);
+        return user;
     }
 }
@@ -0,0 +1,53 @@
+package com.example.task_connect.startup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpringdocLazyInitializationTest {
+
+    @Test
+    @DisplayName("postProcessBeanFactory - Marks springdoc beans lazy and leaves the others alone")
+    void springdocBeansLazy() {
+        DefaultListableBeanFactory beanFactory = beanFactory();
+
+        postProcessor(new MockEnvironment()).postProcessBeanFactory(beanFactory);
+
+        assertTrue(beanFactory.getBeanDefinition("openApiResource").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("taskService").isLazyInit());
+    }
+
+    @Test
+    @DisplayName("postProcessBeanFactory - taskconnect.springdoc.lazy-init=false makes springdoc beans eager again")
+    void lazyInitDisabled() {
+        DefaultListableBeanFactory beanFactory = beanFactory();
+        //what the AOT generated definitions carry when the build ran with the default
+        beanFactory.getBeanDefinition("openApiResource").setLazyInit(true);
+
+        postProcessor(new MockEnvironment().withProperty("taskconnect.springdoc.lazy-init", "false"))
+                .postProcessBeanFactory(beanFactory);
+
+        assertFalse(beanFactory.getBeanDefinition("openApiResource").isLazyInit());
+    }
+
+    private static SpringdocLazyInitialization postProcessor(MockEnvironment environment) {
+        SpringdocLazyInitialization postProcessor = new SpringdocLazyInitialization();
+        postProcessor.setEnvironment(environment);
+        return postProcessor;
+    }
+
+    private static DefaultListableBeanFactory beanFactory() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        RootBeanDefinition springdoc = new RootBeanDefinition();
+        springdoc.setBeanClassName(SpringdocLazyInitialization.SPRINGDOC_PACKAGE + "webmvc.api.OpenApiWebMvcResource");
+        beanFactory.registerBeanDefinition("openApiResource", springdoc);
+        RootBeanDefinition application = new RootBeanDefinition();
+        application.setBeanClassName("com.example.task_connect.service.TaskService");
+        beanFactory.registerBeanDefinition("taskService", application);
+        return beanFactory;
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.task_connect.stats;
+
+import com.example.task_connect.dto.CategoryStatsDTO;
+import com.example.task_connect.metrics.DomainMetrics;
+import com.example.task_connect.model.*;
+import com.example.task_connect.model.enums.TaskStatus;
+import com.example.task_connect.repository.*;
+import com.example.task_connect.service.CategoryStatsReconciliationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//the stats are written by the listener inside the task's transaction and the reconciliation opens its own,
+//so every step here commits for real, as it does in the application
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CategoryStatsUpdater.class, CategoryStatsReconciliationService.class, DomainMetrics.class,
+        SimpleMeterRegistry.class})
+class CategoryStatsUpdaterTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryStatsRepository categoryStatsRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryStatsReconciliationService reconciliationService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private User requester;
+    private Address address;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        User user = new User();
+        user.setEmail("requester@test.ro");
+        user.setPassword("password");
+        Profile profile = new Profile();
+        profile.setFirstName("Ion");
+        profile.setLastName("Popescu");
+        user.setProfile(profile);
+        requester = userRepository.save(user);
+
+        Address newAddress = new Address();
+        newAddress.setStreet("Calea Victoriei 100");
+        newAddress.setCity("Bucuresti");
+        newAddress.setUser(requester);
+        address = addressRepository.save(newAddress);
+
+        category = category("Plumbing");
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        categoryStatsRepository.deleteAll();
+        addressRepository.deleteAll();
+        userRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("The first task of a new category creates its stats slots after the commit")
+    void firstTask_CreatesSlots() {
+        assertEquals(0, categoryStatsRepository.count());
+
+        postTask(category, new BigDecimal("120.00"));
+
+        assertEquals(CategoryStats.SLOTS, categoryStatsRepository.count());
+        CategoryStatsDTO stats = stats(category);
+        assertEquals(1, stats.openTasks());
+        assertEquals(0, new BigDecimal("120.00").compareTo(stats.averageBudget()));
+    }
+
+    @Test
+    @DisplayName("Posting tasks and changing their status keeps counters and budget statistics in step with the tasks")
+    void statusChanges_UpdateStats() {
+        postTask(category, new BigDecimal("100.00"));
+        Task assigned = postTask(category, new BigDecimal("250.00"));
+        Task cancelled = postTask(category, null);
+        Task completed = postTask(category, new BigDecimal("40.00"));
+
+        changeStatus(assigned, TaskStatus.ASSIGNED);
+        changeStatus(cancelled, TaskStatus.CANCELLED);
+        changeStatus(completed, TaskStatus.ASSIGNED);
+        changeStatus(completed, TaskStatus.COMPLETED);
+
+        CategoryStatsDTO stats = stats(category);
+        assertEquals(1, stats.openTasks());
+        assertEquals(1, stats.assignedTasks());
+        assertEquals(0, new BigDecimal("130.00").compareTo(stats.averageBudget()));
+        assertEquals(0, new BigDecimal("40.00").compareTo(stats.minBudget()));
+        assertEquals(0, new BigDecimal("250.00").compareTo(stats.maxBudget()));
+        assertEquals(0, reconciliationService.reconcile());
+    }
+
+    @Test
+    @DisplayName("A rolled back task leaves the stats untouched")
+    void rollback_LeavesStatsUntouched() {
+        postTask(category, new BigDecimal("100.00"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            taskRepository.save(newTask(category, new BigDecimal("900.00")));
+            status.setRollbackOnly();
+        });
+
+        CategoryStatsDTO stats = stats(category);
+        assertEquals(1, stats.openTasks());
+        assertEquals(0, new BigDecimal("100.00").compareTo(stats.maxBudget()));
+    }
+
+    @Test
+    @DisplayName("Concurrent task writes in one category lose no update")
+    void concurrentWrites_AllCounted() throws Exception {
+        postTask(category, new BigDecimal("10.00"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                futures.add(executor.submit(() -> postTask(category, new BigDecimal("20.00"))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        CategoryStatsDTO stats = stats(category);
+        assertEquals(41, stats.openTasks());
+        assertEquals(0, new BigDecimal("10.00").compareTo(stats.minBudget()));
+        assertEquals(0, reconciliationService.reconcile());
+    }
+
+    @Test
+    @DisplayName("reconcile should repair drifted slots from the tasks and count the category once")
+    void reconcile_RepairsDrift() {
+        postTask(category, new BigDecimal("100.00"));
+        postTask(category, new BigDecimal("300.00"));
+        Category other = category("Cleaning");
+        postTask(other, new BigDecimal("50.00"));
+
+        transactionTemplate.executeWithoutResult(status -> categoryStatsRepository.findByCategoryIdOrderBySlot(category.getId())
+                .forEach(slot -> slot.overwrite(5, 3, 1, new BigDecimal("1.00"), BigDecimal.ONE, BigDecimal.ONE)));
+
+        assertEquals(1, reconciliationService.reconcile());
+
+        CategoryStatsDTO stats = stats(category);
+        assertEquals(2, stats.openTasks());
+        assertEquals(0, stats.assignedTasks());
+        assertEquals(0, new BigDecimal("200.00").compareTo(stats.averageBudget()));
+        assertEquals(0, new BigDecimal("100.00").compareTo(stats.minBudget()));
+        assertEquals(0, new BigDecimal("300.00").compareTo(stats.maxBudget()));
+        assertEquals(1, stats(other).openTasks());
+        assertEquals(0, reconciliationService.reconcile());
+    }
+
+    @Test
+    @DisplayName("createMissingStats should backfill categories whose tasks predate their stats")
+    void createMissingStats_Backfills() {
+        postTask(category, new BigDecimal("70.00"));
+        Category empty = category("Gardening");
+        categoryStatsRepository.deleteAll();
+
+        reconciliationService.createMissingStats();
+
+        assertEquals(2L * CategoryStats.SLOTS, categoryStatsRepository.count());
+        assertEquals(1, stats(category).openTasks());
+        CategoryStatsDTO none = stats(empty);
+        assertEquals(0, none.openTasks());
+        assertNull(none.averageBudget());
+    }
+
+    private Task postTask(Category category, BigDecimal budget) {
+        return taskRepository.save(newTask(category, budget));
+    }
+
+    private Task newTask(Category category, BigDecimal budget) {
+        Task task = new Task();
+        task.setTitle("Fix the sink");
+        task.setBudget(budget);
+        task.setRequester(requester);
+        task.setCategory(category);
+        task.setAddress(address);
+        return task;
+    }
+
+    private void changeStatus(Task task, TaskStatus status) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            Task managed = taskRepository.findById(task.getId()).orElseThrow();
+            if (status == TaskStatus.ASSIGNED) {
+                managed.setTasker(requester);
+            }
+            managed.updateStatus(status);
+            taskRepository.save(managed);
+        });
+    }
+
+    private Category category(String name) {
+        Category newCategory = new Category();
+        newCategory.setName(name);
+        return categoryRepository.save(newCategory);
+    }
+
+    private CategoryStatsDTO stats(Category category) {
+        return categoryStatsRepository.findAllWithStats().stream()
+                .filter(stats -> stats.id().equals(category.getId()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.task_connect.stream;
+
+import com.example.task_connect.dto.BidView;
+import com.example.task_connect.exception.StreamLimitExceededException;
+import com.example.task_connect.model.enums.BidStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.*;
+
+class BidStreamHubTest {
+
+    //sends block until released, like a client that stopped reading
+    private final CountDownLatch clientReads = new CountDownLatch(1);
+    private final LinkedBlockingQueue<Set<DataWithMediaType>> sent = new LinkedBlockingQueue<>();
+
+    private final BidStreamHub hub = new BidStreamHub(2, 4, this::emitter);
+
+    @AfterEach
+    void tearDown() {
+        clientReads.countDown();
+    }
+
+    @Test
+    @DisplayName("subscribe - Refuses new streams once the limit is reached")
+    void subscribe_LimitReached() {
+        hub.subscribe(10L);
+        hub.subscribe(11L);
+
+        assertThrows(StreamLimitExceededException.class, () -> hub.subscribe(12L));
+        assertEquals(2, hub.openStreams());
+        assertEquals(0, hub.subscriberCount(12L));
+    }
+
+    @Test
+    @DisplayName("publish - Delivers the bid to the streams watching its task only")
+    void publish_DeliveredToTaskSubscribers() throws Exception {
+        clientReads.countDown();
+        hub.subscribe(10L);
+        hub.subscribe(11L);
+
+        hub.publish(bid(1L, 10L));
+
+        assertNotNull(sent.poll(5, TimeUnit.SECONDS));
+        assertNull(sent.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("publish - A subscriber that falls behind is disconnected and frees its slot")
+    void publish_SlowSubscriberDisconnected() {
+        SseEmitter emitter = hub.subscribe(10L);
+
+        //one event is stuck in send, four wait in the queue, the next one does not fit
+        for (int i = 0; i < 6; i++) {
+            hub.publish(bid(i, 10L));
+        }
+
+        assertEquals(0, hub.subscriberCount(10L));
+        assertEquals(0, hub.openStreams());
+        verify(emitter).complete();
+        assertDoesNotThrow(() -> hub.subscribe(11L));
+    }
+
+    @Test
+    @DisplayName("publishAfterCommit - Waits for the surrounding transaction to commit")
+    void publishAfterCommit_DeferredUntilCommit() {
+        clientReads.countDown();
+        hub.subscribe(10L);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            hub.publishAfterCommit(bid(1L, 10L));
+            assertTrue(sent.isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertDoesNotThrow(() -> assertNotNull(sent.poll(5, TimeUnit.SECONDS)));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("subscribe - A stream opened while the last one of its task closes is not lost")
+    void subscribe_RacingLastUnsubscribe() throws Exception {
+        Map<SseEmitter, Runnable> completions = new ConcurrentHashMap<>();
+        BidStreamHub churnHub = new BidStreamHub(10_000, 4, () -> {
+            SseEmitter emitter = mock(SseEmitter.class);
+            doAnswer(invocation -> completions.put(emitter, invocation.getArgument(0)))
+                    .when(emitter).onCompletion(any());
+            return emitter;
+        });
+        int rounds = 500;
+
+        //one thread keeps opening and closing the only other stream of the task, the other opens streams that stay
+        CompletableFuture<Void> churn = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < rounds; i++) {
+                completions.get(churnHub.subscribe(10L)).run();
+            }
+        });
+        CompletableFuture<Void> stay = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < rounds; i++) {
+                churnHub.subscribe(10L);
+            }
+        });
+        CompletableFuture.allOf(churn, stay).get(30, TimeUnit.SECONDS);
+
+        assertEquals(rounds, churnHub.openStreams());
+        assertEquals(rounds, churnHub.subscriberCount(10L));
+    }
+
+    private SseEmitter emitter() {
+        SseEmitter emitter = mock(SseEmitter.class);
+        try {
+            doAnswer(invocation -> {
+                clientReads.await();
+                sent.add(invocation.getArgument(0));
+                return null;
+            }).when(emitter).send(anySet());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return emitter;
+    }
+
+    private BidView bid(long id, Long taskId) {
+        return new BidView(id, new BigDecimal("50.00"), "I can help", BidStatus.PENDING, taskId, 2L);
+    }
+}